@@ -0,0 +1,188 @@
+package com.store.demo.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Movement totals for one material within one scope on one calendar day, in the server's time zone. The scope follows
+ * {@link StockBalance}: the project id, or {@link StockBalance#GENERAL_SCOPE} for the general store.
+ */
+@Entity
+@Table(name = "daily_movement_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_rollup_scope_material_day", columnNames = {"scope_id", "material_id", "rollup_day"})
+}, indexes = {
+        @Index(name = "idx_daily_rollup_day", columnList = "rollup_day")
+})
+public class DailyMovementRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_rollup_seq")
+    @SequenceGenerator(name = "daily_rollup_seq", sequenceName = "daily_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "material_id", nullable = false)
+    private Material material;
+
+    @Column(name = "in_quantity", nullable = false, precision = 19, scale = 3)
+    private BigDecimal inQuantity = BigDecimal.ZERO;
+
+    @Column(name = "out_quantity", nullable = false, precision = 19, scale = 3)
+    private BigDecimal outQuantity = BigDecimal.ZERO;
+
+    @Column(name = "in_weight", nullable = false, precision = 19, scale = 3)
+    private BigDecimal inWeight = BigDecimal.ZERO;
+
+    @Column(name = "out_weight", nullable = false, precision = 19, scale = 3)
+    private BigDecimal outWeight = BigDecimal.ZERO;
+
+    @Column(name = "in_units", nullable = false)
+    private long inUnits;
+
+    @Column(name = "out_units", nullable = false)
+    private long outUnits;
+
+    @Column(name = "in_count", nullable = false)
+    private long inCount;
+
+    @Column(name = "out_count", nullable = false)
+    private long outCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Long getScopeId() {
+        return scopeId;
+    }
+
+    public void setScopeId(Long scopeId) {
+        this.scopeId = scopeId;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public void setMaterial(Material material) {
+        this.material = material;
+    }
+
+    public BigDecimal getInQuantity() {
+        return inQuantity;
+    }
+
+    public void setInQuantity(BigDecimal inQuantity) {
+        this.inQuantity = inQuantity;
+    }
+
+    public BigDecimal getOutQuantity() {
+        return outQuantity;
+    }
+
+    public void setOutQuantity(BigDecimal outQuantity) {
+        this.outQuantity = outQuantity;
+    }
+
+    public BigDecimal getInWeight() {
+        return inWeight;
+    }
+
+    public void setInWeight(BigDecimal inWeight) {
+        this.inWeight = inWeight;
+    }
+
+    public BigDecimal getOutWeight() {
+        return outWeight;
+    }
+
+    public void setOutWeight(BigDecimal outWeight) {
+        this.outWeight = outWeight;
+    }
+
+    public long getInUnits() {
+        return inUnits;
+    }
+
+    public void setInUnits(long inUnits) {
+        this.inUnits = inUnits;
+    }
+
+    public long getOutUnits() {
+        return outUnits;
+    }
+
+    public void setOutUnits(long outUnits) {
+        this.outUnits = outUnits;
+    }
+
+    public long getInCount() {
+        return inCount;
+    }
+
+    public void setInCount(long inCount) {
+        this.inCount = inCount;
+    }
+
+    public long getOutCount() {
+        return outCount;
+    }
+
+    public void setOutCount(long outCount) {
+        this.outCount = outCount;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
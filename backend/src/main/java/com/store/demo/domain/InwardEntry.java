@@ -6,19 +6,27 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "inward_entries")
+@Table(name = "inward_entries", indexes = {
+        @Index(name = "idx_inward_open_batches", columnList = "project_id, material_id, movement_time"),
+        @Index(name = "idx_inward_project_time", columnList = "project_id, movement_time"),
+        @Index(name = "idx_inward_time", columnList = "movement_time")
+})
 public class InwardEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inward_entry_seq")
+    @SequenceGenerator(name = "inward_entry_seq", sequenceName = "inward_entry_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -80,6 +88,9 @@ public class InwardEntry {
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
+    @Version
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -239,4 +250,12 @@ public class InwardEntry {
     public void setCreatedAt(OffsetDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -7,9 +7,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,11 +20,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "outward_entries")
+@Table(name = "outward_entries", indexes = {
+        @Index(name = "idx_outward_project_time", columnList = "project_id, movement_time"),
+        @Index(name = "idx_outward_time", columnList = "movement_time")
+})
 public class OutwardEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outward_entry_seq")
+    @SequenceGenerator(name = "outward_entry_seq", sequenceName = "outward_entry_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,71 @@
+package com.store.demo.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A quantity or weight held as a whole number of thousandths, matching the scale of every quantity column. Sums and
+ * differences are exact long arithmetic; {@link #toBigDecimal()} gives back the column value without loss.
+ */
+public record Quantity(long milli) implements Comparable<Quantity> {
+
+    public static final int SCALE = 3;
+    public static final Quantity ZERO = new Quantity(0L);
+
+    public static Quantity ofMilli(long milli) {
+        return milli == 0L ? ZERO : new Quantity(milli);
+    }
+
+    /**
+     * Rounds half up to thousandths, like the quantity columns. A null value counts as zero.
+     */
+    public static Quantity of(BigDecimal value) {
+        if (value == null) {
+            return ZERO;
+        }
+        return ofMilli(value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Quantity of(double value) {
+        return of(BigDecimal.valueOf(value));
+    }
+
+    public Quantity plus(Quantity other) {
+        return ofMilli(Math.addExact(milli, other.milli));
+    }
+
+    public Quantity minus(Quantity other) {
+        return ofMilli(Math.subtractExact(milli, other.milli));
+    }
+
+    public Quantity min(Quantity other) {
+        return milli <= other.milli ? this : other;
+    }
+
+    public int signum() {
+        return Long.signum(milli);
+    }
+
+    public boolean isPositive() {
+        return milli > 0L;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(milli, SCALE);
+    }
+
+    /** The nearest double; division by 1000 is correctly rounded, so this equals {@code toBigDecimal().doubleValue()}. */
+    public double toDouble() {
+        return milli / 1000.0;
+    }
+
+    @Override
+    public int compareTo(Quantity other) {
+        return Long.compare(milli, other.milli);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
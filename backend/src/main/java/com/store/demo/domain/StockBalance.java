@@ -0,0 +1,187 @@
+package com.store.demo.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Running totals of all movements for one material within one scope. The scope is the project id, or
+ * {@link #GENERAL_SCOPE} for stock held in the general store.
+ */
+@Entity
+@Table(name = "stock_balances", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_balance_scope_material", columnNames = {"scope_id", "material_id"})
+})
+public class StockBalance {
+
+    public static final long GENERAL_SCOPE = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_balance_seq")
+    @SequenceGenerator(name = "stock_balance_seq", sequenceName = "stock_balance_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "material_id", nullable = false)
+    private Material material;
+
+    @Column(name = "total_in_quantity", nullable = false, precision = 19, scale = 3)
+    private BigDecimal totalInQuantity = BigDecimal.ZERO;
+
+    @Column(name = "total_out_quantity", nullable = false, precision = 19, scale = 3)
+    private BigDecimal totalOutQuantity = BigDecimal.ZERO;
+
+    @Column(name = "total_in_weight", nullable = false, precision = 19, scale = 3)
+    private BigDecimal totalInWeight = BigDecimal.ZERO;
+
+    @Column(name = "total_out_weight", nullable = false, precision = 19, scale = 3)
+    private BigDecimal totalOutWeight = BigDecimal.ZERO;
+
+    @Column(name = "total_in_units", nullable = false)
+    private long totalInUnits;
+
+    @Column(name = "total_out_units", nullable = false)
+    private long totalOutUnits;
+
+    @Column(name = "last_in_time")
+    private OffsetDateTime lastInTime;
+
+    @Column(name = "last_out_time")
+    private OffsetDateTime lastOutTime;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getScopeId() {
+        return scopeId;
+    }
+
+    public void setScopeId(Long scopeId) {
+        this.scopeId = scopeId;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public void setMaterial(Material material) {
+        this.material = material;
+    }
+
+    public BigDecimal getTotalInQuantity() {
+        return totalInQuantity;
+    }
+
+    public void setTotalInQuantity(BigDecimal totalInQuantity) {
+        this.totalInQuantity = totalInQuantity;
+    }
+
+    public BigDecimal getTotalOutQuantity() {
+        return totalOutQuantity;
+    }
+
+    public void setTotalOutQuantity(BigDecimal totalOutQuantity) {
+        this.totalOutQuantity = totalOutQuantity;
+    }
+
+    public BigDecimal getTotalInWeight() {
+        return totalInWeight;
+    }
+
+    public void setTotalInWeight(BigDecimal totalInWeight) {
+        this.totalInWeight = totalInWeight;
+    }
+
+    public BigDecimal getTotalOutWeight() {
+        return totalOutWeight;
+    }
+
+    public void setTotalOutWeight(BigDecimal totalOutWeight) {
+        this.totalOutWeight = totalOutWeight;
+    }
+
+    public long getTotalInUnits() {
+        return totalInUnits;
+    }
+
+    public void setTotalInUnits(long totalInUnits) {
+        this.totalInUnits = totalInUnits;
+    }
+
+    public long getTotalOutUnits() {
+        return totalOutUnits;
+    }
+
+    public void setTotalOutUnits(long totalOutUnits) {
+        this.totalOutUnits = totalOutUnits;
+    }
+
+    public OffsetDateTime getLastInTime() {
+        return lastInTime;
+    }
+
+    public void setLastInTime(OffsetDateTime lastInTime) {
+        this.lastInTime = lastInTime;
+    }
+
+    public OffsetDateTime getLastOutTime() {
+        return lastOutTime;
+    }
+
+    public void setLastOutTime(OffsetDateTime lastOutTime) {
+        this.lastOutTime = lastOutTime;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public BigDecimal getOnHandQuantity() {
+        return totalInQuantity.subtract(totalOutQuantity);
+    }
+
+    public BigDecimal getOnHandWeight() {
+        return totalInWeight.subtract(totalOutWeight);
+    }
+
+    public long getOnHandUnits() {
+        return totalInUnits - totalOutUnits;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,167 @@
+package com.store.demo.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Cumulative movement totals for one material within one scope, up to and including the checkpoint day in the server's
+ * time zone. Every checkpoint day has a row for each scope and material with movements on or before that day, so a
+ * missing row means nothing had moved yet.
+ */
+@Entity
+@Table(name = "stock_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_checkpoint_scope_material_day", columnNames = {"scope_id", "material_id", "checkpoint_day"})
+}, indexes = {
+        @Index(name = "idx_stock_checkpoint_day", columnList = "checkpoint_day")
+})
+public class StockCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_checkpoint_seq")
+    @SequenceGenerator(name = "stock_checkpoint_seq", sequenceName = "stock_checkpoint_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "checkpoint_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "material_id", nullable = false)
+    private Material material;
+
+    @Column(name = "in_quantity", nullable = false, precision = 19, scale = 3)
+    private BigDecimal inQuantity = BigDecimal.ZERO;
+
+    @Column(name = "out_quantity", nullable = false, precision = 19, scale = 3)
+    private BigDecimal outQuantity = BigDecimal.ZERO;
+
+    @Column(name = "in_weight", nullable = false, precision = 19, scale = 3)
+    private BigDecimal inWeight = BigDecimal.ZERO;
+
+    @Column(name = "out_weight", nullable = false, precision = 19, scale = 3)
+    private BigDecimal outWeight = BigDecimal.ZERO;
+
+    @Column(name = "in_units", nullable = false)
+    private long inUnits;
+
+    @Column(name = "out_units", nullable = false)
+    private long outUnits;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Long getScopeId() {
+        return scopeId;
+    }
+
+    public void setScopeId(Long scopeId) {
+        this.scopeId = scopeId;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public void setMaterial(Material material) {
+        this.material = material;
+    }
+
+    public BigDecimal getInQuantity() {
+        return inQuantity;
+    }
+
+    public void setInQuantity(BigDecimal inQuantity) {
+        this.inQuantity = inQuantity;
+    }
+
+    public BigDecimal getOutQuantity() {
+        return outQuantity;
+    }
+
+    public void setOutQuantity(BigDecimal outQuantity) {
+        this.outQuantity = outQuantity;
+    }
+
+    public BigDecimal getInWeight() {
+        return inWeight;
+    }
+
+    public void setInWeight(BigDecimal inWeight) {
+        this.inWeight = inWeight;
+    }
+
+    public BigDecimal getOutWeight() {
+        return outWeight;
+    }
+
+    public void setOutWeight(BigDecimal outWeight) {
+        this.outWeight = outWeight;
+    }
+
+    public long getInUnits() {
+        return inUnits;
+    }
+
+    public void setInUnits(long inUnits) {
+        this.inUnits = inUnits;
+    }
+
+    public long getOutUnits() {
+        return outUnits;
+    }
+
+    public void setOutUnits(long outUnits) {
+        this.outUnits = outUnits;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
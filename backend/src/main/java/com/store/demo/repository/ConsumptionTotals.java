@@ -0,0 +1,19 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+
+public interface ConsumptionTotals {
+    Long getProjectId();
+
+    String getProjectName();
+
+    Long getMaterialId();
+
+    String getMaterialName();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getWeight();
+
+    Long getUnits();
+}
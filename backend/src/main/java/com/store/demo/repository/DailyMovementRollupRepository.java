@@ -0,0 +1,71 @@
+package com.store.demo.repository;
+
+import com.store.demo.domain.DailyMovementRollup;
+import com.store.demo.domain.Material;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DailyMovementRollupRepository extends JpaRepository<DailyMovementRollup, Long> {
+    /**
+     * Adds one movement's totals to its day's row, creating the row if needed, in a single upsert. Concurrent first
+     * movements of a day therefore never collide on the unique key, whatever the locking mode.
+     */
+    @Modifying
+    @Query("INSERT INTO DailyMovementRollup (day, scopeId, material, inQuantity, outQuantity, inWeight, outWeight, "
+            + "inUnits, outUnits, inCount, outCount, updatedAt) "
+            + "VALUES (:day, :scopeId, :material, :inQuantity, :outQuantity, :inWeight, :outWeight, "
+            + ":inUnits, :outUnits, :inCount, :outCount, :updatedAt) "
+            + "ON CONFLICT (scopeId, material, day) DO UPDATE SET "
+            + "inQuantity = inQuantity + excluded.inQuantity, outQuantity = outQuantity + excluded.outQuantity, "
+            + "inWeight = inWeight + excluded.inWeight, outWeight = outWeight + excluded.outWeight, "
+            + "inUnits = inUnits + excluded.inUnits, outUnits = outUnits + excluded.outUnits, "
+            + "inCount = inCount + excluded.inCount, outCount = outCount + excluded.outCount, "
+            + "updatedAt = excluded.updatedAt, version = version + 1")
+    int addTotals(
+            @Param("day") LocalDate day,
+            @Param("scopeId") Long scopeId,
+            @Param("material") Material material,
+            @Param("inQuantity") BigDecimal inQuantity,
+            @Param("outQuantity") BigDecimal outQuantity,
+            @Param("inWeight") BigDecimal inWeight,
+            @Param("outWeight") BigDecimal outWeight,
+            @Param("inUnits") long inUnits,
+            @Param("outUnits") long outUnits,
+            @Param("inCount") long inCount,
+            @Param("outCount") long outCount,
+            @Param("updatedAt") OffsetDateTime updatedAt);
+
+    @Query("SELECT r.day AS day, SUM(r.inQuantity) AS inQuantity, SUM(r.outQuantity) AS outQuantity, "
+            + "SUM(r.inWeight) AS inWeight, SUM(r.outWeight) AS outWeight, SUM(r.inUnits) AS inUnits, "
+            + "SUM(r.outUnits) AS outUnits, SUM(r.inCount) AS inCount, SUM(r.outCount) AS outCount "
+            + "FROM DailyMovementRollup r "
+            + "WHERE r.day >= :from AND r.day <= :to "
+            + "AND (:scopeId IS NULL OR r.scopeId = :scopeId) "
+            + "AND (:materialId IS NULL OR r.material.id = :materialId) "
+            + "GROUP BY r.day ORDER BY r.day")
+    List<DailyRollupTotals> sumByDay(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("scopeId") Long scopeId,
+            @Param("materialId") Long materialId);
+
+    @Query("SELECT MIN(r.day) FROM DailyMovementRollup r")
+    LocalDate findEarliestDay();
+
+    /**
+     * Totals per scope and material over an inclusive day range. A {@code null} start reads from the first rollup.
+     */
+    @Query("SELECT r.scopeId AS scopeId, r.material.id AS materialId, SUM(r.inQuantity) AS inQuantity, "
+            + "SUM(r.outQuantity) AS outQuantity, SUM(r.inWeight) AS inWeight, SUM(r.outWeight) AS outWeight, "
+            + "SUM(r.inUnits) AS inUnits, SUM(r.outUnits) AS outUnits "
+            + "FROM DailyMovementRollup r "
+            + "WHERE (:from IS NULL OR r.day >= :from) AND r.day <= :to "
+            + "GROUP BY r.scopeId, r.material.id")
+    List<ScopeMaterialRollupTotals> sumByScopeAndMaterial(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,24 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyRollupTotals {
+    LocalDate getDay();
+
+    BigDecimal getInQuantity();
+
+    BigDecimal getOutQuantity();
+
+    BigDecimal getInWeight();
+
+    BigDecimal getOutWeight();
+
+    Long getInUnits();
+
+    Long getOutUnits();
+
+    Long getInCount();
+
+    Long getOutCount();
+}
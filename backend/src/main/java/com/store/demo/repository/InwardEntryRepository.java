@@ -3,28 +3,42 @@ package com.store.demo.repository;
 import com.store.demo.domain.InwardEntry;
 import com.store.demo.domain.Material;
 import com.store.demo.domain.Project;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface InwardEntryRepository extends JpaRepository<InwardEntry, Long> {
     List<InwardEntry> findByProjectAndMaterialOrderByMovementTimeAsc(Project project, Material material);
 
-    List<InwardEntry> findByProjectIsNullAndMaterialOrderByMovementTimeAsc(Material material);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "32"))
+    @Query("SELECT i FROM InwardEntry i WHERE i.project = :project AND i.material = :material "
+            + "AND i.remainingQuantity > 0 ORDER BY i.movementTime ASC, i.id ASC")
+    Stream<InwardEntry> streamOpenBatches(@Param("project") Project project, @Param("material") Material material);
 
-    List<InwardEntry> findByProject(Project project);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "32"))
+    @Query("SELECT i FROM InwardEntry i WHERE i.project IS NULL AND i.material = :material "
+            + "AND i.remainingQuantity > 0 ORDER BY i.movementTime ASC, i.id ASC")
+    Stream<InwardEntry> streamOpenGeneralBatches(@Param("material") Material material);
 
-    List<InwardEntry> findByProjectIsNull();
+    @Query("SELECT i FROM InwardEntry i JOIN FETCH i.material LEFT JOIN FETCH i.project "
+            + "ORDER BY i.movementTime DESC, i.id DESC")
+    List<InwardEntry> findRecent(Pageable pageable);
 
-    @Query("SELECT COALESCE(SUM(i.quantity), 0) FROM InwardEntry i WHERE i.project = :project AND i.material = :material")
-    BigDecimal sumQuantityByProjectAndMaterial(@Param("project") Project project, @Param("material") Material material);
+    @Query("SELECT i FROM InwardEntry i JOIN FETCH i.material LEFT JOIN FETCH i.project "
+            + "WHERE i.project = :project ORDER BY i.movementTime DESC, i.id DESC")
+    List<InwardEntry> findRecentByProject(@Param("project") Project project, Pageable pageable);
 
-    @Query("SELECT COALESCE(SUM(i.quantity), 0) FROM InwardEntry i WHERE i.material = :material")
-    BigDecimal sumQuantityByMaterial(@Param("material") Material material);
+    @Query("SELECT i FROM InwardEntry i JOIN FETCH i.material WHERE i.project IS NULL "
+            + "ORDER BY i.movementTime DESC, i.id DESC")
+    List<InwardEntry> findRecentGeneral(Pageable pageable);
 
     @Query("SELECT COALESCE(SUM(i.remainingQuantity), 0) FROM InwardEntry i WHERE i.material = :material")
     BigDecimal sumRemainingByMaterial(@Param("material") Material material);
@@ -32,25 +46,20 @@ public interface InwardEntryRepository extends JpaRepository<InwardEntry, Long>
     @Query("SELECT COALESCE(SUM(i.remainingQuantity), 0) FROM InwardEntry i WHERE i.project = :project AND i.material = :material")
     BigDecimal sumRemainingByProjectAndMaterial(@Param("project") Project project, @Param("material") Material material);
 
-    @Query("SELECT COALESCE(SUM(i.weightTons), 0) FROM InwardEntry i WHERE i.project = :project AND i.material = :material")
-    BigDecimal sumWeightByProjectAndMaterial(@Param("project") Project project, @Param("material") Material material);
-
-    @Query("SELECT COALESCE(SUM(COALESCE(i.unitsCount, 0)), 0) FROM InwardEntry i WHERE i.project = :project AND i.material = :material")
-    Long sumUnitsByProjectAndMaterial(@Param("project") Project project, @Param("material") Material material);
-
-    Optional<InwardEntry> findFirstByProjectAndMaterialOrderByMovementTimeDesc(Project project, Material material);
-
-    Optional<InwardEntry> findFirstByProjectOrderByMovementTimeDesc(Project project);
-
-    @Query("SELECT COALESCE(SUM(i.quantity), 0) FROM InwardEntry i")
-    BigDecimal sumAllQuantity();
-
-    @Query("SELECT COALESCE(SUM(i.weightTons), 0) FROM InwardEntry i")
-    BigDecimal sumAllWeight();
-
-    @Query("SELECT COALESCE(SUM(COALESCE(i.unitsCount, 0)), 0) FROM InwardEntry i")
-    Long sumAllUnits();
-
-    @Query("SELECT COALESCE(SUM(i.remainingQuantity), 0) FROM InwardEntry i")
-    BigDecimal sumAllRemainingQuantity();
+    @Query("SELECT COALESCE(SUM(i.quantity), 0) AS quantity, COALESCE(SUM(i.weightTons), 0) AS weight, "
+            + "COALESCE(SUM(COALESCE(i.unitsCount, 0)), 0) AS units, "
+            + "COALESCE(SUM(i.remainingQuantity), 0) AS remainingQuantity FROM InwardEntry i")
+    InwardSummary summarizeAll();
+
+    @Query("SELECT p.id AS projectId, i.material.id AS materialId, SUM(i.quantity) AS quantity, "
+            + "SUM(i.weightTons) AS weight, SUM(COALESCE(i.unitsCount, 0)) AS units, "
+            + "MAX(i.movementTime) AS lastMovementTime "
+            + "FROM InwardEntry i LEFT JOIN i.project p GROUP BY p.id, i.material.id")
+    List<MovementTotals> sumByProjectAndMaterial();
+
+    @Query("SELECT p.id AS projectId, i.material.id AS materialId, i.movementTime AS movementTime, "
+            + "SUM(i.quantity) AS quantity, SUM(COALESCE(i.weightTons, 0)) AS weight, "
+            + "SUM(COALESCE(i.unitsCount, 0)) AS units, COUNT(i) AS movementCount "
+            + "FROM InwardEntry i LEFT JOIN i.project p GROUP BY p.id, i.material.id, i.movementTime")
+    List<MovementTimeTotals> sumByProjectMaterialAndTime();
 }
@@ -0,0 +1,7 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+
+public interface InwardSummary extends MovementSummary {
+    BigDecimal getRemainingQuantity();
+}
@@ -0,0 +1,28 @@
+package com.store.demo.repository;
+
+import com.store.demo.domain.JobLock;
+import java.time.OffsetDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Takes the lease when it has expired. The condition is checked by the update itself, so of several instances
+     * racing for the same lock exactly one sees a row count of one.
+     */
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until, l.lockedAt = :now, l.lockedBy = :owner "
+            + "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquire(
+            @Param("name") String name,
+            @Param("now") OffsetDateTime now,
+            @Param("until") OffsetDateTime until,
+            @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("now") OffsetDateTime now, @Param("owner") String owner);
+}
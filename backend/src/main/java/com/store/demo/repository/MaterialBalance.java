@@ -0,0 +1,14 @@
+package com.store.demo.repository;
+
+import com.store.demo.domain.Material;
+import com.store.demo.domain.StockBalance;
+
+/**
+ * A material together with its balance in one scope. The balance is {@code null} when the material has no movements
+ * in that scope yet.
+ */
+public interface MaterialBalance {
+    Material getMaterial();
+
+    StockBalance getBalance();
+}
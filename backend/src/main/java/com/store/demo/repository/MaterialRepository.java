@@ -1,8 +1,13 @@
 package com.store.demo.repository;
 
 import com.store.demo.domain.Material;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MaterialRepository extends JpaRepository<Material, Long> {
     boolean existsByCodeIgnoreCase(String code);
@@ -10,4 +15,36 @@ public interface MaterialRepository extends JpaRepository<Material, Long> {
     Optional<Material> findByCodeIgnoreCase(String code);
 
     boolean existsByCodeIgnoreCaseAndIdNot(String code, Long id);
+
+    @Query("SELECT m.id AS id, m.code AS code FROM Material m")
+    List<CodeReference> findAllCodes();
+
+    @Query("SELECT m.id AS id, m.code AS code, m.name AS name, m.unit AS unit, m.category AS category, "
+            + "m.minimumStock AS minimumStock, m.createdAt AS createdAt, m.updatedAt AS updatedAt, "
+            + "COALESCE(SUM(b.totalInQuantity - b.totalOutQuantity), 0) AS onHandQuantity "
+            + "FROM Material m LEFT JOIN StockBalance b ON b.material = m "
+            + "GROUP BY m.id, m.code, m.name, m.unit, m.category, m.minimumStock, m.createdAt, m.updatedAt "
+            + "ORDER BY m.id")
+    List<MaterialStockView> findAllWithOnHand();
+
+    @Query(value = "SELECT m.id AS id, m.code AS code, m.name AS name, m.unit AS unit, m.category AS category, "
+            + "m.minimumStock AS minimumStock, m.createdAt AS createdAt, m.updatedAt AS updatedAt, "
+            + "COALESCE(SUM(b.totalInQuantity - b.totalOutQuantity), 0) AS onHandQuantity "
+            + "FROM Material m LEFT JOIN StockBalance b ON b.material = m "
+            + "WHERE (:category IS NULL OR LOWER(m.category) = :category) "
+            + "AND (:codePattern IS NULL OR LOWER(m.code) LIKE :codePattern ESCAPE '!') "
+            + "GROUP BY m.id, m.code, m.name, m.unit, m.category, m.minimumStock, m.createdAt, m.updatedAt "
+            + "HAVING (:lowStock = false OR (m.minimumStock IS NOT NULL "
+            + "AND COALESCE(SUM(b.totalInQuantity - b.totalOutQuantity), 0) < m.minimumStock))",
+            countQuery = "SELECT COUNT(m) FROM Material m "
+                    + "WHERE (:category IS NULL OR LOWER(m.category) = :category) "
+                    + "AND (:codePattern IS NULL OR LOWER(m.code) LIKE :codePattern ESCAPE '!') "
+                    + "AND (:lowStock = false OR (m.minimumStock IS NOT NULL AND COALESCE("
+                    + "(SELECT SUM(b.totalInQuantity - b.totalOutQuantity) FROM StockBalance b WHERE b.material = m), 0) "
+                    + "< m.minimumStock))")
+    Page<MaterialStockView> findCatalog(
+            @Param("category") String category,
+            @Param("codePattern") String codePattern,
+            @Param("lowStock") boolean lowStock,
+            Pageable pageable);
 }
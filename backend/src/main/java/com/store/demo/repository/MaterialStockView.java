@@ -0,0 +1,24 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public interface MaterialStockView {
+    Long getId();
+
+    String getCode();
+
+    String getName();
+
+    String getUnit();
+
+    String getCategory();
+
+    Integer getMinimumStock();
+
+    OffsetDateTime getCreatedAt();
+
+    OffsetDateTime getUpdatedAt();
+
+    BigDecimal getOnHandQuantity();
+}
@@ -0,0 +1,9 @@
+package com.store.demo.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Position of the last row of a movement page. Inward and outward ids come from separate sequences, so the type rank
+ * is part of the key to keep the ordering total.
+ */
+public record MovementCursor(OffsetDateTime movementTime, int typeRank, long id) {}
@@ -0,0 +1,19 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * The analytic columns of one inward or outward movement. Supplier and vehicle are null for outward movements.
+ */
+public record MovementFact(
+        String type,
+        long id,
+        Long projectId,
+        long materialId,
+        OffsetDateTime movementTime,
+        BigDecimal quantity,
+        BigDecimal weight,
+        long units,
+        String supplier,
+        String vehicleNumber) {}
@@ -0,0 +1,16 @@
+package com.store.demo.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Filter for movement reads across both movement tables. {@code projectId} of {@code 0} selects the general store,
+ * {@code null} selects every scope. {@code from} is inclusive and {@code to} exclusive; {@code type} is {@code IN},
+ * {@code OUT} or {@code null} for both. A supplier only exists on inwards, so filtering by it excludes outwards.
+ */
+public record MovementFilter(
+        Long projectId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        Long materialId,
+        String type,
+        String supplier) {}
@@ -0,0 +1,5 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+
+public record MovementQuantityTotals(long inCount, BigDecimal inQuantity, long outCount, BigDecimal outQuantity) {}
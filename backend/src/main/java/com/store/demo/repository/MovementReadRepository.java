@@ -0,0 +1,271 @@
+package com.store.demo.repository;
+
+import com.store.demo.domain.Quantity;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-only SQL over inward and outward movements as one time-ordered sequence. Rows are ordered newest first by
+ * (movement_time, type rank, id), and every filter and keyset condition is applied inside each branch of the union so
+ * that the movement_time indexes can be used.
+ */
+@Repository
+public class MovementReadRepository {
+
+    private static final String INWARD_COLUMNS = "'IN' AS movement_type, i.id, i.project_id, p.name AS project_name, "
+            + "i.material_id, m.code AS material_code, m.name AS material_name, i.quantity, i.movement_time, "
+            + "i.invoice_number, i.invoice_date, i.receive_date, i.invoice_quantity, i.vehicle_number, "
+            + "i.supplier AS supplier_name, NULL AS handover_date, NULL AS handover_name, "
+            + "NULL AS handover_designation, NULL AS store_incharge_name, i.remaining_quantity, i.remarks";
+
+    private static final String OUTWARD_COLUMNS = "'OUT' AS movement_type, o.id, o.project_id, p.name AS project_name, "
+            + "o.material_id, m.code AS material_code, m.name AS material_name, o.quantity, o.movement_time, "
+            + "NULL AS invoice_number, NULL AS invoice_date, NULL AS receive_date, NULL AS invoice_quantity, "
+            + "NULL AS vehicle_number, NULL AS supplier_name, o.handover_date, o.handover_name, "
+            + "o.handover_designation, o.store_incharge_name, NULL AS remaining_quantity, o.remarks";
+
+    private static final RowMapper<MovementRow> ROW_MAPPER = MovementReadRepository::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    public MovementReadRepository(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            @Value("${app.inventory.export.fetch-size:1000}") int streamingFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(streamingFetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    public static int typeRank(String type) {
+        return MovementRow.TYPE_OUT.equals(type) ? 1 : 0;
+    }
+
+    /**
+     * Returns at most {@code limit} movements that sort after {@code after}, or from the newest movement when no
+     * cursor is given.
+     */
+    public List<MovementRow> findPage(MovementFilter filter, MovementCursor after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        return jdbcTemplate.query(buildSelect(filter, after, limit, params) + " LIMIT " + limit, params, ROW_MAPPER);
+    }
+
+    /**
+     * Walks every matching movement, newest first, on a forward-only cursor. Rows are handed to {@code consumer} one at
+     * a time and never collected, so memory use does not depend on the size of the result.
+     */
+    public void streamAll(MovementFilter filter, Consumer<MovementRow> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        RowCallbackHandler handler = rs -> consumer.accept(mapRow(rs, rs.getRow()));
+        streamingJdbcTemplate.query(buildSelect(filter, null, 0, params), params, handler);
+    }
+
+    /**
+     * Walks the analytic columns of every inward and then every outward movement on a forward-only cursor, in no
+     * particular order.
+     */
+    public void streamFacts(Consumer<MovementFact> consumer) {
+        streamingJdbcTemplate.getJdbcTemplate().query(
+                "SELECT i.id, i.project_id, i.material_id, i.movement_time, i.quantity, i.weight_tons, i.units_count, "
+                        + "i.supplier, i.vehicle_number FROM inward_entries i",
+                (RowCallbackHandler) rs -> consumer.accept(mapFact(rs, MovementRow.TYPE_IN)));
+        streamingJdbcTemplate.getJdbcTemplate().query(
+                "SELECT o.id, o.project_id, o.material_id, o.movement_time, o.quantity, o.weight_tons, o.units_count, "
+                        + "NULL AS supplier, NULL AS vehicle_number FROM outward_entries o",
+                (RowCallbackHandler) rs -> consumer.accept(mapFact(rs, MovementRow.TYPE_OUT)));
+    }
+
+    public MovementQuantityTotals sumQuantities(MovementFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        long inCount = 0;
+        BigDecimal inQuantity = BigDecimal.ZERO;
+        long outCount = 0;
+        BigDecimal outQuantity = BigDecimal.ZERO;
+        if (includesInwards(filter)) {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT COUNT(*) AS movement_count, COALESCE(SUM(i.quantity), 0) AS total_quantity "
+                            + "FROM inward_entries i WHERE " + conditions("i", filter, true, params),
+                    params);
+            inCount = ((Number) row.get("movement_count")).longValue();
+            inQuantity = (BigDecimal) row.get("total_quantity");
+        }
+        if (includesOutwards(filter)) {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT COUNT(*) AS movement_count, COALESCE(SUM(o.quantity), 0) AS total_quantity "
+                            + "FROM outward_entries o WHERE " + conditions("o", filter, false, params),
+                    params);
+            outCount = ((Number) row.get("movement_count")).longValue();
+            outQuantity = (BigDecimal) row.get("total_quantity");
+        }
+        return new MovementQuantityTotals(inCount, inQuantity, outCount, outQuantity);
+    }
+
+    /**
+     * Builds the "batch (quantity), ..." summary of every given outward entry with a single query.
+     */
+    public Map<Long, String> findBatchSummaries(Collection<Long> outwardIds) {
+        Map<Long, String> summaries = new LinkedHashMap<>();
+        if (outwardIds.isEmpty()) {
+            return summaries;
+        }
+        jdbcTemplate.query(
+                "SELECT c.outward_entry_id, c.inward_entry_id, i.batch_number, c.quantity "
+                        + "FROM outward_batch_consumptions c JOIN inward_entries i ON i.id = c.inward_entry_id "
+                        + "WHERE c.outward_entry_id IN (:ids) ORDER BY c.outward_entry_id, c.id",
+                new MapSqlParameterSource("ids", outwardIds),
+                rs -> {
+                    long outwardId = rs.getLong("outward_entry_id");
+                    String label = rs.getString("batch_number");
+                    if (label == null || label.isBlank()) {
+                        label = "Batch-" + rs.getLong("inward_entry_id");
+                    }
+                    double consumed = Quantity.of(rs.getBigDecimal("quantity")).toDouble();
+                    String part = label + " (" + consumed + ")";
+                    summaries.merge(outwardId, part, (current, next) -> current + ", " + next);
+                });
+        return summaries;
+    }
+
+    /**
+     * Builds the movement union, newest first. A positive {@code limit} is written into the SQL as a literal: H2 keeps
+     * the first bound value of a parameterized LIMIT inside the derived table when the prepared statement is reused.
+     */
+    private String buildSelect(MovementFilter filter, MovementCursor after, int limit, MapSqlParameterSource params) {
+        List<String> branches = new ArrayList<>(2);
+        if (includesInwards(filter)) {
+            branches.add("SELECT " + INWARD_COLUMNS + " FROM inward_entries i "
+                    + "JOIN materials m ON m.id = i.material_id LEFT JOIN projects p ON p.id = i.project_id "
+                    + "WHERE " + conditions("i", filter, true, params) + keyset("i", 0, after, params)
+                    + (limit > 0 ? " ORDER BY i.movement_time DESC, i.id DESC LIMIT " + limit : ""));
+        }
+        if (includesOutwards(filter)) {
+            branches.add("SELECT " + OUTWARD_COLUMNS + " FROM outward_entries o "
+                    + "JOIN materials m ON m.id = o.material_id LEFT JOIN projects p ON p.id = o.project_id "
+                    + "WHERE " + conditions("o", filter, false, params) + keyset("o", 1, after, params)
+                    + (limit > 0 ? " ORDER BY o.movement_time DESC, o.id DESC LIMIT " + limit : ""));
+        }
+        if (branches.isEmpty()) {
+            // Keeps the statement valid when the filter rules out both tables.
+            branches.add("SELECT " + INWARD_COLUMNS + " FROM inward_entries i "
+                    + "JOIN materials m ON m.id = i.material_id LEFT JOIN projects p ON p.id = i.project_id WHERE 1 = 0");
+        }
+        // Each branch is parenthesized so a page limit can be applied per table before the union is merged.
+        return "SELECT * FROM ((" + String.join(") UNION ALL (", branches) + ")) mv "
+                + "ORDER BY mv.movement_time DESC, CASE mv.movement_type WHEN 'OUT' THEN 1 ELSE 0 END DESC, mv.id DESC";
+    }
+
+    private String conditions(String alias, MovementFilter filter, boolean inward, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder("1 = 1");
+        if (filter.projectId() != null) {
+            if (filter.projectId() == 0L) {
+                where.append(" AND ").append(alias).append(".project_id IS NULL");
+            } else {
+                where.append(" AND ").append(alias).append(".project_id = :projectId");
+                params.addValue("projectId", filter.projectId());
+            }
+        }
+        if (filter.materialId() != null) {
+            where.append(" AND ").append(alias).append(".material_id = :materialId");
+            params.addValue("materialId", filter.materialId());
+        }
+        if (filter.from() != null) {
+            where.append(" AND ").append(alias).append(".movement_time >= :from");
+            params.addValue("from", filter.from());
+        }
+        if (filter.to() != null) {
+            where.append(" AND ").append(alias).append(".movement_time < :to");
+            params.addValue("to", filter.to());
+        }
+        if (inward && filter.supplier() != null) {
+            where.append(" AND LOWER(").append(alias).append(".supplier) = :supplier");
+            params.addValue("supplier", filter.supplier().toLowerCase(Locale.ROOT));
+        }
+        return where.toString();
+    }
+
+    private String keyset(String alias, int branchRank, MovementCursor after, MapSqlParameterSource params) {
+        if (after == null) {
+            return "";
+        }
+        params.addValue("cursorTime", after.movementTime());
+        String time = alias + ".movement_time";
+        if (branchRank < after.typeRank()) {
+            return " AND " + time + " <= :cursorTime";
+        }
+        if (branchRank > after.typeRank()) {
+            return " AND " + time + " < :cursorTime";
+        }
+        params.addValue("cursorId", after.id());
+        return " AND (" + time + " < :cursorTime OR (" + time + " = :cursorTime AND " + alias + ".id < :cursorId))";
+    }
+
+    private boolean includesInwards(MovementFilter filter) {
+        return filter.type() == null || MovementRow.TYPE_IN.equals(filter.type());
+    }
+
+    private boolean includesOutwards(MovementFilter filter) {
+        return (filter.type() == null || MovementRow.TYPE_OUT.equals(filter.type())) && filter.supplier() == null;
+    }
+
+    private static MovementFact mapFact(ResultSet rs, String type) throws SQLException {
+        return new MovementFact(
+                type,
+                rs.getLong("id"),
+                rs.getObject("project_id", Long.class),
+                rs.getLong("material_id"),
+                rs.getObject("movement_time", OffsetDateTime.class),
+                rs.getBigDecimal("quantity"),
+                rs.getBigDecimal("weight_tons"),
+                rs.getLong("units_count"),
+                rs.getString("supplier"),
+                rs.getString("vehicle_number"));
+    }
+
+    private static MovementRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new MovementRow(
+                rs.getString("movement_type"),
+                rs.getLong("id"),
+                rs.getObject("project_id", Long.class),
+                rs.getString("project_name"),
+                rs.getObject("material_id", Long.class),
+                rs.getString("material_code"),
+                rs.getString("material_name"),
+                rs.getBigDecimal("quantity"),
+                rs.getObject("movement_time", OffsetDateTime.class),
+                rs.getString("invoice_number"),
+                rs.getObject("invoice_date", LocalDate.class),
+                rs.getObject("receive_date", LocalDate.class),
+                rs.getBigDecimal("invoice_quantity"),
+                rs.getString("vehicle_number"),
+                rs.getString("supplier_name"),
+                rs.getObject("handover_date", LocalDate.class),
+                rs.getString("handover_name"),
+                rs.getString("handover_designation"),
+                rs.getString("store_incharge_name"),
+                rs.getBigDecimal("remaining_quantity"),
+                rs.getString("remarks"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+public record MovementRow(
+        String type,
+        long id,
+        Long projectId,
+        String projectName,
+        Long materialId,
+        String materialCode,
+        String materialName,
+        BigDecimal quantity,
+        OffsetDateTime movementTime,
+        String invoiceNumber,
+        LocalDate invoiceDate,
+        LocalDate receiveDate,
+        BigDecimal invoiceQuantity,
+        String vehicleNumber,
+        String supplierName,
+        LocalDate handoverDate,
+        String handoverName,
+        String handoverDesignation,
+        String storeInchargeName,
+        BigDecimal remainingQuantity,
+        String remarks) {
+
+    public static final String TYPE_IN = "IN";
+    public static final String TYPE_OUT = "OUT";
+
+    public int typeRank() {
+        return MovementReadRepository.typeRank(type);
+    }
+
+    public MovementCursor cursor() {
+        return new MovementCursor(movementTime, typeRank(), id);
+    }
+}
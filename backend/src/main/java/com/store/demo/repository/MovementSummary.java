@@ -0,0 +1,11 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+
+public interface MovementSummary {
+    BigDecimal getQuantity();
+
+    BigDecimal getWeight();
+
+    Long getUnits();
+}
@@ -0,0 +1,20 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public interface MovementTimeTotals {
+    Long getProjectId();
+
+    Long getMaterialId();
+
+    OffsetDateTime getMovementTime();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getWeight();
+
+    Long getUnits();
+
+    Long getMovementCount();
+}
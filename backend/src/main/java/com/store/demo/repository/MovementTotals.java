@@ -0,0 +1,18 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public interface MovementTotals {
+    Long getProjectId();
+
+    Long getMaterialId();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getWeight();
+
+    Long getUnits();
+
+    OffsetDateTime getLastMovementTime();
+}
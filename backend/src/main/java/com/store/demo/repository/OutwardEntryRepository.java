@@ -3,44 +3,60 @@ package com.store.demo.repository;
 import com.store.demo.domain.Material;
 import com.store.demo.domain.OutwardEntry;
 import com.store.demo.domain.Project;
-import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface OutwardEntryRepository extends JpaRepository<OutwardEntry, Long> {
+    @EntityGraph(attributePaths = {"batchConsumptions", "batchConsumptions.inwardEntry"})
     List<OutwardEntry> findByProjectAndMaterialOrderByMovementTimeDesc(Project project, Material material);
 
-    List<OutwardEntry> findByProjectIsNullAndMaterialOrderByMovementTimeDesc(Material material);
-
-    List<OutwardEntry> findByProject(Project project);
-
-    List<OutwardEntry> findByProjectIsNull();
-
-    @Query("SELECT COALESCE(SUM(o.quantity), 0) FROM OutwardEntry o WHERE o.project = :project AND o.material = :material")
-    BigDecimal sumQuantityByProjectAndMaterial(@Param("project") Project project, @Param("material") Material material);
-
-    @Query("SELECT COALESCE(SUM(o.quantity), 0) FROM OutwardEntry o WHERE o.material = :material")
-    BigDecimal sumQuantityByMaterial(@Param("material") Material material);
-
-    @Query("SELECT COALESCE(SUM(o.weightTons), 0) FROM OutwardEntry o WHERE o.project = :project AND o.material = :material")
-    BigDecimal sumWeightByProjectAndMaterial(@Param("project") Project project, @Param("material") Material material);
-
-    @Query("SELECT COALESCE(SUM(COALESCE(o.unitsCount, 0)), 0) FROM OutwardEntry o WHERE o.project = :project AND o.material = :material")
-    Long sumUnitsByProjectAndMaterial(@Param("project") Project project, @Param("material") Material material);
-
-    Optional<OutwardEntry> findFirstByProjectAndMaterialOrderByMovementTimeDesc(Project project, Material material);
-
-    Optional<OutwardEntry> findFirstByProjectOrderByMovementTimeDesc(Project project);
-
-    @Query("SELECT COALESCE(SUM(o.quantity), 0) FROM OutwardEntry o")
-    BigDecimal sumAllQuantity();
-
-    @Query("SELECT COALESCE(SUM(o.weightTons), 0) FROM OutwardEntry o")
-    BigDecimal sumAllWeight();
-
-    @Query("SELECT COALESCE(SUM(COALESCE(o.unitsCount, 0)), 0) FROM OutwardEntry o")
-    Long sumAllUnits();
+    @Query("SELECT o FROM OutwardEntry o JOIN FETCH o.material LEFT JOIN FETCH o.project "
+            + "ORDER BY o.movementTime DESC, o.id DESC")
+    List<OutwardEntry> findRecent(Pageable pageable);
+
+    @Query("SELECT o FROM OutwardEntry o JOIN FETCH o.material LEFT JOIN FETCH o.project "
+            + "WHERE o.project = :project ORDER BY o.movementTime DESC, o.id DESC")
+    List<OutwardEntry> findRecentByProject(@Param("project") Project project, Pageable pageable);
+
+    @Query("SELECT o FROM OutwardEntry o JOIN FETCH o.material WHERE o.project IS NULL "
+            + "ORDER BY o.movementTime DESC, o.id DESC")
+    List<OutwardEntry> findRecentGeneral(Pageable pageable);
+
+    /**
+     * Initializes the batch consumptions of already loaded outward entries with a single query, so mapping a page
+     * of entries does not lazily load each collection on its own.
+     */
+    @Query("SELECT DISTINCT o FROM OutwardEntry o LEFT JOIN FETCH o.batchConsumptions c LEFT JOIN FETCH c.inwardEntry "
+            + "WHERE o IN :entries")
+    List<OutwardEntry> fetchBatchConsumptions(@Param("entries") Collection<OutwardEntry> entries);
+
+    @Query("SELECT COALESCE(SUM(o.quantity), 0) AS quantity, COALESCE(SUM(o.weightTons), 0) AS weight, "
+            + "COALESCE(SUM(COALESCE(o.unitsCount, 0)), 0) AS units FROM OutwardEntry o")
+    MovementSummary summarizeAll();
+
+    @Query("SELECT p.id AS projectId, o.material.id AS materialId, SUM(o.quantity) AS quantity, "
+            + "SUM(o.weightTons) AS weight, SUM(COALESCE(o.unitsCount, 0)) AS units, "
+            + "MAX(o.movementTime) AS lastMovementTime "
+            + "FROM OutwardEntry o LEFT JOIN o.project p GROUP BY p.id, o.material.id")
+    List<MovementTotals> sumByProjectAndMaterial();
+
+    @Query("SELECT p.id AS projectId, o.material.id AS materialId, o.movementTime AS movementTime, "
+            + "SUM(o.quantity) AS quantity, SUM(COALESCE(o.weightTons, 0)) AS weight, "
+            + "SUM(COALESCE(o.unitsCount, 0)) AS units, COUNT(o) AS movementCount "
+            + "FROM OutwardEntry o LEFT JOIN o.project p GROUP BY p.id, o.material.id, o.movementTime")
+    List<MovementTimeTotals> sumByProjectMaterialAndTime();
+
+    @Query("SELECT p.id AS projectId, p.name AS projectName, m.id AS materialId, m.name AS materialName, "
+            + "SUM(o.quantity) AS quantity, SUM(o.weightTons) AS weight, SUM(COALESCE(o.unitsCount, 0)) AS units "
+            + "FROM OutwardEntry o JOIN o.project p JOIN o.material m "
+            + "WHERE o.movementTime >= :from AND o.movementTime < :to "
+            + "GROUP BY p.id, p.name, m.id, m.name ORDER BY p.name, p.id, m.name, m.id")
+    List<ConsumptionTotals> sumConsumptionByProjectAndMaterial(
+            @Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
 }
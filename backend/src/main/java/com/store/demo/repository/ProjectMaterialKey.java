@@ -0,0 +1,7 @@
+package com.store.demo.repository;
+
+public interface ProjectMaterialKey {
+    Long getProjectId();
+
+    Long getMaterialId();
+}
@@ -3,9 +3,12 @@ package com.store.demo.repository;
 import com.store.demo.domain.Material;
 import com.store.demo.domain.Project;
 import com.store.demo.domain.ProjectMaterial;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ProjectMaterialRepository extends JpaRepository<ProjectMaterial, Long> {
     boolean existsByProjectAndMaterial(Project project, Material material);
@@ -15,4 +18,10 @@ public interface ProjectMaterialRepository extends JpaRepository<ProjectMaterial
     Optional<ProjectMaterial> findByProjectAndMaterial(Project project, Material material);
 
     boolean existsByMaterial(Material material);
+
+    @Query("SELECT pm.project.id AS projectId, pm.material.id AS materialId FROM ProjectMaterial pm")
+    List<ProjectMaterialKey> findAllKeys();
+
+    @Query("SELECT pm.material.id FROM ProjectMaterial pm WHERE pm.project = :project AND pm.material.id IN :materialIds")
+    List<Long> findLinkedMaterialIds(@Param("project") Project project, @Param("materialIds") Collection<Long> materialIds);
 }
@@ -1,11 +1,16 @@
 package com.store.demo.repository;
 
 import com.store.demo.domain.Project;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     boolean existsByCodeIgnoreCase(String code);
 
     Optional<Project> findByCodeIgnoreCase(String code);
+
+    @Query("SELECT p.id AS id, p.code AS code FROM Project p")
+    List<CodeReference> findAllCodes();
 }
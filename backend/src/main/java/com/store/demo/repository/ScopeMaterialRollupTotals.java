@@ -0,0 +1,21 @@
+package com.store.demo.repository;
+
+import java.math.BigDecimal;
+
+public interface ScopeMaterialRollupTotals {
+    Long getScopeId();
+
+    Long getMaterialId();
+
+    BigDecimal getInQuantity();
+
+    BigDecimal getOutQuantity();
+
+    BigDecimal getInWeight();
+
+    BigDecimal getOutWeight();
+
+    Long getInUnits();
+
+    Long getOutUnits();
+}
@@ -0,0 +1,44 @@
+package com.store.demo.repository;
+
+import com.store.demo.domain.Material;
+import com.store.demo.domain.StockBalance;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface StockBalanceRepository extends JpaRepository<StockBalance, Long> {
+    Optional<StockBalance> findByScopeIdAndMaterial(Long scopeId, Material material);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "10000"))
+    @Query("SELECT b FROM StockBalance b WHERE b.scopeId = :scopeId AND b.material = :material")
+    Optional<StockBalance> findForUpdate(@Param("scopeId") Long scopeId, @Param("material") Material material);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "10000"))
+    @Query("SELECT b FROM StockBalance b ORDER BY b.id")
+    List<StockBalance> findAllForUpdate();
+
+    @Query("SELECT COALESCE(SUM(b.totalInQuantity - b.totalOutQuantity), 0) FROM StockBalance b WHERE b.material = :material")
+    BigDecimal sumOnHandByMaterial(@Param("material") Material material);
+
+    @Query("SELECT COALESCE(SUM(b.totalInQuantity - b.totalOutQuantity), 0) FROM StockBalance b "
+            + "WHERE b.material.id = :materialId")
+    BigDecimal sumOnHandByMaterialId(@Param("materialId") Long materialId);
+
+    @Query("SELECT m AS material, b AS balance FROM ProjectMaterial pm JOIN pm.material m "
+            + "LEFT JOIN StockBalance b ON b.material = m AND b.scopeId = :projectId "
+            + "WHERE pm.project.id = :projectId ORDER BY pm.id")
+    List<MaterialBalance> findLinkedMaterialBalances(@Param("projectId") Long projectId);
+
+    @Query("SELECT m AS material, b AS balance FROM StockBalance b JOIN b.material m "
+            + "WHERE b.scopeId = :scopeId ORDER BY m.name, m.id")
+    List<MaterialBalance> findScopeBalancesOrderByMaterialName(@Param("scopeId") Long scopeId);
+}
@@ -0,0 +1,27 @@
+package com.store.demo.repository;
+
+import com.store.demo.domain.Material;
+import com.store.demo.domain.StockCheckpoint;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StockCheckpointRepository extends JpaRepository<StockCheckpoint, Long> {
+    Optional<StockCheckpoint> findByScopeIdAndMaterialAndDay(Long scopeId, Material material, LocalDate day);
+
+    List<StockCheckpoint> findByDay(LocalDate day);
+
+    @Query("SELECT MAX(c.day) FROM StockCheckpoint c WHERE c.day <= :day")
+    LocalDate findLatestDayOnOrBefore(@Param("day") LocalDate day);
+
+    @Query("SELECT DISTINCT c.day FROM StockCheckpoint c WHERE c.day >= :day ORDER BY c.day")
+    List<LocalDate> findDaysOnOrAfter(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query("DELETE FROM StockCheckpoint c WHERE c.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+}
@@ -0,0 +1,98 @@
+package com.store.demo.service;
+
+import com.store.demo.web.error.BadRequestException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams CSV records: comma separated fields, optionally quoted, with a doubled quote standing for a quote inside a
+ * quoted field. A quoted field may contain commas and line breaks, so one record can span several lines. Line breaks
+ * inside quotes are returned as {@code \n}. Records are numbered by the line they start on.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private int pushedBack = -1;
+    private long line = 1;
+    private long recordLine;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** Returns the next record, or {@code null} at the end of the input. An empty line is a record of one empty field. */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == -1) {
+                if (quoted) {
+                    throw new BadRequestException("Unterminated quoted field in record starting on line " + recordLine);
+                }
+                break;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        current.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = following;
+                    }
+                } else if (c == '\n') {
+                    current.append('\n');
+                } else {
+                    current.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else {
+                current.append((char) c);
+            }
+            c = read();
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /** The line on which the record last returned by {@link #next()} started. */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /** Reads one character, folding {@code \r\n} and a lone {@code \r} into {@code \n} and counting lines. */
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -1) {
+            c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\r') {
+            int following = reader.read();
+            if (following != '\n' && following != -1) {
+                pushedBack = following;
+            }
+            c = '\n';
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
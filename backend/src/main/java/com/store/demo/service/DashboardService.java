@@ -1,5 +1,7 @@
 package com.store.demo.service;
 
+import com.store.demo.domain.StockBalance;
+import com.store.demo.service.cache.InventoryReadCache;
 import com.store.demo.service.dto.MaterialStatsDto;
 import com.store.demo.service.dto.ProjectDashboardDto;
 import com.store.demo.service.dto.ProjectDto;
@@ -13,13 +15,22 @@ public class DashboardService {
 
     private final ProjectService projectService;
     private final InventoryService inventoryService;
+    private final InventoryReadCache readCache;
 
-    public DashboardService(ProjectService projectService, InventoryService inventoryService) {
+    public DashboardService(
+            ProjectService projectService, InventoryService inventoryService, InventoryReadCache readCache) {
         this.projectService = projectService;
         this.inventoryService = inventoryService;
+        this.readCache = readCache;
     }
 
     public ProjectDashboardDto getDashboard(Long projectId) {
+        // Without a project the dashboard falls back to the general store, so both share one cache entry.
+        long scopeId = projectId != null ? projectId : StockBalance.GENERAL_SCOPE;
+        return readCache.dashboard(scopeId, () -> loadDashboard(projectId));
+    }
+
+    private ProjectDashboardDto loadDashboard(Long projectId) {
         ProjectDto generalProject = inventoryService.getGeneralProjectDescriptor();
         List<ProjectDto> projects = new java.util.ArrayList<>();
         projects.add(generalProject);
@@ -5,15 +5,30 @@ import com.store.demo.domain.Material;
 import com.store.demo.domain.OutwardBatchConsumption;
 import com.store.demo.domain.OutwardEntry;
 import com.store.demo.domain.Project;
-import com.store.demo.domain.ProjectMaterial;
+import com.store.demo.domain.Quantity;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.repository.ConsumptionTotals;
 import com.store.demo.repository.InwardEntryRepository;
+import com.store.demo.repository.MovementCursor;
+import com.store.demo.repository.MovementFilter;
+import com.store.demo.repository.MovementQuantityTotals;
+import com.store.demo.repository.MovementReadRepository;
+import com.store.demo.repository.MovementRow;
 import com.store.demo.repository.OutwardEntryRepository;
 import com.store.demo.repository.ProjectMaterialRepository;
+import com.store.demo.service.analytics.InventoryTotals;
+import com.store.demo.service.analytics.InventoryTotalsService;
+import com.store.demo.service.cache.InventoryReadCache;
 import com.store.demo.service.dto.InventoryMovementReportDto;
+import com.store.demo.service.dto.IssueSlipCommand;
+import com.store.demo.service.dto.IssueSlipLineCommand;
+import com.store.demo.service.dto.IssueSlipLineResultDto;
+import com.store.demo.service.dto.IssueSlipMode;
+import com.store.demo.service.dto.IssueSlipResultDto;
 import com.store.demo.service.dto.MaterialDetailDto;
-import com.store.demo.service.dto.MaterialDto;
 import com.store.demo.service.dto.MaterialStatsDto;
 import com.store.demo.service.dto.MovementDto;
+import com.store.demo.service.dto.MovementReportQuery;
 import com.store.demo.service.dto.ProjectDto;
 import com.store.demo.service.dto.RecordInwardCommand;
 import com.store.demo.service.dto.RecordOutwardCommand;
@@ -23,15 +38,24 @@ import com.store.demo.web.dto.InventoryAnalyticsResponse;
 import com.store.demo.web.dto.MaterialConsumptionResponse;
 import com.store.demo.web.dto.ProjectConsumptionResponse;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,12 +64,21 @@ import org.springframework.transaction.annotation.Transactional;
 public class InventoryService {
 
     private static final String GENERAL_STORE_LABEL = "General Store";
+    private static final int DEFAULT_REPORT_PAGE_SIZE = 100;
+    private static final int MAX_REPORT_PAGE_SIZE = 500;
+    // Stand-ins for an open end of a date window; both stay inside the DATETIME range of every supported database.
+    private static final LocalDate OPEN_WINDOW_START = LocalDate.of(1900, 1, 1);
+    private static final LocalDate OPEN_WINDOW_END = LocalDate.of(9999, 12, 31);
 
     private final InwardEntryRepository inwardEntryRepository;
     private final OutwardEntryRepository outwardEntryRepository;
     private final ProjectMaterialRepository projectMaterialRepository;
     private final ProjectService projectService;
     private final MaterialService materialService;
+    private final StockBalanceService stockBalanceService;
+    private final MovementReadRepository movementReadRepository;
+    private final InventoryTotalsService inventoryTotalsService;
+    private final InventoryReadCache readCache;
     private final DtoMapper mapper;
 
     public InventoryService(
@@ -54,12 +87,20 @@ public class InventoryService {
             ProjectMaterialRepository projectMaterialRepository,
             ProjectService projectService,
             MaterialService materialService,
+            StockBalanceService stockBalanceService,
+            MovementReadRepository movementReadRepository,
+            InventoryTotalsService inventoryTotalsService,
+            InventoryReadCache readCache,
             DtoMapper mapper) {
         this.inwardEntryRepository = inwardEntryRepository;
         this.outwardEntryRepository = outwardEntryRepository;
         this.projectMaterialRepository = projectMaterialRepository;
         this.projectService = projectService;
         this.materialService = materialService;
+        this.stockBalanceService = stockBalanceService;
+        this.movementReadRepository = movementReadRepository;
+        this.inventoryTotalsService = inventoryTotalsService;
+        this.readCache = readCache;
         this.mapper = mapper;
     }
 
@@ -74,8 +115,8 @@ public class InventoryService {
         }
 
         OffsetDateTime movementTime = toMovementTime(command.receiveDate());
-        BigDecimal quantity = BigDecimal.valueOf(command.deliveredQuantity()).setScale(3, RoundingMode.HALF_UP);
-        BigDecimal invoiceQuantity = BigDecimal.valueOf(command.invoiceQuantity()).setScale(3, RoundingMode.HALF_UP);
+        BigDecimal quantity = Quantity.of(command.deliveredQuantity()).toBigDecimal();
+        BigDecimal invoiceQuantity = Quantity.of(command.invoiceQuantity()).toBigDecimal();
 
         InwardEntry entry = new InwardEntry();
         entry.setProject(project);
@@ -93,6 +134,7 @@ public class InventoryService {
         entry.setRemarks(command.remarks());
         entry.setCreatedAt(mapper.now());
         entry = inwardEntryRepository.save(entry);
+        stockBalanceService.applyInward(entry);
 
         return toInwardMovement(project, material, entry);
     }
@@ -106,70 +148,162 @@ public class InventoryService {
             ensureMaterialLinked(project, material);
         }
 
-        List<InwardEntry> batches = ((project != null)
-                        ? inwardEntryRepository.findByProjectAndMaterialOrderByMovementTimeAsc(project, material)
-                        : inwardEntryRepository.findByProjectIsNullAndMaterialOrderByMovementTimeAsc(material))
-                .stream()
-                .filter(batch -> batch.getRemainingQuantity().compareTo(BigDecimal.ZERO) > 0)
-                .collect(Collectors.toList());
-        if (batches.isEmpty()) {
-            throw new BadRequestException("No stock available for material");
-        }
-
-        BigDecimal requested = BigDecimal.valueOf(command.quantity()).setScale(3, RoundingMode.HALF_UP);
-        BigDecimal available = batches.stream()
-                .map(InwardEntry::getRemainingQuantity)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        if (available.compareTo(requested) < 0) {
+        Quantity requested = Quantity.of(command.quantity());
+        OutwardEntry outwardEntry = newOutwardEntry(
+                project,
+                material,
+                requested,
+                command.handoverDate(),
+                command.handoverName(),
+                command.handoverDesignation(),
+                command.storeInchargeName(),
+                command.remarks());
+
+        StockBalance balance = stockBalanceService.lockForAllocation(project, material)
+                .orElseThrow(() -> new BadRequestException("No stock available for material"));
+        Quantity allocated = allocateFifo(project, material, requested, outwardEntry);
+        if (allocated.compareTo(requested) < 0) {
+            if (allocated.signum() == 0) {
+                throw new BadRequestException("No stock available for material");
+            }
             throw new BadRequestException(
-                    String.format(Locale.ENGLISH, "Insufficient stock. Available %.3f", available.doubleValue()));
+                    String.format(Locale.ENGLISH, "Insufficient stock. Available %.3f", allocated.toDouble()));
         }
 
-        OffsetDateTime movementTime = toMovementTime(command.handoverDate());
-        OutwardEntry outwardEntry = new OutwardEntry();
-        outwardEntry.setProject(project);
-        outwardEntry.setMaterial(material);
-        outwardEntry.setQuantity(requested);
-        outwardEntry.setMovementTime(movementTime);
-        outwardEntry.setHandoverDate(command.handoverDate());
-        outwardEntry.setHandoverName(command.handoverName());
-        outwardEntry.setHandoverDesignation(command.handoverDesignation());
-        outwardEntry.setStoreInchargeName(command.storeInchargeName());
-        outwardEntry.setIssuedTo(command.handoverName());
-        outwardEntry.setReference(command.handoverName());
-        outwardEntry.setRemarks(command.remarks());
-        outwardEntry.setCreatedAt(mapper.now());
+        outwardEntry = outwardEntryRepository.save(outwardEntry);
+        stockBalanceService.applyOutward(outwardEntry, balance);
 
-        BigDecimal remaining = requested;
-        for (InwardEntry batch : batches) {
-            if (remaining.compareTo(BigDecimal.ZERO) <= 0) {
-                break;
+        return toOutwardMovement(project, material, outwardEntry);
+    }
+
+    public IssueSlipResultDto recordIssueSlip(IssueSlipCommand command) {
+        if (command.lines() == null || command.lines().isEmpty()) {
+            throw new BadRequestException("Issue slip must have at least one line");
+        }
+        command.lines().forEach(line -> validateQuantity(line.quantity()));
+        IssueSlipMode mode = command.mode() != null ? command.mode() : IssueSlipMode.STRICT;
+        Project project = command.projectId() != null ? projectService.getProjectEntity(command.projectId()) : null;
+
+        Map<Long, List<Integer>> linesByMaterial = new TreeMap<>();
+        for (int i = 0; i < command.lines().size(); i++) {
+            Long materialId = command.lines().get(i).materialId();
+            if (materialId == null) {
+                throw new BadRequestException("Material is required on every issue slip line");
             }
-            BigDecimal batchAvailable = batch.getRemainingQuantity();
-            if (batchAvailable.compareTo(BigDecimal.ZERO) <= 0) {
-                continue;
+            linesByMaterial.computeIfAbsent(materialId, id -> new ArrayList<>()).add(i);
+        }
+        Map<Long, Material> materials = materialService.getMaterialEntities(linesByMaterial.keySet());
+        if (project != null) {
+            Set<Long> linked = new HashSet<>(
+                    projectMaterialRepository.findLinkedMaterialIds(project, linesByMaterial.keySet()));
+            for (Material material : materials.values()) {
+                if (!linked.contains(material.getId())) {
+                    throw new BadRequestException("Material is not linked with project: " + material.getName());
+                }
             }
-            BigDecimal consume = batchAvailable.min(remaining);
-            batch.setRemainingQuantity(batchAvailable.subtract(consume));
-            OutwardBatchConsumption consumption = new OutwardBatchConsumption();
-            consumption.setOutwardEntry(outwardEntry);
-            consumption.setInwardEntry(batch);
-            consumption.setQuantity(consume);
-            outwardEntry.getBatchConsumptions().add(consumption);
-            remaining = remaining.subtract(consume);
         }
 
-        if (remaining.compareTo(BigDecimal.ZERO) > 0) {
-            throw new IllegalStateException("FIFO calculation error: remaining quantity after allocation");
+        IssueSlipLineResultDto[] results = new IssueSlipLineResultDto[command.lines().size()];
+        List<String> shortages = new ArrayList<>();
+        // Materials are visited in id order so that balance row locks are always taken in the same sequence.
+        for (Map.Entry<Long, List<Integer>> group : linesByMaterial.entrySet()) {
+            Material material = materials.get(group.getKey());
+            Optional<StockBalance> balance = stockBalanceService.lockForAllocation(project, material);
+            // Without a balance row nothing was ever received, so every line of the material issues nothing.
+            try (FifoAllocator allocator = balance.isPresent()
+                    ? openAllocator(project, material)
+                    : new FifoAllocator(Stream.empty())) {
+                for (int index : group.getValue()) {
+                    IssueSlipLineCommand line = command.lines().get(index);
+                    Quantity requested = Quantity.of(line.quantity());
+                    OutwardEntry outwardEntry = newOutwardEntry(
+                            project,
+                            material,
+                            requested,
+                            command.handoverDate(),
+                            command.handoverName(),
+                            command.handoverDesignation(),
+                            command.storeInchargeName(),
+                            line.remarks() != null ? line.remarks() : command.remarks());
+                    Quantity issued = allocator.allocate(requested, outwardEntry);
+                    Quantity shortfall = requested.minus(issued);
+                    if (shortfall.isPositive()) {
+                        shortages.add(String.format(
+                                Locale.ENGLISH,
+                                "%s (line %d): requested %.3f, available %.3f",
+                                material.getName(),
+                                index + 1,
+                                requested.toDouble(),
+                                issued.toDouble()));
+                    }
+                    MovementDto movement = null;
+                    if (issued.isPositive()) {
+                        outwardEntry.setQuantity(issued.toBigDecimal());
+                        outwardEntry = outwardEntryRepository.save(outwardEntry);
+                        stockBalanceService.applyOutward(outwardEntry, balance.get());
+                        movement = toOutwardMovement(project, material, outwardEntry);
+                    }
+                    results[index] = new IssueSlipLineResultDto(
+                            index + 1,
+                            material.getId(),
+                            material.getName(),
+                            requested.toDouble(),
+                            issued.toDouble(),
+                            shortfall.toDouble(),
+                            movement);
+                }
+            }
         }
 
-        outwardEntry = outwardEntryRepository.save(outwardEntry);
+        if (mode == IssueSlipMode.STRICT && !shortages.isEmpty()) {
+            throw new BadRequestException("Insufficient stock. " + String.join("; ", shortages));
+        }
+        return new IssueSlipResultDto(command.projectId(), mode, shortages.isEmpty(), List.of(results));
+    }
 
-        return toOutwardMovement(project, material, outwardEntry);
+    private OutwardEntry newOutwardEntry(
+            Project project,
+            Material material,
+            Quantity quantity,
+            LocalDate handoverDate,
+            String handoverName,
+            String handoverDesignation,
+            String storeInchargeName,
+            String remarks) {
+        OutwardEntry outwardEntry = new OutwardEntry();
+        outwardEntry.setProject(project);
+        outwardEntry.setMaterial(material);
+        outwardEntry.setQuantity(quantity.toBigDecimal());
+        outwardEntry.setMovementTime(toMovementTime(handoverDate));
+        outwardEntry.setHandoverDate(handoverDate);
+        outwardEntry.setHandoverName(handoverName);
+        outwardEntry.setHandoverDesignation(handoverDesignation);
+        outwardEntry.setStoreInchargeName(storeInchargeName);
+        outwardEntry.setIssuedTo(handoverName);
+        outwardEntry.setReference(handoverName);
+        outwardEntry.setRemarks(remarks);
+        outwardEntry.setCreatedAt(mapper.now());
+        return outwardEntry;
+    }
+
+    private Quantity allocateFifo(Project project, Material material, Quantity requested, OutwardEntry outwardEntry) {
+        try (FifoAllocator allocator = openAllocator(project, material)) {
+            return allocator.allocate(requested, outwardEntry);
+        }
+    }
+
+    private FifoAllocator openAllocator(Project project, Material material) {
+        return new FifoAllocator(project != null
+                ? inwardEntryRepository.streamOpenBatches(project, material)
+                : inwardEntryRepository.streamOpenGeneralBatches(material));
     }
 
     @Transactional(readOnly = true)
     public MaterialDetailDto getMaterialDetail(Long projectId, Long materialId) {
+        return readCache.materialDetail(projectId, materialId, () -> loadMaterialDetail(projectId, materialId));
+    }
+
+    private MaterialDetailDto loadMaterialDetail(Long projectId, Long materialId) {
         Project project = projectService.getProjectEntity(projectId);
         Material material = materialService.getMaterialEntity(materialId);
         ensureMaterialLinked(project, material);
@@ -189,7 +323,9 @@ public class InventoryService {
 
         List<MovementDto> history = new ArrayList<>(inwardMovements);
         history.addAll(outwardMovements);
-        history.sort(Comparator.comparing(MovementDto::movementTime).reversed());
+        // Same-time ties list the outward first, as the movement report does: it was recorded against that stock.
+        history.sort(Comparator.comparing(MovementDto::movementTime).reversed()
+                .thenComparing(movement -> "OUT".equals(movement.type()) ? 0 : 1));
 
         return new MaterialDetailDto(
                 mapper.toProjectDto(project),
@@ -202,21 +338,20 @@ public class InventoryService {
 
     @Transactional(readOnly = true)
     public List<MaterialStatsDto> getProjectMaterialStats(Long projectId) {
-        Project project = projectService.getProjectEntity(projectId);
-        List<ProjectMaterial> links = projectMaterialRepository.findByProject(project);
-        return links.stream().map(link -> buildStats(project, link.getMaterial())).collect(Collectors.toList());
+        return readCache.materialStats(projectId, () -> {
+            Project project = projectService.getProjectEntity(projectId);
+            return stockBalanceService.findLinkedMaterialBalances(project).stream()
+                    .map(row -> toStats(row.getMaterial(), row.getBalance()))
+                    .toList();
+        });
     }
 
     @Transactional(readOnly = true)
     public List<MaterialStatsDto> getGeneralMaterialStats() {
-        java.util.Set<Long> materialIds = new java.util.LinkedHashSet<>();
-        inwardEntryRepository.findByProjectIsNull().forEach(entry -> materialIds.add(entry.getMaterial().getId()));
-        outwardEntryRepository.findByProjectIsNull().forEach(entry -> materialIds.add(entry.getMaterial().getId()));
-        return materialIds.stream()
-                .map(materialService::getMaterialEntity)
-                .map(material -> buildStats(null, material))
-                .sorted(Comparator.comparing(MaterialStatsDto::materialName))
-                .toList();
+        return readCache.materialStats(StockBalance.GENERAL_SCOPE, () -> stockBalanceService.findGeneralStoreBalances()
+                .stream()
+                .map(row -> toStats(row.getMaterial(), row.getBalance()))
+                .toList());
     }
 
     public ProjectDto getGeneralProjectDescriptor() {
@@ -225,174 +360,209 @@ public class InventoryService {
 
     @Transactional(readOnly = true)
     public List<MovementDto> getRecentActivity(Long projectId, int limit) {
-        List<MovementDto> movements = new ArrayList<>();
+        if (limit <= 0) {
+            return List.of();
+        }
+        Pageable top = PageRequest.of(0, limit);
+        List<InwardEntry> inwards;
+        List<OutwardEntry> outwards;
         if (projectId != null && projectId > 0) {
             Project project = projectService.getProjectEntity(projectId);
-            movements.addAll(inwardEntryRepository
-                    .findByProject(project)
-                    .stream()
-                    .map(entry -> toInwardMovement(project, entry.getMaterial(), entry))
-                    .toList());
-            movements.addAll(outwardEntryRepository
-                    .findByProject(project)
-                    .stream()
-                    .map(entry -> toOutwardMovement(project, entry.getMaterial(), entry))
-                    .toList());
+            inwards = inwardEntryRepository.findRecentByProject(project, top);
+            outwards = outwardEntryRepository.findRecentByProject(project, top);
         } else if (projectId != null && projectId == 0L) {
-            movements.addAll(inwardEntryRepository.findByProjectIsNull().stream()
-                    .map(entry -> toInwardMovement(null, entry.getMaterial(), entry))
-                    .toList());
-            movements.addAll(outwardEntryRepository.findByProjectIsNull().stream()
-                    .map(entry -> toOutwardMovement(null, entry.getMaterial(), entry))
-                    .toList());
+            inwards = inwardEntryRepository.findRecentGeneral(top);
+            outwards = outwardEntryRepository.findRecentGeneral(top);
         } else {
-            movements.addAll(inwardEntryRepository.findAll().stream()
-                    .map(entry -> toInwardMovement(entry.getProject(), entry.getMaterial(), entry))
-                    .toList());
-            movements.addAll(outwardEntryRepository.findAll().stream()
-                    .map(entry -> toOutwardMovement(entry.getProject(), entry.getMaterial(), entry))
-                    .toList());
+            inwards = inwardEntryRepository.findRecent(top);
+            outwards = outwardEntryRepository.findRecent(top);
         }
 
-        movements.sort(Comparator.comparing(MovementDto::movementTime).reversed());
-        if (movements.size() > limit) {
-            return movements.subList(0, limit);
+        if (!outwards.isEmpty()) {
+            outwardEntryRepository.fetchBatchConsumptions(outwards);
+        }
+
+        // Both lists are already newest first, so a two-way merge yields the overall top entries. On equal times the
+        // outward comes first, as in the movement report.
+        List<MovementDto> movements = new ArrayList<>(limit);
+        int i = 0;
+        int o = 0;
+        while (movements.size() < limit && (i < inwards.size() || o < outwards.size())) {
+            boolean takeInward = o >= outwards.size()
+                    || (i < inwards.size()
+                            && inwards.get(i).getMovementTime().isAfter(outwards.get(o).getMovementTime()));
+            if (takeInward) {
+                InwardEntry entry = inwards.get(i++);
+                movements.add(toInwardMovement(entry.getProject(), entry.getMaterial(), entry));
+            } else {
+                OutwardEntry entry = outwards.get(o++);
+                movements.add(toOutwardMovement(entry.getProject(), entry.getMaterial(), entry));
+            }
         }
         return movements;
     }
 
     @Transactional(readOnly = true)
-    public InventoryAnalyticsResponse getInventoryAnalytics() {
-        long totalProjects = projectService.findAll().size();
-        long totalMaterials = materialService.findAll().size();
-
-        BigDecimal totalQuantityIn = Optional.ofNullable(inwardEntryRepository.sumAllQuantity())
-                .orElse(BigDecimal.ZERO);
-        BigDecimal totalQuantityOut = Optional.ofNullable(outwardEntryRepository.sumAllQuantity())
-                .orElse(BigDecimal.ZERO);
-        BigDecimal totalQuantityOnHand = Optional.ofNullable(inwardEntryRepository.sumAllRemainingQuantity())
-                .orElse(BigDecimal.ZERO);
-
-        BigDecimal totalWeightIn = Optional.ofNullable(inwardEntryRepository.sumAllWeight())
-                .orElse(BigDecimal.ZERO);
-        BigDecimal totalWeightOut = Optional.ofNullable(outwardEntryRepository.sumAllWeight())
-                .orElse(BigDecimal.ZERO);
-        BigDecimal totalWeightOnHand = totalWeightIn.subtract(totalWeightOut);
-
-        long totalUnitsIn = Optional.ofNullable(inwardEntryRepository.sumAllUnits()).orElse(0L);
-        long totalUnitsOut = Optional.ofNullable(outwardEntryRepository.sumAllUnits()).orElse(0L);
-        long totalUnitsOnHand = totalUnitsIn - totalUnitsOut;
-
+    public InventoryAnalyticsResponse getInventoryAnalytics(LocalDate consumptionFrom, LocalDate consumptionTo) {
+        if (consumptionFrom != null && consumptionTo != null && consumptionFrom.isAfter(consumptionTo)) {
+            throw new BadRequestException("From date must not be after to date");
+        }
+        InventoryTotals totals = inventoryTotalsService.current();
+        BigDecimal totalWeightOnHand = totals.weightIn().subtract(totals.weightOut());
         return new InventoryAnalyticsResponse(
-                totalProjects,
-                totalMaterials,
-                totalQuantityIn.doubleValue(),
-                totalQuantityOut.doubleValue(),
-                totalQuantityOnHand.doubleValue(),
-                toDouble(totalWeightIn),
-                toDouble(totalWeightOut),
+                totals.projects(),
+                totals.materials(),
+                totals.quantityIn().doubleValue(),
+                totals.quantityOut().doubleValue(),
+                totals.quantityOnHand().doubleValue(),
+                toDouble(totals.weightIn()),
+                toDouble(totals.weightOut()),
                 toDouble(totalWeightOnHand),
-                totalUnitsIn,
-                totalUnitsOut,
-                totalUnitsOnHand,
-                buildProjectConsumption());
+                totals.unitsIn(),
+                totals.unitsOut(),
+                totals.unitsIn() - totals.unitsOut(),
+                buildProjectConsumption(consumptionFrom, consumptionTo));
     }
 
+    /**
+     * One keyset page of the movement report. Totals cover every movement matching the filter, not just the page.
+     */
     @Transactional(readOnly = true)
-    public InventoryMovementReportDto getInventoryMovementReport(Long projectId) {
+    public InventoryMovementReportDto getInventoryMovementReport(MovementReportQuery query) {
         List<ProjectDto> projects = new ArrayList<>();
         projects.add(generalProjectDto());
         projects.addAll(projectService.findAll());
 
-        boolean generalOnly = projectId != null && projectId == 0L;
-        final Project selectedProjectEntity = projectId != null && projectId > 0
-                ? projectService.getProjectEntity(projectId)
-                : null;
-        final ProjectDto selectedProject;
-        if (generalOnly) {
+        Long projectId = query.projectId();
+        ProjectDto selectedProject = null;
+        if (projectId != null && projectId == 0L) {
             selectedProject = generalProjectDto();
-        } else if (selectedProjectEntity != null) {
-            selectedProject = mapper.toProjectDto(selectedProjectEntity);
-        } else {
-            selectedProject = null;
+        } else if (projectId != null && projectId > 0) {
+            selectedProject = mapper.toProjectDto(projectService.getProjectEntity(projectId));
         }
 
-        List<MovementDto> movements = new ArrayList<>();
-        if (generalOnly) {
-            movements.addAll(inwardEntryRepository.findByProjectIsNull().stream()
-                    .map(entry -> toInwardMovement(null, entry.getMaterial(), entry))
-                    .toList());
-            movements.addAll(outwardEntryRepository.findByProjectIsNull().stream()
-                    .map(entry -> toOutwardMovement(null, entry.getMaterial(), entry))
-                    .toList());
-        } else if (selectedProjectEntity != null) {
-            movements.addAll(inwardEntryRepository.findByProject(selectedProjectEntity).stream()
-                    .map(entry -> toInwardMovement(selectedProjectEntity, entry.getMaterial(), entry))
-                    .toList());
-            movements.addAll(outwardEntryRepository.findByProject(selectedProjectEntity).stream()
-                    .map(entry -> toOutwardMovement(selectedProjectEntity, entry.getMaterial(), entry))
-                    .toList());
-        } else {
-            movements.addAll(inwardEntryRepository.findAll().stream()
-                    .map(entry -> toInwardMovement(entry.getProject(), entry.getMaterial(), entry))
-                    .toList());
-            movements.addAll(outwardEntryRepository.findAll().stream()
-                    .map(entry -> toOutwardMovement(entry.getProject(), entry.getMaterial(), entry))
-                    .toList());
+        int size = query.size() != null ? query.size() : DEFAULT_REPORT_PAGE_SIZE;
+        if (size < 1 || size > MAX_REPORT_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_REPORT_PAGE_SIZE);
+        }
+        MovementFilter filter = toMovementFilter(query);
+        List<MovementRow> rows = movementReadRepository.findPage(filter, decodeCursor(query.cursor()), size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
         }
+        String nextCursor = hasMore ? encodeCursor(rows.get(rows.size() - 1).cursor()) : null;
+
+        List<MovementDto> movements = toMovementDtos(rows);
+        MovementQuantityTotals totals = movementReadRepository.sumQuantities(filter);
+        return new InventoryMovementReportDto(
+                projects,
+                selectedProject,
+                movements,
+                totals.inCount(),
+                totals.inQuantity().doubleValue(),
+                totals.outCount(),
+                totals.outQuantity().doubleValue(),
+                nextCursor,
+                hasMore);
+    }
 
-        movements.sort(Comparator.comparing(MovementDto::movementTime).reversed());
+    public MovementFilter toMovementFilter(MovementReportQuery query) {
+        String type = null;
+        if (query.type() != null && !query.type().isBlank()) {
+            type = query.type().trim().toUpperCase(Locale.ROOT);
+            if (!MovementRow.TYPE_IN.equals(type) && !MovementRow.TYPE_OUT.equals(type)) {
+                throw new BadRequestException("Movement type must be IN or OUT");
+            }
+        }
+        if (query.fromDate() != null && query.toDate() != null && query.fromDate().isAfter(query.toDate())) {
+            throw new BadRequestException("From date must not be after to date");
+        }
+        String supplier = query.supplier() != null && !query.supplier().isBlank() ? query.supplier().trim() : null;
+        return new MovementFilter(
+                query.projectId(),
+                query.fromDate() != null ? toMovementTime(query.fromDate()) : null,
+                query.toDate() != null ? toMovementTime(query.toDate().plusDays(1)) : null,
+                query.materialId(),
+                type,
+                supplier);
+    }
 
-        double totalInQuantity = movements.stream()
-                .filter(movement -> "IN".equals(movement.type()))
-                .mapToDouble(MovementDto::quantity)
-                .sum();
-        double totalOutQuantity = movements.stream()
-                .filter(movement -> "OUT".equals(movement.type()))
-                .mapToDouble(MovementDto::quantity)
-                .sum();
+    private List<MovementDto> toMovementDtos(List<MovementRow> rows) {
+        List<Long> outwardIds = rows.stream()
+                .filter(row -> MovementRow.TYPE_OUT.equals(row.type()))
+                .map(MovementRow::id)
+                .toList();
+        Map<Long, String> batchSummaries = movementReadRepository.findBatchSummaries(outwardIds);
+        return rows.stream()
+                .map(row -> new MovementDto(
+                        row.id(),
+                        row.type(),
+                        row.projectId(),
+                        row.projectId() != null ? row.projectName() : GENERAL_STORE_LABEL,
+                        row.materialId(),
+                        row.materialName(),
+                        row.quantity().doubleValue(),
+                        row.movementTime(),
+                        row.invoiceNumber(),
+                        row.invoiceDate(),
+                        row.receiveDate(),
+                        MovementRow.TYPE_IN.equals(row.type())
+                                ? toDouble(row.invoiceQuantity() != null ? row.invoiceQuantity() : row.quantity())
+                                : null,
+                        row.vehicleNumber(),
+                        row.supplierName(),
+                        row.handoverDate(),
+                        row.handoverName(),
+                        row.handoverDesignation(),
+                        row.storeInchargeName(),
+                        toDouble(row.remainingQuantity()),
+                        batchSummaries.get(row.id()),
+                        row.remarks()))
+                .toList();
+    }
 
-        return new InventoryMovementReportDto(projects, selectedProject, movements, totalInQuantity, totalOutQuantity);
+    private static String encodeCursor(MovementCursor cursor) {
+        String raw = cursor.movementTime() + "|" + cursor.typeRank() + "|" + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
-    private List<ProjectConsumptionResponse> buildProjectConsumption() {
-        return outwardEntryRepository.findAll().stream()
-                .filter(entry -> entry.getProject() != null)
-                .collect(Collectors.groupingBy(OutwardEntry::getProject, Collectors.groupingBy(OutwardEntry::getMaterial)))
-                .entrySet()
-                .stream()
-                .map(projectEntry -> new ProjectConsumptionResponse(
-                        projectEntry.getKey().getId(),
-                        projectEntry.getKey().getName(),
-                        projectEntry.getValue().entrySet().stream()
-                                .map(materialEntry -> {
-                                    BigDecimal quantityTotal = materialEntry.getValue().stream()
-                                            .map(OutwardEntry::getQuantity)
-                                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                                    BigDecimal weightTotal = materialEntry.getValue().stream()
-                                            .map(OutwardEntry::getWeightTons)
-                                            .filter(Objects::nonNull)
-                                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                                    long unitsTotal = materialEntry.getValue().stream()
-                                            .map(OutwardEntry::getUnitsCount)
-                                            .filter(Objects::nonNull)
-                                            .mapToLong(Integer::longValue)
-                                            .sum();
-                                    Double weightValue = weightTotal.compareTo(BigDecimal.ZERO) == 0
-                                            ? null
-                                            : weightTotal.doubleValue();
-                                    Long unitsValue = unitsTotal == 0 ? null : unitsTotal;
-                                    return new MaterialConsumptionResponse(
-                                            materialEntry.getKey().getId(),
-                                            materialEntry.getKey().getName(),
-                                            quantityTotal.doubleValue(),
-                                            weightValue,
-                                            unitsValue);
-                                })
-                                .sorted(Comparator.comparing(MaterialConsumptionResponse::materialName))
-                                .toList()))
-                .sorted(Comparator.comparing(ProjectConsumptionResponse::projectName))
-                .toList();
+    private static MovementCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new MovementCursor(
+                    OffsetDateTime.parse(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private List<ProjectConsumptionResponse> buildProjectConsumption(LocalDate fromDate, LocalDate toDate) {
+        OffsetDateTime from = toMovementTime(fromDate != null ? fromDate : OPEN_WINDOW_START);
+        OffsetDateTime to = toMovementTime(toDate != null ? toDate.plusDays(1) : OPEN_WINDOW_END);
+        List<ProjectConsumptionResponse> projects = new ArrayList<>();
+        Long currentProjectId = null;
+        List<MaterialConsumptionResponse> materials = null;
+        for (ConsumptionTotals totals : outwardEntryRepository.sumConsumptionByProjectAndMaterial(from, to)) {
+            if (!totals.getProjectId().equals(currentProjectId)) {
+                currentProjectId = totals.getProjectId();
+                materials = new ArrayList<>();
+                projects.add(new ProjectConsumptionResponse(currentProjectId, totals.getProjectName(), materials));
+            }
+            BigDecimal weight = totals.getWeight();
+            long units = totals.getUnits() != null ? totals.getUnits() : 0L;
+            materials.add(new MaterialConsumptionResponse(
+                    totals.getMaterialId(),
+                    totals.getMaterialName(),
+                    totals.getQuantity().doubleValue(),
+                    weight == null || weight.signum() == 0 ? null : weight.doubleValue(),
+                    units == 0 ? null : units));
+        }
+        return projects;
     }
 
     private void ensureMaterialLinked(Project project, Material material) {
@@ -410,116 +580,29 @@ public class InventoryService {
     }
 
     private MaterialStatsDto buildStats(Project project, Material material) {
-        if (project == null) {
-            List<InwardEntry> generalInwards = inwardEntryRepository
-                    .findByProjectIsNullAndMaterialOrderByMovementTimeAsc(material);
-            List<OutwardEntry> generalOutwards = outwardEntryRepository
-                    .findByProjectIsNullAndMaterialOrderByMovementTimeDesc(material);
-
-            BigDecimal totalIn = generalInwards.stream()
-                    .map(InwardEntry::getQuantity)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            BigDecimal totalOut = generalOutwards.stream()
-                    .map(OutwardEntry::getQuantity)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            BigDecimal totalInWeight = generalInwards.stream()
-                    .map(InwardEntry::getWeightTons)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            BigDecimal totalOutWeight = generalOutwards.stream()
-                    .map(OutwardEntry::getWeightTons)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            long totalInUnits = generalInwards.stream()
-                    .map(InwardEntry::getUnitsCount)
-                    .filter(Objects::nonNull)
-                    .mapToLong(Integer::longValue)
-                    .sum();
-            long totalOutUnits = generalOutwards.stream()
-                    .map(OutwardEntry::getUnitsCount)
-                    .filter(Objects::nonNull)
-                    .mapToLong(Integer::longValue)
-                    .sum();
-
-            OffsetDateTime lastIn = generalInwards.stream()
-                    .map(InwardEntry::getMovementTime)
-                    .filter(Objects::nonNull)
-                    .max(Comparator.naturalOrder())
-                    .orElse(null);
-            OffsetDateTime lastOut = generalOutwards.stream()
-                    .map(OutwardEntry::getMovementTime)
-                    .filter(Objects::nonNull)
-                    .max(Comparator.naturalOrder())
-                    .orElse(null);
-
-            BigDecimal currentStock = totalIn.subtract(totalOut);
-            BigDecimal currentWeight = totalInWeight.subtract(totalOutWeight);
-            long currentUnits = totalInUnits - totalOutUnits;
-
-            return new MaterialStatsDto(
-                    material.getId(),
-                    material.getName(),
-                    material.getCode(),
-                    material.getUnit(),
-                    toDouble(totalIn),
-                    toDouble(totalOut),
-                    toDouble(currentStock),
-                    lastIn,
-                    lastOut,
-                    toDouble(totalInWeight),
-                    toDouble(totalOutWeight),
-                    toDouble(currentWeight),
-                    totalInUnits,
-                    totalOutUnits,
-                    currentUnits);
-        }
+        return toStats(material, stockBalanceService.find(project, material).orElse(null));
+    }
 
-        BigDecimal totalIn = Optional.ofNullable(inwardEntryRepository
-                        .sumQuantityByProjectAndMaterial(project, material))
-                .orElse(BigDecimal.ZERO);
-        BigDecimal totalOut = Optional.ofNullable(outwardEntryRepository
-                        .sumQuantityByProjectAndMaterial(project, material))
-                .orElse(BigDecimal.ZERO);
-        BigDecimal currentStock = totalIn.subtract(totalOut);
-        BigDecimal totalInWeight = Optional.ofNullable(inwardEntryRepository
-                        .sumWeightByProjectAndMaterial(project, material))
-                .orElse(BigDecimal.ZERO);
-        BigDecimal totalOutWeight = Optional.ofNullable(outwardEntryRepository
-                        .sumWeightByProjectAndMaterial(project, material))
-                .orElse(BigDecimal.ZERO);
-        BigDecimal currentWeight = totalInWeight.subtract(totalOutWeight);
-        long totalInUnits = Optional.ofNullable(inwardEntryRepository
-                        .sumUnitsByProjectAndMaterial(project, material))
-                .orElse(0L);
-        long totalOutUnits = Optional.ofNullable(outwardEntryRepository
-                        .sumUnitsByProjectAndMaterial(project, material))
-                .orElse(0L);
-        long currentUnits = totalInUnits - totalOutUnits;
-        OffsetDateTime lastIn = inwardEntryRepository
-                .findFirstByProjectAndMaterialOrderByMovementTimeDesc(project, material)
-                .map(InwardEntry::getMovementTime)
-                .orElse(null);
-        OffsetDateTime lastOut = outwardEntryRepository
-                .findFirstByProjectAndMaterialOrderByMovementTimeDesc(project, material)
-                .map(OutwardEntry::getMovementTime)
-                .orElse(null);
-        MaterialDto materialDto = mapper.toMaterialDto(material);
+    private MaterialStatsDto toStats(Material material, StockBalance balance) {
+        if (balance == null) {
+            balance = new StockBalance();
+        }
         return new MaterialStatsDto(
                 material.getId(),
-                materialDto.name(),
-                materialDto.code(),
-                materialDto.unit(),
-                totalIn.doubleValue(),
-                totalOut.doubleValue(),
-                currentStock.doubleValue(),
-                lastIn,
-                lastOut,
-                toDouble(totalInWeight),
-                toDouble(totalOutWeight),
-                toDouble(currentWeight),
-                totalInUnits,
-                totalOutUnits,
-                currentUnits);
+                material.getName(),
+                material.getCode(),
+                material.getUnit(),
+                balance.getTotalInQuantity().doubleValue(),
+                balance.getTotalOutQuantity().doubleValue(),
+                balance.getOnHandQuantity().doubleValue(),
+                balance.getLastInTime(),
+                balance.getLastOutTime(),
+                toDouble(balance.getTotalInWeight()),
+                toDouble(balance.getTotalOutWeight()),
+                toDouble(balance.getOnHandWeight()),
+                balance.getTotalInUnits(),
+                balance.getTotalOutUnits(),
+                balance.getOnHandUnits());
     }
 
     private void validateQuantity(double quantity) {
@@ -528,7 +611,7 @@ public class InventoryService {
         }
     }
 
-    private OffsetDateTime toMovementTime(java.time.LocalDate date) {
+    private OffsetDateTime toMovementTime(LocalDate date) {
         if (date == null) {
             return mapper.now();
         }
@@ -576,10 +659,7 @@ public class InventoryService {
                     if (label == null || label.isBlank()) {
                         label = "Batch-" + inward.getId();
                     }
-                    double consumed = consumption
-                            .getQuantity()
-                            .setScale(3, RoundingMode.HALF_UP)
-                            .doubleValue();
+                    double consumed = Quantity.of(consumption.getQuantity()).toDouble();
                     return label + " (" + consumed + ")";
                 })
                 .collect(Collectors.joining(", "));
@@ -613,4 +693,50 @@ public class InventoryService {
     private Double toDouble(BigDecimal value) {
         return value != null ? value.doubleValue() : null;
     }
+
+    /**
+     * Walks the open batches of one material oldest first. Batches are streamed lazily so fully consumed history is
+     * never read, and several outward entries can draw from the same pass.
+     */
+    private static final class FifoAllocator implements AutoCloseable {
+
+        private final Stream<InwardEntry> batches;
+        private final Iterator<InwardEntry> iterator;
+        private InwardEntry current;
+        // Remaining quantity of the current batch, written back to the entity after every draw.
+        private Quantity currentRemaining = Quantity.ZERO;
+
+        private FifoAllocator(Stream<InwardEntry> batches) {
+            this.batches = batches;
+            this.iterator = batches.iterator();
+        }
+
+        private Quantity allocate(Quantity requested, OutwardEntry outwardEntry) {
+            Quantity remaining = requested;
+            while (remaining.isPositive()) {
+                if (current == null || !currentRemaining.isPositive()) {
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                    current = iterator.next();
+                    currentRemaining = Quantity.of(current.getRemainingQuantity());
+                }
+                Quantity consume = currentRemaining.min(remaining);
+                currentRemaining = currentRemaining.minus(consume);
+                current.setRemainingQuantity(currentRemaining.toBigDecimal());
+                OutwardBatchConsumption consumption = new OutwardBatchConsumption();
+                consumption.setOutwardEntry(outwardEntry);
+                consumption.setInwardEntry(current);
+                consumption.setQuantity(consume.toBigDecimal());
+                outwardEntry.getBatchConsumptions().add(consumption);
+                remaining = remaining.minus(consume);
+            }
+            return requested.minus(remaining);
+        }
+
+        @Override
+        public void close() {
+            batches.close();
+        }
+    }
 }
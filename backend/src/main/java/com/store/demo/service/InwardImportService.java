@@ -0,0 +1,315 @@
+package com.store.demo.service;
+
+import com.store.demo.domain.InwardEntry;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.repository.CodeReference;
+import com.store.demo.repository.InwardEntryRepository;
+import com.store.demo.repository.MaterialRepository;
+import com.store.demo.repository.ProjectMaterialRepository;
+import com.store.demo.repository.ProjectRepository;
+import com.store.demo.service.dto.InwardImportLineResultDto;
+import com.store.demo.service.dto.InwardImportReportDto;
+import com.store.demo.service.mapper.DtoMapper;
+import com.store.demo.web.error.BadRequestException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports supplier delivery sheets as inward entries. The upload is read record by record and persisted in chunks, each
+ * in its own transaction, so a bad chunk only fails its own lines and memory does not grow with the file. Result line
+ * numbers are the line each record starts on, since a quoted field may span lines.
+ */
+@Service
+public class InwardImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(InwardImportService.class);
+
+    static final String STATUS_IMPORTED = "IMPORTED";
+    static final String STATUS_REJECTED = "REJECTED";
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "materialcode", "deliveredquantity", "invoicequantity", "invoicenumber", "invoicedate", "receivedate");
+
+    private final InwardEntryRepository inwardEntryRepository;
+    private final MaterialRepository materialRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectMaterialRepository projectMaterialRepository;
+    private final StockBalanceService stockBalanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final DtoMapper mapper;
+    private final int chunkSize;
+
+    public InwardImportService(
+            InwardEntryRepository inwardEntryRepository,
+            MaterialRepository materialRepository,
+            ProjectRepository projectRepository,
+            ProjectMaterialRepository projectMaterialRepository,
+            StockBalanceService stockBalanceService,
+            PlatformTransactionManager transactionManager,
+            DtoMapper mapper,
+            @Value("${app.inventory.import.chunk-size:500}") int chunkSize) {
+        this.inwardEntryRepository = inwardEntryRepository;
+        this.materialRepository = materialRepository;
+        this.projectRepository = projectRepository;
+        this.projectMaterialRepository = projectMaterialRepository;
+        this.stockBalanceService = stockBalanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mapper = mapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public InwardImportReportDto importCsv(InputStream input) {
+        long start = System.nanoTime();
+        Map<String, Long> materialIds = codeIndex(materialRepository.findAllCodes());
+        Map<String, Long> projectIds = codeIndex(projectRepository.findAllCodes());
+        Set<String> links = new HashSet<>();
+        projectMaterialRepository.findAllKeys()
+                .forEach(key -> links.add(linkKey(key.getProjectId(), key.getMaterialId())));
+
+        List<InwardImportLineResultDto> results = new ArrayList<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long totalLines = 0;
+        try (Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            CsvRecordReader records = new CsvRecordReader(reader);
+            List<String> header = records.next();
+            if (header == null) {
+                throw new BadRequestException("Import file is empty");
+            }
+            Map<String, Integer> columns = readHeader(header);
+            while (true) {
+                List<String> values;
+                try {
+                    values = records.next();
+                } catch (BadRequestException | IOException ex) {
+                    // Earlier chunks are already committed, so the unreadable rest of the file is reported rather
+                    // than thrown, and a retry can resubmit just those lines.
+                    totalLines++;
+                    results.add(new InwardImportLineResultDto(records.recordLine(), STATUS_REJECTED, null,
+                            "Rest of file not imported: " + ex.getMessage()));
+                    break;
+                }
+                if (values == null) {
+                    break;
+                }
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                totalLines++;
+                long lineNumber = records.recordLine();
+                try {
+                    chunk.add(parseRow(lineNumber, values, columns, materialIds, projectIds, links));
+                } catch (BadRequestException ex) {
+                    results.add(new InwardImportLineResultDto(lineNumber, STATUS_REJECTED, null, ex.getMessage()));
+                }
+                if (chunk.size() >= chunkSize) {
+                    results.addAll(persistChunk(chunk));
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new BadRequestException("Unable to read import file: " + ex.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(persistChunk(chunk));
+        }
+
+        results.sort(Comparator.comparingLong(InwardImportLineResultDto::lineNumber));
+        long imported = results.stream().filter(result -> STATUS_IMPORTED.equals(result.status())).count();
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos > 0 ? totalLines * 1_000_000_000.0 / elapsedNanos : 0.0;
+        log.info("Imported {} of {} inward lines in {} ms ({} rows/s)",
+                imported, totalLines, elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+        return new InwardImportReportDto(
+                totalLines, imported, totalLines - imported, elapsedNanos / 1_000_000, rowsPerSecond, results);
+    }
+
+    private List<InwardImportLineResultDto> persistChunk(List<ImportRow> rows) {
+        try {
+            return transactionTemplate.execute(status -> {
+                OffsetDateTime now = mapper.now();
+                List<InwardEntry> entries = new ArrayList<>(rows.size());
+                for (ImportRow row : rows) {
+                    entries.add(toEntry(row, now));
+                }
+                entries = inwardEntryRepository.saveAll(entries);
+                stockBalanceService.applyInwards(entries);
+                List<InwardImportLineResultDto> imported = new ArrayList<>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    imported.add(new InwardImportLineResultDto(
+                            rows.get(i).lineNumber(), STATUS_IMPORTED, entries.get(i).getId(), null));
+                }
+                return imported;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Inward import chunk of {} lines failed", rows.size(), ex);
+            return rows.stream()
+                    .map(row -> new InwardImportLineResultDto(
+                            row.lineNumber(), STATUS_REJECTED, null, "Chunk failed: " + ex.getMessage()))
+                    .toList();
+        }
+    }
+
+    private InwardEntry toEntry(ImportRow row, OffsetDateTime now) {
+        InwardEntry entry = new InwardEntry();
+        if (row.projectId() != null) {
+            entry.setProject(projectRepository.getReferenceById(row.projectId()));
+        }
+        entry.setMaterial(materialRepository.getReferenceById(row.materialId()));
+        entry.setQuantity(row.quantity());
+        entry.setRemainingQuantity(row.quantity());
+        entry.setMovementTime(row.receiveDate().atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime());
+        entry.setInvoiceNumber(row.invoiceNumber());
+        entry.setInvoiceDate(row.invoiceDate());
+        entry.setReceiveDate(row.receiveDate());
+        entry.setInvoiceQuantity(row.invoiceQuantity());
+        entry.setVehicleNumber(row.vehicleNumber());
+        entry.setSupplier(row.supplierName());
+        entry.setReference(row.invoiceNumber());
+        entry.setRemarks(row.remarks());
+        entry.setCreatedAt(now);
+        return entry;
+    }
+
+    private ImportRow parseRow(
+            long lineNumber,
+            List<String> values,
+            Map<String, Integer> columns,
+            Map<String, Long> materialIds,
+            Map<String, Long> projectIds,
+            Set<String> links) {
+        String materialCode = value(values, columns, "materialcode");
+        if (materialCode == null) {
+            throw new BadRequestException("Material code is required");
+        }
+        Long materialId = materialIds.get(normalizeCode(materialCode));
+        if (materialId == null) {
+            throw new BadRequestException("Unknown material code: " + materialCode);
+        }
+        Long projectId = null;
+        String projectCode = value(values, columns, "projectcode");
+        if (projectCode != null) {
+            projectId = projectIds.get(normalizeCode(projectCode));
+            if (projectId == null) {
+                throw new BadRequestException("Unknown project code: " + projectCode);
+            }
+            if (!links.contains(linkKey(projectId, materialId))) {
+                throw new BadRequestException("Material is not linked with project");
+            }
+        }
+        String invoiceNumber = value(values, columns, "invoicenumber");
+        if (invoiceNumber == null) {
+            throw new BadRequestException("Invoice number is required");
+        }
+        return new ImportRow(
+                lineNumber,
+                projectId,
+                materialId,
+                quantity(value(values, columns, "deliveredquantity"), "Delivered quantity"),
+                quantity(value(values, columns, "invoicequantity"), "Invoice quantity"),
+                invoiceNumber,
+                date(value(values, columns, "invoicedate"), "Invoice date"),
+                date(value(values, columns, "receivedate"), "Receiving date"),
+                value(values, columns, "vehiclenumber"),
+                value(values, columns, "suppliername"),
+                value(values, columns, "remarks"));
+    }
+
+    private Map<String, Integer> readHeader(List<String> names) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = i == 0 && names.get(i).startsWith("\uFEFF") ? names.get(i).substring(1) : names.get(i);
+            columns.put(name.trim().replace("_", "").toLowerCase(Locale.ENGLISH), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Import file is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private String value(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String trimmed = values.get(index).trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private BigDecimal quantity(String value, String label) {
+        if (value == null) {
+            throw new BadRequestException(label + " is required");
+        }
+        try {
+            BigDecimal quantity = new BigDecimal(value).setScale(3, RoundingMode.HALF_UP);
+            if (quantity.signum() <= 0) {
+                throw new BadRequestException(label + " must be positive");
+            }
+            return quantity;
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException(label + " is not a number: " + value);
+        }
+    }
+
+    private LocalDate date(String value, String label) {
+        if (value == null) {
+            throw new BadRequestException(label + " is required");
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException(label + " must be in yyyy-MM-dd format: " + value);
+        }
+    }
+
+    private Map<String, Long> codeIndex(List<CodeReference> references) {
+        Map<String, Long> index = new HashMap<>(references.size() * 2);
+        references.forEach(reference -> index.put(normalizeCode(reference.getCode()), reference.getId()));
+        return index;
+    }
+
+    private String normalizeCode(String code) {
+        return code.trim().toUpperCase(Locale.ENGLISH);
+    }
+
+    private String linkKey(Long projectId, Long materialId) {
+        return (projectId != null ? projectId : StockBalance.GENERAL_SCOPE) + ":" + materialId;
+    }
+
+    private record ImportRow(
+            long lineNumber,
+            Long projectId,
+            Long materialId,
+            BigDecimal quantity,
+            BigDecimal invoiceQuantity,
+            String invoiceNumber,
+            LocalDate invoiceDate,
+            LocalDate receiveDate,
+            String vehicleNumber,
+            String supplierName,
+            String remarks) {}
+}
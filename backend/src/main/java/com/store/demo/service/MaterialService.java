@@ -4,21 +4,32 @@ import com.store.demo.domain.InwardEntry;
 import com.store.demo.domain.Material;
 import com.store.demo.repository.InwardEntryRepository;
 import com.store.demo.repository.MaterialRepository;
-import com.store.demo.repository.OutwardEntryRepository;
+import com.store.demo.repository.MaterialStockView;
 import com.store.demo.repository.ProjectMaterialRepository;
 import com.store.demo.service.dto.CreateMaterialCommand;
+import com.store.demo.service.dto.MaterialCatalogQuery;
 import com.store.demo.service.dto.MaterialDto;
 import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.PageDto;
 import com.store.demo.service.dto.UpdateMaterialCommand;
+import com.store.demo.service.event.CatalogChangedEvent;
 import com.store.demo.service.mapper.DtoMapper;
 import com.store.demo.web.error.BadRequestException;
 import com.store.demo.web.error.ResourceNotFoundException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,23 +37,29 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class MaterialService {
 
+    private static final int DEFAULT_CATALOG_PAGE_SIZE = 50;
+    private static final int MAX_CATALOG_PAGE_SIZE = 200;
+    private static final Set<String> CATALOG_SORTS = Set.of("name", "code", "category", "updatedAt", "onHandQuantity");
+
     private final MaterialRepository materialRepository;
     private final ProjectMaterialRepository projectMaterialRepository;
     private final InwardEntryRepository inwardEntryRepository;
-    private final OutwardEntryRepository outwardEntryRepository;
+    private final StockBalanceService stockBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
     private final DtoMapper mapper;
-    private final ProjectMaterialRepository projectMaterialRepository;
 
     public MaterialService(
             MaterialRepository materialRepository,
             ProjectMaterialRepository projectMaterialRepository,
             InwardEntryRepository inwardEntryRepository,
-            OutwardEntryRepository outwardEntryRepository,
+            StockBalanceService stockBalanceService,
+            ApplicationEventPublisher eventPublisher,
             DtoMapper mapper) {
         this.materialRepository = materialRepository;
         this.projectMaterialRepository = projectMaterialRepository;
         this.inwardEntryRepository = inwardEntryRepository;
-        this.outwardEntryRepository = outwardEntryRepository;
+        this.stockBalanceService = stockBalanceService;
+        this.eventPublisher = eventPublisher;
         this.mapper = mapper;
     }
 
@@ -53,11 +70,37 @@ public class MaterialService {
 
     @Transactional(readOnly = true)
     public List<MaterialSummaryDto> findAllWithStock() {
-        return materialRepository.findAll().stream().map(this::toSummary).collect(Collectors.toList());
+        return materialRepository.findAllWithOnHand().stream().map(this::toSummary).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public PageDto<MaterialSummaryDto> findCatalog(MaterialCatalogQuery query) {
+        int page = query.page() != null ? query.page() : 0;
+        int size = query.size() != null ? query.size() : DEFAULT_CATALOG_PAGE_SIZE;
+        if (page < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_CATALOG_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CATALOG_PAGE_SIZE);
+        }
+        String category = normalizeOptional(query.category());
+        String codePrefix = normalizeOptional(query.codePrefix());
+        Page<MaterialStockView> result = materialRepository.findCatalog(
+                category != null ? category.toLowerCase(Locale.ROOT) : null,
+                codePrefix != null ? likePrefix(codePrefix.toLowerCase(Locale.ROOT)) : null,
+                query.lowStock(),
+                PageRequest.of(page, size, catalogSort(query.sort())));
+        return new PageDto<>(
+                result.getContent().stream().map(this::toSummary).toList(),
+                result.getNumber(),
+                result.getSize(),
+                result.getTotalElements(),
+                result.getTotalPages());
     }
 
     public MaterialSummaryDto create(CreateMaterialCommand command) {
         validateMaterialInput(command.name(), command.code());
+        validateMinimumStock(command.minimumStock());
         if (materialRepository.existsByCodeIgnoreCase(command.code())) {
             throw new BadRequestException("Material drawing number already exists");
         }
@@ -67,6 +110,7 @@ public class MaterialService {
         material.setName(command.name().trim());
         material.setUnit(normalizeOptional(command.unit()));
         material.setCategory(normalizeOptional(command.category()));
+        material.setMinimumStock(command.minimumStock());
         material.setCreatedAt(now);
         material.setUpdatedAt(now);
         material = materialRepository.save(material);
@@ -75,6 +119,8 @@ public class MaterialService {
         if (initialQuantity != null && initialQuantity > 0) {
             createInitialStockEntry(material, initialQuantity, now);
         }
+        // After the opening stock: a new low-stock watch reads the on-hand total, so it must not also apply that delta.
+        publishMaterialChange(material, CatalogChangedEvent.Change.CREATED);
 
         return toSummary(material);
     }
@@ -93,11 +139,13 @@ public class MaterialService {
         entry.setSupplier("Opening Balance");
         entry.setReference("Initial Stock");
         entry.setCreatedAt(now);
-        inwardEntryRepository.save(entry);
+        entry = inwardEntryRepository.save(entry);
+        stockBalanceService.applyInward(entry);
     }
 
     public MaterialSummaryDto update(Long materialId, UpdateMaterialCommand command) {
         validateMaterialInput(command.name(), command.code());
+        validateMinimumStock(command.minimumStock());
         Material material = getMaterialEntity(materialId);
         if (materialRepository.existsByCodeIgnoreCaseAndIdNot(command.code(), materialId)) {
             throw new BadRequestException("Material drawing number already exists");
@@ -106,8 +154,12 @@ public class MaterialService {
         material.setName(command.name().trim());
         material.setUnit(normalizeOptional(command.unit()));
         material.setCategory(normalizeOptional(command.category()));
+        if (command.minimumStock() != null) {
+            material.setMinimumStock(command.minimumStock());
+        }
         material.setUpdatedAt(mapper.now());
         material = materialRepository.save(material);
+        publishMaterialChange(material, CatalogChangedEvent.Change.UPDATED);
         return toSummary(material);
     }
 
@@ -117,6 +169,12 @@ public class MaterialService {
             throw new BadRequestException("Material is linked to one or more projects");
         }
         materialRepository.delete(material);
+        publishMaterialChange(material, CatalogChangedEvent.Change.DELETED);
+    }
+
+    private void publishMaterialChange(Material material, CatalogChangedEvent.Change change) {
+        eventPublisher.publishEvent(
+                new CatalogChangedEvent(CatalogChangedEvent.Kind.MATERIAL, change, null, material.getId()));
     }
 
     private void validateMaterialInput(String name, String code) {
@@ -128,6 +186,12 @@ public class MaterialService {
         }
     }
 
+    private void validateMinimumStock(Integer minimumStock) {
+        if (minimumStock != null && minimumStock < 0) {
+            throw new BadRequestException("Minimum stock cannot be negative");
+        }
+    }
+
     private String normalizeOptional(String value) {
         if (value == null) {
             return null;
@@ -147,12 +211,52 @@ public class MaterialService {
                 .orElseThrow(() -> new ResourceNotFoundException("Material not found: " + id));
     }
 
+    public Map<Long, Material> getMaterialEntities(Collection<Long> ids) {
+        Map<Long, Material> materials = new HashMap<>();
+        for (Material material : materialRepository.findAllById(ids)) {
+            materials.put(material.getId(), material);
+        }
+        for (Long id : ids) {
+            if (!materials.containsKey(id)) {
+                throw new ResourceNotFoundException("Material not found: " + id);
+            }
+        }
+        return materials;
+    }
+
+    private Sort catalogSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("name").and(Sort.by("id"));
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!CATALOG_SORTS.contains(property)) {
+            throw new BadRequestException("Unsupported sort: " + property);
+        }
+        Sort.Direction direction = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        return Sort.by(direction, property).and(Sort.by("id"));
+    }
+
+    private String likePrefix(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private MaterialSummaryDto toSummary(MaterialStockView view) {
+        return new MaterialSummaryDto(
+                view.getId(),
+                view.getCode(),
+                view.getName(),
+                view.getUnit(),
+                view.getCategory(),
+                view.getCreatedAt(),
+                view.getUpdatedAt(),
+                view.getOnHandQuantity().doubleValue());
+    }
+
     private MaterialSummaryDto toSummary(Material material) {
-        BigDecimal totalIn = Optional.ofNullable(inwardEntryRepository.sumQuantityByMaterial(material))
-                .orElse(BigDecimal.ZERO);
-        BigDecimal totalOut = Optional.ofNullable(outwardEntryRepository.sumQuantityByMaterial(material))
-                .orElse(BigDecimal.ZERO);
-        double onHand = totalIn.subtract(totalOut).doubleValue();
+        double onHand = stockBalanceService.getOnHandQuantity(material).doubleValue();
         return new MaterialSummaryDto(
                 material.getId(),
                 material.getCode(),
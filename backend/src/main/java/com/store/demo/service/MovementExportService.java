@@ -0,0 +1,130 @@
+package com.store.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.demo.repository.MovementFilter;
+import com.store.demo.repository.MovementReadRepository;
+import com.store.demo.repository.MovementRow;
+import com.store.demo.service.dto.MovementExportFormat;
+import com.store.demo.service.dto.MovementReportQuery;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes the movement ledger straight from a database cursor to the response. Each row is encoded and written as soon
+ * as it is read, so heap use stays flat however many rows are exported.
+ */
+@Service
+public class MovementExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER = "type,id,project_id,project_name,material_id,material_code,material_name,"
+            + "quantity,movement_time,invoice_number,invoice_date,receive_date,invoice_quantity,vehicle_number,supplier,"
+            + "handover_date,handover_name,handover_designation,store_incharge_name,remaining_quantity,remarks";
+
+    private final MovementReadRepository movementReadRepository;
+    private final InventoryService inventoryService;
+    private final ObjectMapper objectMapper;
+
+    public MovementExportService(
+            MovementReadRepository movementReadRepository,
+            InventoryService inventoryService,
+            ObjectMapper objectMapper) {
+        this.movementReadRepository = movementReadRepository;
+        this.inventoryService = inventoryService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Validates the filter up front so that bad input is reported before any part of the response is committed.
+     */
+    public MovementFilter prepare(MovementReportQuery query) {
+        return inventoryService.toMovementFilter(query);
+    }
+
+    public void export(MovementFilter filter, MovementExportFormat format, boolean gzip, OutputStream output)
+            throws IOException {
+        GZIPOutputStream gzipOutput = gzip ? new GZIPOutputStream(output, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzipOutput != null ? gzipOutput : output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == MovementExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            movementReadRepository.streamAll(filter, row -> {
+                try {
+                    if (format == MovementExportFormat.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+        if (gzipOutput != null) {
+            gzipOutput.finish();
+        }
+    }
+
+    private void writeCsv(Writer writer, MovementRow row) throws IOException {
+        Object[] values = {
+                row.type(),
+                row.id(),
+                row.projectId(),
+                row.projectName(),
+                row.materialId(),
+                row.materialCode(),
+                row.materialName(),
+                row.quantity(),
+                row.movementTime(),
+                row.invoiceNumber(),
+                row.invoiceDate(),
+                row.receiveDate(),
+                row.invoiceQuantity(),
+                row.vehicleNumber(),
+                row.supplierName(),
+                row.handoverDate(),
+                row.handoverName(),
+                row.handoverDesignation(),
+                row.storeInchargeName(),
+                row.remainingQuantity(),
+                row.remarks()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
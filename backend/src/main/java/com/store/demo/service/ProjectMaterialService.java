@@ -5,9 +5,11 @@ import com.store.demo.domain.Project;
 import com.store.demo.domain.ProjectMaterial;
 import com.store.demo.repository.ProjectMaterialRepository;
 import com.store.demo.service.dto.LinkMaterialCommand;
+import com.store.demo.service.event.CatalogChangedEvent;
 import com.store.demo.web.error.BadRequestException;
 import com.store.demo.web.error.ResourceNotFoundException;
 import java.util.List;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,13 +20,17 @@ public class ProjectMaterialService {
     private final ProjectMaterialRepository projectMaterialRepository;
     private final ProjectService projectService;
     private final MaterialService materialService;
+    private final ApplicationEventPublisher eventPublisher;
+
     public ProjectMaterialService(
             ProjectMaterialRepository projectMaterialRepository,
             ProjectService projectService,
-            MaterialService materialService) {
+            MaterialService materialService,
+            ApplicationEventPublisher eventPublisher) {
         this.projectMaterialRepository = projectMaterialRepository;
         this.projectService = projectService;
         this.materialService = materialService;
+        this.eventPublisher = eventPublisher;
     }
 
     public void linkMaterial(LinkMaterialCommand command) {
@@ -37,6 +43,11 @@ public class ProjectMaterialService {
         projectMaterial.setProject(project);
         projectMaterial.setMaterial(material);
         projectMaterialRepository.save(projectMaterial);
+        eventPublisher.publishEvent(new CatalogChangedEvent(
+                CatalogChangedEvent.Kind.PROJECT_MATERIAL,
+                CatalogChangedEvent.Change.CREATED,
+                project.getId(),
+                material.getId()));
     }
 
     public void unlinkMaterial(Long projectId, Long materialId) {
@@ -47,6 +58,11 @@ public class ProjectMaterialService {
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Material not linked with project"));
         projectMaterialRepository.delete(projectMaterial);
+        eventPublisher.publishEvent(new CatalogChangedEvent(
+                CatalogChangedEvent.Kind.PROJECT_MATERIAL,
+                CatalogChangedEvent.Change.DELETED,
+                project.getId(),
+                material.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -4,12 +4,14 @@ import com.store.demo.domain.Project;
 import com.store.demo.repository.ProjectRepository;
 import com.store.demo.service.dto.CreateProjectCommand;
 import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.event.CatalogChangedEvent;
 import com.store.demo.service.mapper.DtoMapper;
 import com.store.demo.web.error.BadRequestException;
 import com.store.demo.web.error.ResourceNotFoundException;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +20,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final DtoMapper mapper;
 
-    public ProjectService(ProjectRepository projectRepository, DtoMapper mapper) {
+    public ProjectService(
+            ProjectRepository projectRepository, ApplicationEventPublisher eventPublisher, DtoMapper mapper) {
         this.projectRepository = projectRepository;
+        this.eventPublisher = eventPublisher;
         this.mapper = mapper;
     }
 
@@ -48,6 +53,8 @@ public class ProjectService {
         project.setCreatedAt(now);
         project.setUpdatedAt(now);
         project = projectRepository.save(project);
+        eventPublisher.publishEvent(new CatalogChangedEvent(
+                CatalogChangedEvent.Kind.PROJECT, CatalogChangedEvent.Change.CREATED, project.getId(), null));
         return mapper.toProjectDto(project);
     }
 
@@ -0,0 +1,289 @@
+package com.store.demo.service;
+
+import com.store.demo.domain.InwardEntry;
+import com.store.demo.domain.Material;
+import com.store.demo.domain.OutwardEntry;
+import com.store.demo.domain.Project;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.repository.InwardEntryRepository;
+import com.store.demo.repository.MaterialBalance;
+import com.store.demo.repository.MaterialRepository;
+import com.store.demo.repository.MovementTotals;
+import com.store.demo.repository.OutwardEntryRepository;
+import com.store.demo.repository.StockBalanceRepository;
+import com.store.demo.service.allocation.AllocationMetrics;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.MovementsAppliedEvent;
+import com.store.demo.service.event.StockBalancesRebuiltEvent;
+import com.store.demo.service.mapper.DtoMapper;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the {@link StockBalance} read model. Every movement must be applied here inside the transaction that
+ * persists it, so that stats can be served from a single row instead of re-aggregating the movement history.
+ */
+@Service
+@Transactional
+public class StockBalanceService {
+
+    private final StockBalanceRepository stockBalanceRepository;
+    private final InwardEntryRepository inwardEntryRepository;
+    private final OutwardEntryRepository outwardEntryRepository;
+    private final MaterialRepository materialRepository;
+    private final AllocationMetrics allocationMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DtoMapper mapper;
+    private final boolean pessimisticLocking;
+
+    public StockBalanceService(
+            StockBalanceRepository stockBalanceRepository,
+            InwardEntryRepository inwardEntryRepository,
+            OutwardEntryRepository outwardEntryRepository,
+            MaterialRepository materialRepository,
+            AllocationMetrics allocationMetrics,
+            ApplicationEventPublisher eventPublisher,
+            DtoMapper mapper,
+            @Value("${app.inventory.allocation.pessimistic-locking:true}") boolean pessimisticLocking) {
+        this.stockBalanceRepository = stockBalanceRepository;
+        this.inwardEntryRepository = inwardEntryRepository;
+        this.outwardEntryRepository = outwardEntryRepository;
+        this.materialRepository = materialRepository;
+        this.allocationMetrics = allocationMetrics;
+        this.eventPublisher = eventPublisher;
+        this.mapper = mapper;
+        this.pessimisticLocking = pessimisticLocking;
+    }
+
+    public static long scopeOf(Project project) {
+        return project != null ? project.getId() : StockBalance.GENERAL_SCOPE;
+    }
+
+    public boolean isPessimisticLocking() {
+        return pessimisticLocking;
+    }
+
+    /** Locks the existing balance row before FIFO allocation reads any batch; no row is created. */
+    public Optional<StockBalance> lockForAllocation(Project project, Material material) {
+        return findLocked(scopeOf(project), material);
+    }
+
+    public void applyInward(InwardEntry entry) {
+        applyInwards(List.of(entry));
+    }
+
+    /** Applies several inwards, locking each balance row once, in (scope, material) order. */
+    public void applyInwards(List<InwardEntry> entries) {
+        Map<BalanceKey, List<InwardEntry>> groups = new TreeMap<>();
+        for (InwardEntry entry : entries) {
+            groups.computeIfAbsent(new BalanceKey(scopeOf(entry.getProject()), entry.getMaterial().getId()),
+                    key -> new ArrayList<>()).add(entry);
+        }
+        OffsetDateTime now = mapper.now();
+        for (List<InwardEntry> group : groups.values()) {
+            InwardEntry first = group.get(0);
+            StockBalance balance = loadOrCreate(scopeOf(first.getProject()), first.getMaterial());
+            BigDecimal quantity = balance.getTotalInQuantity();
+            BigDecimal weight = balance.getTotalInWeight();
+            long units = balance.getTotalInUnits();
+            OffsetDateTime lastInTime = balance.getLastInTime();
+            for (InwardEntry entry : group) {
+                quantity = quantity.add(entry.getQuantity());
+                weight = weight.add(orZero(entry.getWeightTons()));
+                units += entry.getUnitsCount() != null ? entry.getUnitsCount() : 0L;
+                lastInTime = latest(lastInTime, entry.getMovementTime());
+            }
+            balance.setTotalInQuantity(quantity);
+            balance.setTotalInWeight(weight);
+            balance.setTotalInUnits(units);
+            balance.setLastInTime(lastInTime);
+            balance.setUpdatedAt(now);
+        }
+        List<MovementRecordedEvent> movements = new ArrayList<>(entries.size());
+        for (InwardEntry entry : entries) {
+            movements.add(new MovementRecordedEvent(
+                    MovementRecordedEvent.IN,
+                    entry.getId(),
+                    scopeOf(entry.getProject()),
+                    entry.getMaterial().getId(),
+                    entry.getQuantity(),
+                    orZero(entry.getWeightTons()),
+                    entry.getUnitsCount() != null ? entry.getUnitsCount() : 0L,
+                    entry.getMovementTime(),
+                    entry.getSupplier(),
+                    entry.getVehicleNumber()));
+        }
+        publish(movements);
+    }
+
+    /** Applies an outward to the row already returned by {@link #lockForAllocation} in this transaction. */
+    public void applyOutward(OutwardEntry entry, StockBalance balance) {
+        balance.setTotalOutQuantity(balance.getTotalOutQuantity().add(entry.getQuantity()));
+        if (entry.getWeightTons() != null) {
+            balance.setTotalOutWeight(balance.getTotalOutWeight().add(entry.getWeightTons()));
+        }
+        if (entry.getUnitsCount() != null) {
+            balance.setTotalOutUnits(balance.getTotalOutUnits() + entry.getUnitsCount());
+        }
+        balance.setLastOutTime(latest(balance.getLastOutTime(), entry.getMovementTime()));
+        balance.setUpdatedAt(mapper.now());
+        publish(List.of(new MovementRecordedEvent(
+                MovementRecordedEvent.OUT,
+                entry.getId(),
+                balance.getScopeId(),
+                entry.getMaterial().getId(),
+                entry.getQuantity(),
+                orZero(entry.getWeightTons()),
+                entry.getUnitsCount() != null ? entry.getUnitsCount() : 0L,
+                entry.getMovementTime(),
+                null,
+                null)));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StockBalance> find(Project project, Material material) {
+        return stockBalanceRepository.findByScopeIdAndMaterial(scopeOf(project), material);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MaterialBalance> findLinkedMaterialBalances(Project project) {
+        return stockBalanceRepository.findLinkedMaterialBalances(project.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<MaterialBalance> findGeneralStoreBalances() {
+        return stockBalanceRepository.findScopeBalancesOrderByMaterialName(StockBalance.GENERAL_SCOPE);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getOnHandQuantity(Material material) {
+        return Optional.ofNullable(stockBalanceRepository.sumOnHandByMaterial(material)).orElse(BigDecimal.ZERO);
+    }
+
+    /** Locks every balance row, in id order, until the current transaction ends. */
+    public List<StockBalance> lockAll() {
+        return stockBalanceRepository.findAllForUpdate();
+    }
+
+    /** Recomputes every balance row from the full movement history, for initial population and repairing drift. */
+    public long rebuildFromHistory() {
+        // Rows are locked first and overwritten in place, so a waiting writer applies its delta to the rebuilt value.
+        Map<String, StockBalance> stale = new HashMap<>();
+        for (StockBalance balance : lockAll()) {
+            stale.put(key(balance.getScopeId(), balance.getMaterial().getId()), balance);
+        }
+        OffsetDateTime now = mapper.now();
+        Map<String, StockBalance> balances = new LinkedHashMap<>();
+        for (MovementTotals totals : inwardEntryRepository.sumByProjectAndMaterial()) {
+            StockBalance balance = balances.computeIfAbsent(key(totals), k -> claim(stale, k, totals, now));
+            balance.setTotalInQuantity(orZero(totals.getQuantity()));
+            balance.setTotalInWeight(orZero(totals.getWeight()));
+            balance.setTotalInUnits(totals.getUnits() != null ? totals.getUnits() : 0L);
+            balance.setLastInTime(totals.getLastMovementTime());
+        }
+        for (MovementTotals totals : outwardEntryRepository.sumByProjectAndMaterial()) {
+            StockBalance balance = balances.computeIfAbsent(key(totals), k -> claim(stale, k, totals, now));
+            balance.setTotalOutQuantity(orZero(totals.getQuantity()));
+            balance.setTotalOutWeight(orZero(totals.getWeight()));
+            balance.setTotalOutUnits(totals.getUnits() != null ? totals.getUnits() : 0L);
+            balance.setLastOutTime(totals.getLastMovementTime());
+        }
+        // Rows left over have no movements at all any more.
+        stockBalanceRepository.deleteAllInBatch(stale.values());
+        stockBalanceRepository.saveAll(balances.values());
+        eventPublisher.publishEvent(new StockBalancesRebuiltEvent(balances.size()));
+        return balances.size();
+    }
+
+    /** One event per movement for after-commit listeners, then the whole list for in-transaction ones. */
+    private void publish(List<MovementRecordedEvent> movements) {
+        movements.forEach(eventPublisher::publishEvent);
+        eventPublisher.publishEvent(new MovementsAppliedEvent(movements));
+    }
+
+    private Optional<StockBalance> findLocked(long scopeId, Material material) {
+        if (!pessimisticLocking) {
+            return stockBalanceRepository.findByScopeIdAndMaterial(scopeId, material);
+        }
+        long start = System.nanoTime();
+        Optional<StockBalance> balance = stockBalanceRepository.findForUpdate(scopeId, material);
+        allocationMetrics.recordLockWait(System.nanoTime() - start);
+        return balance;
+    }
+
+    private StockBalance loadOrCreate(long scopeId, Material material) {
+        return findLocked(scopeId, material)
+                .orElseGet(() -> {
+                    StockBalance balance = new StockBalance();
+                    balance.setScopeId(scopeId);
+                    balance.setMaterial(material);
+                    balance.setUpdatedAt(mapper.now());
+                    return stockBalanceRepository.save(balance);
+                });
+    }
+
+    /** Takes the locked, newly committed or new row to rebuild for one scope and material, with its totals cleared. */
+    private StockBalance claim(Map<String, StockBalance> stale, String key, MovementTotals totals, OffsetDateTime now) {
+        long scopeId = totals.getProjectId() != null ? totals.getProjectId() : StockBalance.GENERAL_SCOPE;
+        Material material = materialRepository.getReferenceById(totals.getMaterialId());
+        StockBalance balance = stale.remove(key);
+        if (balance == null) {
+            balance = stockBalanceRepository.findForUpdate(scopeId, material).orElseGet(() -> {
+                StockBalance created = new StockBalance();
+                created.setScopeId(scopeId);
+                created.setMaterial(material);
+                return created;
+            });
+        }
+        balance.setTotalInQuantity(BigDecimal.ZERO);
+        balance.setTotalInWeight(BigDecimal.ZERO);
+        balance.setTotalInUnits(0L);
+        balance.setLastInTime(null);
+        balance.setTotalOutQuantity(BigDecimal.ZERO);
+        balance.setTotalOutWeight(BigDecimal.ZERO);
+        balance.setTotalOutUnits(0L);
+        balance.setLastOutTime(null);
+        balance.setUpdatedAt(now);
+        return balance;
+    }
+
+    private String key(MovementTotals totals) {
+        long scopeId = totals.getProjectId() != null ? totals.getProjectId() : StockBalance.GENERAL_SCOPE;
+        return key(scopeId, totals.getMaterialId());
+    }
+
+    private String key(long scopeId, Long materialId) {
+        return scopeId + ":" + materialId;
+    }
+
+    private OffsetDateTime latest(OffsetDateTime current, OffsetDateTime candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        return candidate != null && candidate.isAfter(current) ? candidate : current;
+    }
+
+    private BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private record BalanceKey(long scopeId, long materialId) implements Comparable<BalanceKey> {
+
+        @Override
+        public int compareTo(BalanceKey other) {
+            int byScope = Long.compare(scopeId, other.scopeId);
+            return byScope != 0 ? byScope : Long.compare(materialId, other.materialId);
+        }
+    }
+}
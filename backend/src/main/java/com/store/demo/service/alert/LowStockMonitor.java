@@ -0,0 +1,226 @@
+package com.store.demo.service.alert;
+
+import com.store.demo.domain.Material;
+import com.store.demo.domain.Quantity;
+import com.store.demo.repository.MaterialRepository;
+import com.store.demo.repository.MaterialStockView;
+import com.store.demo.repository.StockBalanceRepository;
+import com.store.demo.service.dto.LowStockAlertDto;
+import com.store.demo.service.event.CatalogChangedEvent;
+import com.store.demo.service.event.LowStockChangedEvent;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.StockBalancesRebuiltEvent;
+import com.store.demo.service.mapper.DtoMapper;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** Tracks materials strictly below their minimum stock, publishing a {@link LowStockChangedEvent} on each crossing. */
+@Component
+public class LowStockMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    private static final Comparator<LowStockAlertDto> BY_SHORTAGE =
+            Comparator.comparingDouble(LowStockAlertDto::shortage).reversed()
+                    .thenComparing(LowStockAlertDto::code, String.CASE_INSENSITIVE_ORDER);
+
+    private final MaterialRepository materialRepository;
+    private final StockBalanceRepository stockBalanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DtoMapper mapper;
+
+    private final Map<Long, Watch> watches = new ConcurrentHashMap<>();
+    private final Map<Long, Watch> alerts = new ConcurrentHashMap<>();
+
+    public LowStockMonitor(
+            MaterialRepository materialRepository,
+            StockBalanceRepository stockBalanceRepository,
+            ApplicationEventPublisher eventPublisher,
+            DtoMapper mapper) {
+        this.materialRepository = materialRepository;
+        this.stockBalanceRepository = stockBalanceRepository;
+        this.eventPublisher = eventPublisher;
+        this.mapper = mapper;
+    }
+
+    /** Current low-stock materials, largest shortage first. */
+    public List<LowStockAlertDto> getAlerts() {
+        List<LowStockAlertDto> result = new ArrayList<>(alerts.size());
+        for (Watch watch : alerts.values()) {
+            result.add(watch.toDto());
+        }
+        result.sort(BY_SHORTAGE);
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovementRecorded(MovementRecordedEvent event) {
+        Long materialId = event.materialId();
+        if (!watches.containsKey(materialId)) {
+            return;
+        }
+        Quantity delta = Quantity.of(event.quantity());
+        Quantity signed = event.isInward() ? delta : Quantity.ZERO.minus(delta);
+        update(materialId, watch -> watch != null ? watch.withOnHand(watch.onHand().plus(signed)) : null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.kind() != CatalogChangedEvent.Kind.MATERIAL || event.materialId() == null) {
+            return;
+        }
+        Long materialId = event.materialId();
+        Material material = event.change() == CatalogChangedEvent.Change.DELETED
+                ? null
+                : materialRepository.findById(materialId).orElse(null);
+        if (material == null || material.getMinimumStock() == null) {
+            update(materialId, watch -> null);
+            return;
+        }
+        // A material already watched keeps the on-hand its movements have been applied to; only new watches read it.
+        Quantity onHand = watches.containsKey(materialId)
+                ? null
+                : Quantity.of(stockBalanceRepository.sumOnHandByMaterialId(materialId));
+        update(materialId, watch -> Watch.of(material, watch != null ? watch.onHand()
+                : onHand != null ? onHand : Quantity.of(stockBalanceRepository.sumOnHandByMaterialId(materialId)),
+                watch));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalancesRebuilt(StockBalancesRebuiltEvent event) {
+        reloadAll();
+    }
+
+    private void reloadAll() {
+        Set<Long> seen = new HashSet<>();
+        for (MaterialStockView view : materialRepository.findAllWithOnHand()) {
+            if (view.getMinimumStock() == null) {
+                continue;
+            }
+            seen.add(view.getId());
+            update(view.getId(), watch -> Watch.of(view, watch));
+        }
+        for (Long materialId : List.copyOf(watches.keySet())) {
+            if (!seen.contains(materialId)) {
+                update(materialId, watch -> null);
+            }
+        }
+        log.info("Watching {} materials with a minimum stock, {} below it", watches.size(), alerts.size());
+    }
+
+    /** Applies a change to one material's watch and publishes any crossing; a {@code null} result stops watching. */
+    private void update(Long materialId, UnaryOperator<Watch> change) {
+        LowStockChangedEvent[] crossing = new LowStockChangedEvent[1];
+        watches.compute(materialId, (id, previous) -> {
+            Watch next = change.apply(previous);
+            boolean wasLow = previous != null && previous.isLow();
+            boolean isLow = next != null && next.isLow();
+            if (isLow) {
+                next = next.withLowSince(wasLow ? previous.lowSince() : mapper.now());
+                alerts.put(id, next);
+            } else {
+                if (next != null && next.lowSince() != null) {
+                    next = next.withLowSince(null);
+                }
+                alerts.remove(id);
+            }
+            if (next != null && wasLow != isLow) {
+                crossing[0] = new LowStockChangedEvent(
+                        id, isLow, next.onHand().toBigDecimal(), next.minimumStock());
+            }
+            return next;
+        });
+        if (crossing[0] != null) {
+            LowStockChangedEvent event = crossing[0];
+            log.info("Material {} {} minimum stock {} with {} on hand",
+                    event.materialId(), event.low() ? "fell below" : "recovered to",
+                    event.minimumStock(), event.onHandQuantity());
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private record Watch(
+            Long materialId,
+            String code,
+            String name,
+            String unit,
+            String category,
+            int minimumStock,
+            Quantity onHand,
+            OffsetDateTime lowSince) {
+
+        private static Watch of(Material material, Quantity onHand, Watch previous) {
+            return new Watch(
+                    material.getId(),
+                    material.getCode(),
+                    material.getName(),
+                    material.getUnit(),
+                    material.getCategory(),
+                    material.getMinimumStock(),
+                    onHand,
+                    previous != null ? previous.lowSince() : null);
+        }
+
+        private static Watch of(MaterialStockView view, Watch previous) {
+            return new Watch(
+                    view.getId(),
+                    view.getCode(),
+                    view.getName(),
+                    view.getUnit(),
+                    view.getCategory(),
+                    view.getMinimumStock(),
+                    Quantity.of(view.getOnHandQuantity()),
+                    previous != null ? previous.lowSince() : null);
+        }
+
+        private Quantity minimum() {
+            return Quantity.of(BigDecimal.valueOf(minimumStock));
+        }
+
+        private boolean isLow() {
+            return onHand.compareTo(minimum()) < 0;
+        }
+
+        private Watch withOnHand(Quantity value) {
+            return new Watch(materialId, code, name, unit, category, minimumStock, value, lowSince);
+        }
+
+        private Watch withLowSince(OffsetDateTime value) {
+            return new Watch(materialId, code, name, unit, category, minimumStock, onHand, value);
+        }
+
+        private LowStockAlertDto toDto() {
+            Quantity shortage = minimum().minus(onHand);
+            return new LowStockAlertDto(
+                    materialId,
+                    code,
+                    name,
+                    unit,
+                    category,
+                    minimumStock,
+                    onHand.toDouble(),
+                    shortage.toDouble(),
+                    lowSince);
+        }
+    }
+}
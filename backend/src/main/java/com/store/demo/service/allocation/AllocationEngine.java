@@ -0,0 +1,134 @@
+package com.store.demo.service.allocation;
+
+import com.store.demo.service.InventoryService;
+import com.store.demo.service.StockBalanceService;
+import com.store.demo.service.dto.AllocationStatusDto;
+import com.store.demo.service.dto.IssueSlipCommand;
+import com.store.demo.service.dto.IssueSlipLineCommand;
+import com.store.demo.service.dto.IssueSlipResultDto;
+import com.store.demo.service.dto.MovementDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/** Runs stock-changing commands on their (project, material) lane and retries conflicts a bounded number of times. */
+@Service
+public class AllocationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationEngine.class);
+
+    /** Unique keys of the rows that the first movement of a scope, material or day creates. */
+    private static final List<String> CREATED_ON_DEMAND =
+            List.of("uk_stock_balance_scope_material", "uk_daily_rollup_scope_material_day");
+
+    private final AllocationLanes lanes;
+    private final AllocationMetrics metrics;
+    private final InventoryService inventoryService;
+    private final StockBalanceService stockBalanceService;
+    private final int maxAttempts;
+
+    public AllocationEngine(
+            AllocationLanes lanes,
+            AllocationMetrics metrics,
+            InventoryService inventoryService,
+            StockBalanceService stockBalanceService,
+            @Value("${app.inventory.allocation.max-attempts:3}") int maxAttempts) {
+        this.lanes = lanes;
+        this.metrics = metrics;
+        this.inventoryService = inventoryService;
+        this.stockBalanceService = stockBalanceService;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public MovementDto recordInward(RecordInwardCommand command) {
+        return lanes.execute(
+                command.projectId(), command.materialId(), () -> withRetry(() -> inventoryService.recordInward(command)));
+    }
+
+    public MovementDto recordOutward(RecordOutwardCommand command) {
+        return lanes.execute(
+                command.projectId(), command.materialId(), () -> withRetry(() -> inventoryService.recordOutward(command)));
+    }
+
+    public IssueSlipResultDto recordIssueSlip(IssueSlipCommand command) {
+        List<Long> materialIds = command.lines().stream()
+                .map(IssueSlipLineCommand::materialId)
+                .filter(Objects::nonNull)
+                .toList();
+        return lanes.executeAll(
+                command.projectId(), materialIds, () -> withRetry(() -> inventoryService.recordIssueSlip(command)));
+    }
+
+    public AllocationStatusDto getStatus() {
+        return new AllocationStatusDto(
+                lanes.laneCount(),
+                stockBalanceService.isPessimisticLocking(),
+                maxAttempts,
+                metrics.commands(),
+                metrics.retries(),
+                metrics.retriesExhausted(),
+                metrics.lockAcquisitions(),
+                metrics.averageLockWaitMillis(),
+                metrics.maxLockWaitMillis(),
+                lanes.snapshot());
+    }
+
+    private <T> T withRetry(Supplier<T> action) {
+        metrics.recordCommand();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException ex) {
+                if (ex instanceof DataIntegrityViolationException violation && !isCreateCollision(violation)) {
+                    throw violation;
+                }
+                if (attempt >= maxAttempts) {
+                    metrics.recordRetriesExhausted();
+                    throw ex;
+                }
+                metrics.recordRetry();
+                log.debug("Retrying stock command after conflict (attempt {} of {}): {}", attempt, maxAttempts,
+                        ex.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Whether a constraint failure is two commands creating the same on-demand row at once, which a retry resolves by
+     * finding the row the other one committed. Any other integrity failure is a real error and is not retried.
+     */
+    static boolean isCreateCollision(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                if (violation.getKind() != ConstraintViolationException.ConstraintKind.UNIQUE || name == null) {
+                    return false;
+                }
+                String constraint = name.toLowerCase(Locale.ROOT);
+                return CREATED_ON_DEMAND.stream().anyMatch(constraint::contains);
+            }
+        }
+        return false;
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * attempt);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying stock command", ex);
+        }
+    }
+}
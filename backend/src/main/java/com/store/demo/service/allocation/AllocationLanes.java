@@ -0,0 +1,114 @@
+package com.store.demo.service.allocation;
+
+import com.store.demo.domain.StockBalance;
+import com.store.demo.service.dto.AllocationLaneStatsDto;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Striped single-writer lanes keyed by (scope, material). Commands for the same key run one at a time, in arrival
+ * order; commands whose keys land on different lanes run fully in parallel.
+ */
+@Component
+public class AllocationLanes {
+
+    private final Lane[] lanes;
+
+    public AllocationLanes(@Value("${app.inventory.allocation.lanes:64}") int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("At least one allocation lane is required");
+        }
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    public <T> T execute(Long projectId, Long materialId, Supplier<T> action) {
+        Lane lane = lanes[laneIndex(projectId, materialId)];
+        lane.acquire();
+        try {
+            return action.get();
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs an action that touches several materials of one scope. Lanes are taken in ascending index order and
+     * released in reverse, so two multi-material commands can never deadlock on each other.
+     */
+    public <T> T executeAll(Long projectId, Collection<Long> materialIds, Supplier<T> action) {
+        int[] indexes = materialIds.stream()
+                .mapToInt(materialId -> laneIndex(projectId, materialId))
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                lanes[index].acquire();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                lanes[indexes[i]].lock.unlock();
+            }
+        }
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public List<AllocationLaneStatsDto> snapshot() {
+        List<AllocationLaneStatsDto> stats = new ArrayList<>();
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[i];
+            long acquisitions = lane.acquisitions.sum();
+            int queueDepth = lane.lock.getQueueLength();
+            if (acquisitions == 0 && queueDepth == 0) {
+                continue;
+            }
+            double totalWaitMillis = lane.waitNanos.sum() / 1_000_000.0;
+            stats.add(new AllocationLaneStatsDto(
+                    i,
+                    queueDepth,
+                    acquisitions,
+                    acquisitions > 0 ? totalWaitMillis / acquisitions : 0.0,
+                    lane.maxWaitNanos.get() / 1_000_000.0));
+        }
+        return stats;
+    }
+
+    int laneIndex(Long projectId, Long materialId) {
+        long scopeId = projectId != null ? projectId : StockBalance.GENERAL_SCOPE;
+        long hash = scopeId * 0x9E3779B97F4A7C15L + materialId;
+        hash ^= (hash >>> 32);
+        return Math.floorMod((int) hash, lanes.length);
+    }
+
+    private static final class Lane {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private void acquire() {
+            long start = System.nanoTime();
+            lock.lock();
+            long waited = System.nanoTime() - start;
+            acquisitions.increment();
+            waitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+    }
+}
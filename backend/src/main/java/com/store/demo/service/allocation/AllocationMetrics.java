@@ -0,0 +1,59 @@
+package com.store.demo.service.allocation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AllocationMetrics {
+
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder retriesExhausted = new LongAdder();
+    private final LongAdder lockAcquisitions = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
+    private final AtomicLong maxLockWaitNanos = new AtomicLong();
+
+    public void recordCommand() {
+        commands.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordRetriesExhausted() {
+        retriesExhausted.increment();
+    }
+
+    public void recordLockWait(long nanos) {
+        lockAcquisitions.increment();
+        lockWaitNanos.add(nanos);
+        maxLockWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long commands() {
+        return commands.sum();
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    public long retriesExhausted() {
+        return retriesExhausted.sum();
+    }
+
+    public long lockAcquisitions() {
+        return lockAcquisitions.sum();
+    }
+
+    public double averageLockWaitMillis() {
+        long acquisitions = lockAcquisitions.sum();
+        return acquisitions > 0 ? lockWaitNanos.sum() / 1_000_000.0 / acquisitions : 0.0;
+    }
+
+    public double maxLockWaitMillis() {
+        return maxLockWaitNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,510 @@
+package com.store.demo.service.analytics;
+
+import com.store.demo.domain.Quantity;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.repository.MovementFact;
+import com.store.demo.repository.MovementReadRepository;
+import com.store.demo.repository.MovementRow;
+import com.store.demo.service.dto.ColumnarDimension;
+import com.store.demo.service.dto.ColumnarGroupDto;
+import com.store.demo.service.dto.ColumnarQuery;
+import com.store.demo.service.dto.ColumnarResultDto;
+import com.store.demo.service.dto.ColumnarStatsDto;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.StockBalancesRebuiltEvent;
+import com.store.demo.web.error.BadRequestException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** Optional in-memory column store of every movement, scanned in parallel chunks for ad-hoc admin analytics. */
+@Component
+public class ColumnarMovementStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarMovementStore.class);
+
+    private static final int INITIAL_CAPACITY = 1 << 14;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int MAX_GROUP_DIMENSIONS = 3;
+    private static final int MAX_GROUPS = 10_000;
+    // Group keys pack up to three dimensions of 21 bits each into one long.
+    private static final int KEY_BITS = 21;
+    private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+    private static final int DAY_OFFSET = 1 << 20;
+    private static final int NONE = -1;
+    private static final int ANY = Integer.MIN_VALUE;
+    private static final byte TYPE_IN = 0;
+    private static final byte TYPE_OUT = 1;
+
+    // id, quantity, weight and units (8 bytes each); day, scope, material, supplier and vehicle (4); type (1).
+    // Column arrays only: dictionaries and array headers are not counted, so byte figures are estimates.
+    static final long BYTES_PER_ROW = 4 * 8 + 5 * 4 + 1;
+
+    private static final int IN_COUNT = 0;
+    private static final int OUT_COUNT = 1;
+    private static final int IN_QUANTITY = 2;
+    private static final int OUT_QUANTITY = 3;
+    private static final int IN_WEIGHT = 4;
+    private static final int OUT_WEIGHT = 5;
+    private static final int IN_UNITS = 6;
+    private static final int OUT_UNITS = 7;
+
+    private final MovementReadRepository movementReadRepository;
+    private final boolean enabled;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Object writeLock = new Object();
+    private final Object reloadLock = new Object();
+
+    private volatile Table table;
+    // Movements committed while a reload is streaming; replayed into the new table unless it already saw them.
+    private List<MovementRecordedEvent> pending;
+
+    public ColumnarMovementStore(
+            MovementReadRepository movementReadRepository,
+            @Value("${app.inventory.analytics.columnar.enabled:false}") boolean enabled) {
+        this.movementReadRepository = movementReadRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (reloadLock) {
+            synchronized (writeLock) {
+                pending = new ArrayList<>();
+            }
+            try {
+                long start = System.nanoTime();
+                Table fresh = new Table();
+                movementReadRepository.streamFacts(fact -> fresh.append(
+                        MovementRow.TYPE_OUT.equals(fact.type()) ? TYPE_OUT : TYPE_IN,
+                        fact.id(),
+                        fact.projectId() != null ? fact.projectId() : StockBalance.GENERAL_SCOPE,
+                        fact.materialId(),
+                        fact.movementTime(),
+                        fact.quantity(),
+                        fact.weight(),
+                        fact.units(),
+                        fact.supplier(),
+                        fact.vehicleNumber()));
+                synchronized (writeLock) {
+                    replayPending(fresh);
+                    table = fresh;
+                }
+                log.info("Loaded {} movements into the columnar store in {} ms",
+                        fresh.columns.size, (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                synchronized (writeLock) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovementRecorded(MovementRecordedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            Table current = table;
+            if (current != null) {
+                append(current, event);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalancesRebuilt(StockBalancesRebuiltEvent event) {
+        load();
+    }
+
+    public ColumnarStatsDto stats() {
+        Table current = table;
+        if (current == null) {
+            return new ColumnarStatsDto(enabled, false, 0, 0, 0, BYTES_PER_ROW, 0, 0, BYTES_PER_ROW * 1_000_000L);
+        }
+        Columns columns = current.columns;
+        long rows = columns.size;
+        long capacity = columns.ids.length;
+        return new ColumnarStatsDto(
+                enabled,
+                true,
+                rows,
+                capacity,
+                current.dictionaryEntries(),
+                BYTES_PER_ROW,
+                rows * BYTES_PER_ROW,
+                capacity * BYTES_PER_ROW,
+                BYTES_PER_ROW * 1_000_000L);
+    }
+
+    public ColumnarResultDto query(ColumnarQuery query) {
+        if (!enabled) {
+            throw new BadRequestException("Columnar analytics are disabled");
+        }
+        Table current = table;
+        if (current == null) {
+            throw new BadRequestException("Columnar store is still loading");
+        }
+        List<ColumnarDimension> groupBy = query.groupBy() != null ? query.groupBy() : List.of();
+        if (groupBy.size() > MAX_GROUP_DIMENSIONS) {
+            throw new BadRequestException("At most " + MAX_GROUP_DIMENSIONS + " group-by dimensions are supported");
+        }
+        if (query.fromDate() != null && query.toDate() != null && query.fromDate().isAfter(query.toDate())) {
+            throw new BadRequestException("From date must not be after to date");
+        }
+        long start = System.nanoTime();
+        Columns columns = current.columns;
+        int rows = columns.size;
+        ScanFilter filter = current.resolve(query);
+        if (filter == null) {
+            // A filter value that never occurs cannot match any row.
+            return new ColumnarResultDto(List.of(), rows, 0, (System.nanoTime() - start) / 1_000);
+        }
+        ColumnarDimension[] dimensions = groupBy.toArray(new ColumnarDimension[0]);
+        int chunks = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Partial result = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> scan(columns, chunk * CHUNK_SIZE, Math.min(rows, (chunk + 1) * CHUNK_SIZE),
+                        filter, dimensions))
+                .reduce(new Partial(), Partial::merge);
+        if (result.groups.size() > MAX_GROUPS) {
+            throw new BadRequestException("Query produces more than " + MAX_GROUPS + " groups; narrow the filters");
+        }
+        List<ColumnarGroupDto> groups = new ArrayList<>(result.groups.size());
+        for (Map.Entry<Long, long[]> entry : new TreeMap<>(result.groups).entrySet()) {
+            groups.add(toGroup(current, dimensions, entry.getKey(), entry.getValue()));
+        }
+        return new ColumnarResultDto(groups, rows, result.matched, (System.nanoTime() - start) / 1_000);
+    }
+
+    private void append(Table target, MovementRecordedEvent event) {
+        target.append(
+                event.isInward() ? TYPE_IN : TYPE_OUT,
+                event.movementId(),
+                event.scopeId(),
+                event.materialId(),
+                event.movementTime(),
+                event.quantity(),
+                event.weight(),
+                event.units(),
+                event.supplier(),
+                event.vehicleNumber());
+    }
+
+    private void replayPending(Table fresh) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<Long> inIds = new HashSet<>();
+        Set<Long> outIds = new HashSet<>();
+        for (MovementRecordedEvent event : pending) {
+            (event.isInward() ? inIds : outIds).add(event.movementId());
+        }
+        Columns columns = fresh.columns;
+        for (int row = 0; row < columns.size; row++) {
+            (columns.types[row] == TYPE_IN ? inIds : outIds).remove(columns.ids[row]);
+        }
+        for (MovementRecordedEvent event : pending) {
+            if ((event.isInward() ? inIds : outIds).contains(event.movementId())) {
+                append(fresh, event);
+            }
+        }
+    }
+
+    private static Partial scan(Columns c, int from, int to, ScanFilter f, ColumnarDimension[] dimensions) {
+        Partial partial = new Partial();
+        for (int row = from; row < to; row++) {
+            if ((f.type != ANY && c.types[row] != f.type)
+                    || (f.project != ANY && c.projects[row] != f.project)
+                    || (f.material != ANY && c.materials[row] != f.material)
+                    || (f.supplier != ANY && c.suppliers[row] != f.supplier)
+                    || (f.vehicle != ANY && c.vehicles[row] != f.vehicle)
+                    || c.days[row] < f.fromDay
+                    || c.days[row] > f.toDay) {
+                continue;
+            }
+            long key = 0;
+            for (ColumnarDimension dimension : dimensions) {
+                key = (key << KEY_BITS) | (keyPart(c, row, dimension) & KEY_MASK);
+            }
+            long[] totals = partial.groups.computeIfAbsent(key, k -> new long[8]);
+            if (c.types[row] == TYPE_IN) {
+                totals[IN_COUNT]++;
+                totals[IN_QUANTITY] += c.quantities[row];
+                totals[IN_WEIGHT] += c.weights[row];
+                totals[IN_UNITS] += c.units[row];
+            } else {
+                totals[OUT_COUNT]++;
+                totals[OUT_QUANTITY] += c.quantities[row];
+                totals[OUT_WEIGHT] += c.weights[row];
+                totals[OUT_UNITS] += c.units[row];
+            }
+            partial.matched++;
+        }
+        return partial;
+    }
+
+    private static long keyPart(Columns c, int row, ColumnarDimension dimension) {
+        return switch (dimension) {
+            case TYPE -> c.types[row];
+            case PROJECT -> c.projects[row] + 1;
+            case MATERIAL -> c.materials[row] + 1;
+            case SUPPLIER -> c.suppliers[row] + 1;
+            case VEHICLE -> c.vehicles[row] + 1;
+            case DAY -> c.days[row] + DAY_OFFSET;
+            case MONTH -> {
+                LocalDate day = LocalDate.ofEpochDay(c.days[row]);
+                yield day.getYear() * 12L + day.getMonthValue() - 1;
+            }
+        };
+    }
+
+    private static ColumnarGroupDto toGroup(Table table, ColumnarDimension[] dimensions, long key, long[] totals) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            int part = (int) (key & KEY_MASK);
+            key >>>= KEY_BITS;
+            labels.put(dimensions[i].name().toLowerCase(Locale.ROOT), label(table, dimensions[i], part));
+        }
+        Map<String, String> ordered = new LinkedHashMap<>();
+        for (ColumnarDimension dimension : dimensions) {
+            String name = dimension.name().toLowerCase(Locale.ROOT);
+            ordered.put(name, labels.get(name));
+        }
+        return new ColumnarGroupDto(
+                ordered,
+                totals[IN_COUNT],
+                totals[OUT_COUNT],
+                Quantity.ofMilli(totals[IN_QUANTITY]).toDouble(),
+                Quantity.ofMilli(totals[OUT_QUANTITY]).toDouble(),
+                Quantity.ofMilli(totals[IN_WEIGHT]).toDouble(),
+                Quantity.ofMilli(totals[OUT_WEIGHT]).toDouble(),
+                totals[IN_UNITS],
+                totals[OUT_UNITS]);
+    }
+
+    private static String label(Table table, ColumnarDimension dimension, int part) {
+        return switch (dimension) {
+            case TYPE -> part == TYPE_IN ? MovementRow.TYPE_IN : MovementRow.TYPE_OUT;
+            case PROJECT -> table.projects.label(part - 1);
+            case MATERIAL -> table.materials.label(part - 1);
+            case SUPPLIER -> table.suppliers.label(part - 1);
+            case VEHICLE -> table.vehicles.label(part - 1);
+            case DAY -> LocalDate.ofEpochDay(part - DAY_OFFSET).toString();
+            case MONTH -> YearMonth.of(part / 12, part % 12 + 1).toString();
+        };
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record ScanFilter(int type, int project, int material, int supplier, int vehicle, int fromDay, int toDay) {}
+
+    private static final class Partial {
+
+        private final Map<Long, long[]> groups = new HashMap<>();
+        private long matched;
+
+        private Partial merge(Partial other) {
+            Partial merged = new Partial();
+            merged.groups.putAll(groups);
+            other.groups.forEach((key, totals) -> merged.groups.merge(key, totals, (left, right) -> {
+                long[] sum = left.clone();
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += right[i];
+                }
+                return sum;
+            }));
+            merged.matched = matched + other.matched;
+            return merged;
+        }
+    }
+
+    /** Fixed-capacity column arrays, replaced by a larger copy when full so readers always see a consistent prefix. */
+    private static final class Columns {
+
+        private final long[] ids;
+        private final byte[] types;
+        private final int[] days;
+        private final int[] projects;
+        private final int[] materials;
+        private final int[] suppliers;
+        private final int[] vehicles;
+        private final long[] quantities;
+        private final long[] weights;
+        private final long[] units;
+        private volatile int size;
+
+        private Columns(int capacity) {
+            ids = new long[capacity];
+            types = new byte[capacity];
+            days = new int[capacity];
+            projects = new int[capacity];
+            materials = new int[capacity];
+            suppliers = new int[capacity];
+            vehicles = new int[capacity];
+            quantities = new long[capacity];
+            weights = new long[capacity];
+            units = new long[capacity];
+        }
+
+        private Columns(Columns source, int capacity) {
+            ids = Arrays.copyOf(source.ids, capacity);
+            types = Arrays.copyOf(source.types, capacity);
+            days = Arrays.copyOf(source.days, capacity);
+            projects = Arrays.copyOf(source.projects, capacity);
+            materials = Arrays.copyOf(source.materials, capacity);
+            suppliers = Arrays.copyOf(source.suppliers, capacity);
+            vehicles = Arrays.copyOf(source.vehicles, capacity);
+            quantities = Arrays.copyOf(source.quantities, capacity);
+            weights = Arrays.copyOf(source.weights, capacity);
+            units = Arrays.copyOf(source.units, capacity);
+            size = source.size;
+        }
+    }
+
+    /** Columns plus the dictionaries their codes refer to, appended to by one thread at a time. */
+    private final class Table {
+
+        private final Dictionary projects = new Dictionary();
+        private final Dictionary materials = new Dictionary();
+        private final Dictionary suppliers = new Dictionary();
+        private final Dictionary vehicles = new Dictionary();
+        private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+
+        private void append(
+                byte type,
+                long id,
+                long scopeId,
+                long materialId,
+                OffsetDateTime movementTime,
+                BigDecimal quantity,
+                BigDecimal weight,
+                long unitCount,
+                String supplier,
+                String vehicleNumber) {
+            Columns c = columns;
+            int row = c.size;
+            if (row == c.ids.length) {
+                c = new Columns(c, c.ids.length * 2);
+                columns = c;
+            }
+            c.ids[row] = id;
+            c.types[row] = type;
+            c.days[row] = (int) movementTime.atZoneSameInstant(zone).toLocalDate().toEpochDay();
+            c.projects[row] = projects.encode(scopeId, Long.toString(scopeId));
+            c.materials[row] = materials.encode(materialId, Long.toString(materialId));
+            String supplierLabel = normalize(supplier);
+            c.suppliers[row] = supplierLabel == null
+                    ? NONE
+                    : suppliers.encode(supplierLabel.toLowerCase(Locale.ROOT), supplierLabel);
+            String vehicleLabel = normalize(vehicleNumber);
+            c.vehicles[row] = vehicleLabel == null
+                    ? NONE
+                    : vehicles.encode(vehicleLabel.toLowerCase(Locale.ROOT), vehicleLabel);
+            c.quantities[row] = Quantity.of(quantity).milli();
+            c.weights[row] = Quantity.of(weight).milli();
+            c.units[row] = unitCount;
+            c.size = row + 1;
+        }
+
+        /** Translates the query filters to dictionary codes, or returns null when a value never occurs. */
+        private ScanFilter resolve(ColumnarQuery query) {
+            int type = ANY;
+            if (query.type() != null && !query.type().isBlank()) {
+                String normalized = query.type().trim().toUpperCase(Locale.ROOT);
+                if (MovementRow.TYPE_IN.equals(normalized)) {
+                    type = TYPE_IN;
+                } else if (MovementRow.TYPE_OUT.equals(normalized)) {
+                    type = TYPE_OUT;
+                } else {
+                    throw new BadRequestException("Type must be IN or OUT");
+                }
+            }
+            int project = query.projectId() != null ? projects.lookup(query.projectId()) : ANY;
+            int material = query.materialId() != null ? materials.lookup(query.materialId()) : ANY;
+            String supplierLabel = normalize(query.supplier());
+            int supplier = supplierLabel != null ? suppliers.lookup(supplierLabel.toLowerCase(Locale.ROOT)) : ANY;
+            String vehicleLabel = normalize(query.vehicleNumber());
+            int vehicle = vehicleLabel != null ? vehicles.lookup(vehicleLabel.toLowerCase(Locale.ROOT)) : ANY;
+            if (project == NONE || material == NONE || supplier == NONE || vehicle == NONE) {
+                return null;
+            }
+            int fromDay = query.fromDate() != null ? (int) query.fromDate().toEpochDay() : Integer.MIN_VALUE;
+            int toDay = query.toDate() != null ? (int) query.toDate().toEpochDay() : Integer.MAX_VALUE;
+            return new ScanFilter(type, project, material, supplier, vehicle, fromDay, toDay);
+        }
+
+        private long dictionaryEntries() {
+            return projects.size() + materials.size() + suppliers.size() + vehicles.size();
+        }
+    }
+
+    /** Append-only mapping between values and dense int codes. */
+    private static final class Dictionary {
+
+        private final Map<Object, Integer> codes = new HashMap<>();
+        private final List<String> labels = new ArrayList<>();
+
+        private synchronized int encode(Object key, String label) {
+            Integer code = codes.get(key);
+            if (code != null) {
+                return code;
+            }
+            if (labels.size() >= KEY_MASK - 1) {
+                throw new IllegalStateException("Columnar dictionary is full");
+            }
+            codes.put(key, labels.size());
+            labels.add(label);
+            return labels.size() - 1;
+        }
+
+        private synchronized int lookup(Object key) {
+            return codes.getOrDefault(key, NONE);
+        }
+
+        private synchronized String label(int code) {
+            return code == NONE ? null : labels.get(code);
+        }
+
+        private synchronized int size() {
+            return labels.size();
+        }
+    }
+}
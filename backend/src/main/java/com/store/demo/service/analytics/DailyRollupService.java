@@ -0,0 +1,277 @@
+package com.store.demo.service.analytics;
+
+import com.store.demo.domain.DailyMovementRollup;
+import com.store.demo.domain.Quantity;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.repository.DailyMovementRollupRepository;
+import com.store.demo.repository.DailyRollupTotals;
+import com.store.demo.repository.InwardEntryRepository;
+import com.store.demo.repository.MaterialRepository;
+import com.store.demo.repository.MovementTimeTotals;
+import com.store.demo.repository.OutwardEntryRepository;
+import com.store.demo.service.StockBalanceService;
+import com.store.demo.service.dto.RollupBucket;
+import com.store.demo.service.dto.RollupBucketDto;
+import com.store.demo.service.dto.RollupRangeQuery;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.MovementsAppliedEvent;
+import com.store.demo.service.mapper.DtoMapper;
+import com.store.demo.web.error.BadRequestException;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Maintains {@link DailyMovementRollup} rows and serves day, week and month series from them. */
+@Service
+@Transactional
+public class DailyRollupService {
+
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    private final DailyMovementRollupRepository rollupRepository;
+    private final InwardEntryRepository inwardEntryRepository;
+    private final OutwardEntryRepository outwardEntryRepository;
+    private final MaterialRepository materialRepository;
+    private final StockBalanceService stockBalanceService;
+    private final DtoMapper mapper;
+    private final boolean backfillOnStartup;
+
+    public DailyRollupService(
+            DailyMovementRollupRepository rollupRepository,
+            InwardEntryRepository inwardEntryRepository,
+            OutwardEntryRepository outwardEntryRepository,
+            MaterialRepository materialRepository,
+            StockBalanceService stockBalanceService,
+            DtoMapper mapper,
+            @Value("${app.inventory.rollups.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.rollupRepository = rollupRepository;
+        this.inwardEntryRepository = inwardEntryRepository;
+        this.outwardEntryRepository = outwardEntryRepository;
+        this.materialRepository = materialRepository;
+        this.stockBalanceService = stockBalanceService;
+        this.mapper = mapper;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Runs synchronously in the publishing transaction, so the rollups commit or roll back with the movements. The
+     * movements are summed per scope, material and day first, so each affected row is written once. Rows are upserted
+     * rather than read and saved, so concurrent movements of one day add up without a lost update or a unique-key
+     * collision, and no entity insert joins the movements' JDBC batch.
+     */
+    @EventListener
+    public void onMovementsApplied(MovementsAppliedEvent event) {
+        Map<RollupKey, DailyMovementRollup> deltas = new LinkedHashMap<>();
+        OffsetDateTime now = mapper.now();
+        for (MovementRecordedEvent movement : event.movements()) {
+            LocalDate day = toDay(movement.movementTime());
+            DailyMovementRollup delta = deltas.computeIfAbsent(
+                    new RollupKey(movement.scopeId(), movement.materialId(), day),
+                    key -> newRollup(day, movement.scopeId(), movement.materialId(), now));
+            if (movement.isInward()) {
+                addInward(delta, movement.quantity(), movement.weight(), movement.units(), 1);
+            } else {
+                addOutward(delta, movement.quantity(), movement.weight(), movement.units(), 1);
+            }
+        }
+        for (DailyMovementRollup delta : deltas.values()) {
+            rollupRepository.addTotals(
+                    delta.getDay(),
+                    delta.getScopeId(),
+                    delta.getMaterial(),
+                    delta.getInQuantity(),
+                    delta.getOutQuantity(),
+                    delta.getInWeight(),
+                    delta.getOutWeight(),
+                    delta.getInUnits(),
+                    delta.getOutUnits(),
+                    delta.getInCount(),
+                    delta.getOutCount(),
+                    now);
+        }
+    }
+
+    /**
+     * Discards every rollup row and recomputes them from the movement history. Movements are pre-aggregated per
+     * distinct movement time in SQL and folded into days here, so day boundaries match the incremental path.
+     *
+     * <p>Every balance row is locked first, as {@link StockBalanceService#rebuildFromHistory()} does, so movements of
+     * existing scopes and materials wait and upsert their delta onto the rebuilt rows. The very first movement of a
+     * scope and material has no balance row to wait on; if it lands mid-rebuild the rebuild fails on the unique key
+     * rather than double counting it, and can simply be run again.
+     */
+    public long rebuildFromHistory() {
+        stockBalanceService.lockAll();
+        rollupRepository.deleteAllInBatch();
+        OffsetDateTime now = mapper.now();
+        Map<RollupKey, DailyMovementRollup> rollups = new LinkedHashMap<>();
+        for (MovementTimeTotals totals : inwardEntryRepository.sumByProjectMaterialAndTime()) {
+            addInward(rollupFor(rollups, totals, now),
+                    totals.getQuantity(), totals.getWeight(), orZero(totals.getUnits()), orZero(totals.getMovementCount()));
+        }
+        for (MovementTimeTotals totals : outwardEntryRepository.sumByProjectMaterialAndTime()) {
+            addOutward(rollupFor(rollups, totals, now),
+                    totals.getQuantity(), totals.getWeight(), orZero(totals.getUnits()), orZero(totals.getMovementCount()));
+        }
+        rollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+
+    /**
+     * Fills the rollup table for databases that recorded movements before it existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup || rollupRepository.count() > 0) {
+            return;
+        }
+        if (inwardEntryRepository.count() > 0 || outwardEntryRepository.count() > 0) {
+            rebuildFromHistory();
+        }
+    }
+
+    /**
+     * Returns one bucket per day, ISO week or calendar month of the range, oldest first, including empty buckets.
+     * Buckets at either end are clipped to the range. Without dates the range is the last 365 days.
+     */
+    @Transactional(readOnly = true)
+    public List<RollupBucketDto> getSeries(RollupRangeQuery query) {
+        LocalDate to = query.toDate() != null ? query.toDate() : LocalDate.now();
+        LocalDate from = query.fromDate() != null ? query.fromDate() : to.minusDays(364);
+        if (from.isAfter(to)) {
+            throw new BadRequestException("From date must not be after to date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        RollupBucket bucket = query.bucket() != null ? query.bucket() : RollupBucket.DAY;
+
+        Map<LocalDate, DailyRollupTotals> days = new HashMap<>();
+        for (DailyRollupTotals totals : rollupRepository.sumByDay(from, to, query.projectId(), query.materialId())) {
+            days.put(totals.getDay(), totals);
+        }
+
+        List<RollupBucketDto> series = new ArrayList<>();
+        LocalDate start = bucketStart(from, bucket);
+        while (!start.isAfter(to)) {
+            LocalDate next = nextBucketStart(start, bucket);
+            LocalDate first = start.isBefore(from) ? from : start;
+            LocalDate last = next.minusDays(1).isAfter(to) ? to : next.minusDays(1);
+            series.add(sumDays(days, first, last));
+            start = next;
+        }
+        return series;
+    }
+
+    private RollupBucketDto sumDays(Map<LocalDate, DailyRollupTotals> days, LocalDate first, LocalDate last) {
+        Quantity quantityIn = Quantity.ZERO;
+        Quantity quantityOut = Quantity.ZERO;
+        Quantity weightIn = Quantity.ZERO;
+        Quantity weightOut = Quantity.ZERO;
+        long unitsIn = 0;
+        long unitsOut = 0;
+        long inwardCount = 0;
+        long outwardCount = 0;
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            DailyRollupTotals totals = days.get(day);
+            if (totals == null) {
+                continue;
+            }
+            quantityIn = quantityIn.plus(Quantity.of(totals.getInQuantity()));
+            quantityOut = quantityOut.plus(Quantity.of(totals.getOutQuantity()));
+            weightIn = weightIn.plus(Quantity.of(totals.getInWeight()));
+            weightOut = weightOut.plus(Quantity.of(totals.getOutWeight()));
+            unitsIn += orZero(totals.getInUnits());
+            unitsOut += orZero(totals.getOutUnits());
+            inwardCount += orZero(totals.getInCount());
+            outwardCount += orZero(totals.getOutCount());
+        }
+        return new RollupBucketDto(
+                first,
+                last,
+                quantityIn.toDouble(),
+                quantityOut.toDouble(),
+                weightIn.toDouble(),
+                weightOut.toDouble(),
+                unitsIn,
+                unitsOut,
+                inwardCount,
+                outwardCount);
+    }
+
+    private static LocalDate bucketStart(LocalDate day, RollupBucket bucket) {
+        return switch (bucket) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextBucketStart(LocalDate start, RollupBucket bucket) {
+        return switch (bucket) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+
+    private DailyMovementRollup rollupFor(
+            Map<RollupKey, DailyMovementRollup> rollups, MovementTimeTotals totals, OffsetDateTime now) {
+        long scopeId = totals.getProjectId() != null ? totals.getProjectId() : StockBalance.GENERAL_SCOPE;
+        LocalDate day = toDay(totals.getMovementTime());
+        return rollups.computeIfAbsent(
+                new RollupKey(scopeId, totals.getMaterialId(), day),
+                key -> newRollup(day, scopeId, totals.getMaterialId(), now));
+    }
+
+    private DailyMovementRollup newRollup(LocalDate day, long scopeId, Long materialId, OffsetDateTime now) {
+        DailyMovementRollup rollup = new DailyMovementRollup();
+        rollup.setDay(day);
+        rollup.setScopeId(scopeId);
+        rollup.setMaterial(materialRepository.getReferenceById(materialId));
+        rollup.setUpdatedAt(now);
+        return rollup;
+    }
+
+    private void addInward(DailyMovementRollup rollup, BigDecimal quantity, BigDecimal weight, long units, long count) {
+        rollup.setInQuantity(rollup.getInQuantity().add(orZero(quantity)));
+        rollup.setInWeight(rollup.getInWeight().add(orZero(weight)));
+        rollup.setInUnits(rollup.getInUnits() + units);
+        rollup.setInCount(rollup.getInCount() + count);
+    }
+
+    private void addOutward(DailyMovementRollup rollup, BigDecimal quantity, BigDecimal weight, long units, long count) {
+        rollup.setOutQuantity(rollup.getOutQuantity().add(orZero(quantity)));
+        rollup.setOutWeight(rollup.getOutWeight().add(orZero(weight)));
+        rollup.setOutUnits(rollup.getOutUnits() + units);
+        rollup.setOutCount(rollup.getOutCount() + count);
+    }
+
+    private static LocalDate toDay(OffsetDateTime time) {
+        return time.atZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private record RollupKey(long scopeId, Long materialId, LocalDate day) {}
+}
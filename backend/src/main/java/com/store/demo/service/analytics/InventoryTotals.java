@@ -0,0 +1,14 @@
+package com.store.demo.service.analytics;
+
+import java.math.BigDecimal;
+
+public record InventoryTotals(
+        long projects,
+        long materials,
+        BigDecimal quantityIn,
+        BigDecimal quantityOut,
+        BigDecimal quantityOnHand,
+        BigDecimal weightIn,
+        BigDecimal weightOut,
+        long unitsIn,
+        long unitsOut) {}
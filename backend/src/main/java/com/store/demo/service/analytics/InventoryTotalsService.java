@@ -0,0 +1,156 @@
+package com.store.demo.service.analytics;
+
+import com.store.demo.domain.Quantity;
+import com.store.demo.repository.InwardEntryRepository;
+import com.store.demo.repository.InwardSummary;
+import com.store.demo.repository.MaterialRepository;
+import com.store.demo.repository.MovementSummary;
+import com.store.demo.repository.OutwardEntryRepository;
+import com.store.demo.repository.ProjectRepository;
+import com.store.demo.service.event.CatalogChangedEvent;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.StockBalancesRebuiltEvent;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** Headline inventory totals, aggregated per request or kept in memory when the analytics counters are enabled. */
+@Service
+public class InventoryTotalsService {
+
+    private final InwardEntryRepository inwardEntryRepository;
+    private final OutwardEntryRepository outwardEntryRepository;
+    private final ProjectRepository projectRepository;
+    private final MaterialRepository materialRepository;
+    private final boolean countersEnabled;
+
+    private final LongAdder projects = new LongAdder();
+    private final LongAdder materials = new LongAdder();
+    // Quantities and weights are kept as unscaled thousandths so they can be summed without locking.
+    private final LongAdder quantityIn = new LongAdder();
+    private final LongAdder quantityOut = new LongAdder();
+    private final LongAdder weightIn = new LongAdder();
+    private final LongAdder weightOut = new LongAdder();
+    private final LongAdder unitsIn = new LongAdder();
+    private final LongAdder unitsOut = new LongAdder();
+    private volatile boolean countersLoaded;
+
+    public InventoryTotalsService(
+            InwardEntryRepository inwardEntryRepository,
+            OutwardEntryRepository outwardEntryRepository,
+            ProjectRepository projectRepository,
+            MaterialRepository materialRepository,
+            @Value("${app.inventory.analytics.counters.enabled:false}") boolean countersEnabled) {
+        this.inwardEntryRepository = inwardEntryRepository;
+        this.outwardEntryRepository = outwardEntryRepository;
+        this.projectRepository = projectRepository;
+        this.materialRepository = materialRepository;
+        this.countersEnabled = countersEnabled;
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryTotals current() {
+        if (countersLoaded) {
+            return new InventoryTotals(
+                    projects.sum(),
+                    materials.sum(),
+                    Quantity.ofMilli(quantityIn.sum()).toBigDecimal(),
+                    Quantity.ofMilli(quantityOut.sum()).toBigDecimal(),
+                    Quantity.ofMilli(quantityIn.sum() - quantityOut.sum()).toBigDecimal(),
+                    Quantity.ofMilli(weightIn.sum()).toBigDecimal(),
+                    Quantity.ofMilli(weightOut.sum()).toBigDecimal(),
+                    unitsIn.sum(),
+                    unitsOut.sum());
+        }
+        return loadFromDatabase();
+    }
+
+    public boolean isServedFromCounters() {
+        return countersLoaded;
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryTotals loadFromDatabase() {
+        InwardSummary inward = inwardEntryRepository.summarizeAll();
+        MovementSummary outward = outwardEntryRepository.summarizeAll();
+        return new InventoryTotals(
+                projectRepository.count(),
+                materialRepository.count(),
+                orZero(inward.getQuantity()),
+                orZero(outward.getQuantity()),
+                orZero(inward.getRemainingQuantity()),
+                orZero(inward.getWeight()),
+                orZero(outward.getWeight()),
+                inward.getUnits() != null ? inward.getUnits() : 0L,
+                outward.getUnits() != null ? outward.getUnits() : 0L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadCounters() {
+        if (!countersEnabled) {
+            return;
+        }
+        InventoryTotals totals = loadFromDatabase();
+        reset(projects, totals.projects());
+        reset(materials, totals.materials());
+        reset(quantityIn, Quantity.of(totals.quantityIn()).milli());
+        reset(quantityOut, Quantity.of(totals.quantityOut()).milli());
+        reset(weightIn, Quantity.of(totals.weightIn()).milli());
+        reset(weightOut, Quantity.of(totals.weightOut()).milli());
+        reset(unitsIn, totals.unitsIn());
+        reset(unitsOut, totals.unitsOut());
+        countersLoaded = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovementRecorded(MovementRecordedEvent event) {
+        if (!countersLoaded) {
+            return;
+        }
+        if (event.isInward()) {
+            quantityIn.add(Quantity.of(event.quantity()).milli());
+            weightIn.add(Quantity.of(event.weight()).milli());
+            unitsIn.add(event.units());
+        } else {
+            quantityOut.add(Quantity.of(event.quantity()).milli());
+            weightOut.add(Quantity.of(event.weight()).milli());
+            unitsOut.add(event.units());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!countersLoaded || event.change() == CatalogChangedEvent.Change.UPDATED) {
+            return;
+        }
+        long delta = event.change() == CatalogChangedEvent.Change.CREATED ? 1 : -1;
+        if (event.kind() == CatalogChangedEvent.Kind.PROJECT) {
+            projects.add(delta);
+        } else if (event.kind() == CatalogChangedEvent.Kind.MATERIAL) {
+            materials.add(delta);
+        }
+    }
+
+    /** Reloads in a transaction of its own, since the rebuilding one has already committed. */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBalancesRebuilt(StockBalancesRebuiltEvent event) {
+        loadCounters();
+    }
+
+    private void reset(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+
+    private BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
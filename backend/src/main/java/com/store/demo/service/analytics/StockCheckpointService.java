@@ -0,0 +1,378 @@
+package com.store.demo.service.analytics;
+
+import com.store.demo.domain.Quantity;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.domain.StockCheckpoint;
+import com.store.demo.repository.DailyMovementRollupRepository;
+import com.store.demo.repository.DailyRollupTotals;
+import com.store.demo.repository.MaterialRepository;
+import com.store.demo.repository.ProjectRepository;
+import com.store.demo.repository.ScopeMaterialRollupTotals;
+import com.store.demo.repository.StockCheckpointRepository;
+import com.store.demo.service.StockBalanceService;
+import com.store.demo.service.dto.StockAsOfDto;
+import com.store.demo.service.dto.StockAsOfQuery;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.MovementsAppliedEvent;
+import com.store.demo.service.lock.JobLocks;
+import com.store.demo.service.mapper.DtoMapper;
+import com.store.demo.web.error.BadRequestException;
+import com.store.demo.web.error.ResourceNotFoundException;
+import com.store.demo.web.error.ServiceUnavailableException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Writes month-end {@link StockCheckpoint} rows and answers point-in-time stock from the latest one plus rollups. */
+@Service
+@Transactional
+public class StockCheckpointService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockCheckpointService.class);
+
+    private static final String LOCK_NAME = "stock-checkpoints";
+
+    private final StockCheckpointRepository checkpointRepository;
+    private final DailyMovementRollupRepository rollupRepository;
+    private final MaterialRepository materialRepository;
+    private final ProjectRepository projectRepository;
+    private final DailyRollupService dailyRollupService;
+    private final StockBalanceService stockBalanceService;
+    private final JobLocks jobLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final DtoMapper mapper;
+    private final boolean enabled;
+    private final Duration lockLease;
+
+    public StockCheckpointService(
+            StockCheckpointRepository checkpointRepository,
+            DailyMovementRollupRepository rollupRepository,
+            MaterialRepository materialRepository,
+            ProjectRepository projectRepository,
+            DailyRollupService dailyRollupService,
+            StockBalanceService stockBalanceService,
+            JobLocks jobLocks,
+            PlatformTransactionManager transactionManager,
+            DtoMapper mapper,
+            @Value("${app.inventory.checkpoints.enabled:true}") boolean enabled,
+            @Value("${app.inventory.checkpoints.lock-lease:30m}") Duration lockLease) {
+        this.checkpointRepository = checkpointRepository;
+        this.rollupRepository = rollupRepository;
+        this.materialRepository = materialRepository;
+        this.projectRepository = projectRepository;
+        this.dailyRollupService = dailyRollupService;
+        this.stockBalanceService = stockBalanceService;
+        this.jobLocks = jobLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mapper = mapper;
+        this.enabled = enabled;
+        this.lockLease = lockLease;
+    }
+
+    /**
+     * Runs synchronously in the publishing transaction, like {@link DailyRollupService#onMovementsApplied}. Only
+     * movements dated on or before an existing checkpoint touch any row. The checkpoint days are read once per event,
+     * and the movements are summed per row first, so each affected checkpoint row is written once.
+     */
+    @EventListener
+    public void onMovementsApplied(MovementsAppliedEvent event) {
+        LocalDate earliest = null;
+        for (MovementRecordedEvent movement : event.movements()) {
+            LocalDate day = toDay(movement.movementTime());
+            earliest = earliest == null || day.isBefore(earliest) ? day : earliest;
+        }
+        if (earliest == null) {
+            return;
+        }
+        List<LocalDate> days = checkpointRepository.findDaysOnOrAfter(earliest);
+        if (days.isEmpty()) {
+            return;
+        }
+        Map<DayKey, Totals> deltas = new LinkedHashMap<>();
+        for (MovementRecordedEvent movement : event.movements()) {
+            LocalDate movementDay = toDay(movement.movementTime());
+            for (LocalDate day : days) {
+                if (!day.isBefore(movementDay)) {
+                    deltas.computeIfAbsent(new DayKey(movement.scopeId(), movement.materialId(), day),
+                            key -> new Totals()).add(movement);
+                }
+            }
+        }
+        OffsetDateTime now = mapper.now();
+        for (Map.Entry<DayKey, Totals> entry : deltas.entrySet()) {
+            DayKey key = entry.getKey();
+            Totals delta = entry.getValue();
+            StockCheckpoint checkpoint = checkpointRepository
+                    .findByScopeIdAndMaterialAndDay(
+                            key.scopeId(), materialRepository.getReferenceById(key.materialId()), key.day())
+                    .orElseGet(() -> newCheckpoint(key.day(), key.scopeId(), key.materialId(), now));
+            checkpoint.setInQuantity(checkpoint.getInQuantity().add(delta.quantityIn.toBigDecimal()));
+            checkpoint.setOutQuantity(checkpoint.getOutQuantity().add(delta.quantityOut.toBigDecimal()));
+            checkpoint.setInWeight(checkpoint.getInWeight().add(delta.weightIn.toBigDecimal()));
+            checkpoint.setOutWeight(checkpoint.getOutWeight().add(delta.weightOut.toBigDecimal()));
+            checkpoint.setInUnits(checkpoint.getInUnits() + delta.unitsIn);
+            checkpoint.setOutUnits(checkpoint.getOutUnits() + delta.unitsOut);
+            checkpoint.setUpdatedAt(now);
+            checkpointRepository.save(checkpoint);
+        }
+    }
+
+    /**
+     * Writes the checkpoint for the end of the given day, replacing any existing one, from the previous checkpoint and
+     * the rollups since. Returns the number of scope-material rows written.
+     */
+    public long writeCheckpoint(LocalDate day) {
+        stockBalanceService.lockAll();
+        return writeCheckpointLocked(day);
+    }
+
+    private long writeCheckpointLocked(LocalDate day) {
+        checkpointRepository.deleteByDay(day);
+        LocalDate previous = checkpointRepository.findLatestDayOnOrBefore(day.minusDays(1));
+        OffsetDateTime now = mapper.now();
+        Map<CheckpointKey, StockCheckpoint> checkpoints = new LinkedHashMap<>();
+        if (previous != null) {
+            for (StockCheckpoint base : checkpointRepository.findByDay(previous)) {
+                StockCheckpoint checkpoint =
+                        checkpointFor(checkpoints, day, base.getScopeId(), base.getMaterial().getId(), now);
+                checkpoint.setInQuantity(base.getInQuantity());
+                checkpoint.setOutQuantity(base.getOutQuantity());
+                checkpoint.setInWeight(base.getInWeight());
+                checkpoint.setOutWeight(base.getOutWeight());
+                checkpoint.setInUnits(base.getInUnits());
+                checkpoint.setOutUnits(base.getOutUnits());
+            }
+        }
+        LocalDate from = previous != null ? previous.plusDays(1) : null;
+        for (ScopeMaterialRollupTotals totals : rollupRepository.sumByScopeAndMaterial(from, day)) {
+            StockCheckpoint checkpoint =
+                    checkpointFor(checkpoints, day, totals.getScopeId(), totals.getMaterialId(), now);
+            checkpoint.setInQuantity(checkpoint.getInQuantity().add(orZero(totals.getInQuantity())));
+            checkpoint.setOutQuantity(checkpoint.getOutQuantity().add(orZero(totals.getOutQuantity())));
+            checkpoint.setInWeight(checkpoint.getInWeight().add(orZero(totals.getInWeight())));
+            checkpoint.setOutWeight(checkpoint.getOutWeight().add(orZero(totals.getOutWeight())));
+            checkpoint.setInUnits(checkpoint.getInUnits() + orZero(totals.getInUnits()));
+            checkpoint.setOutUnits(checkpoint.getOutUnits() + orZero(totals.getOutUnits()));
+        }
+        checkpointRepository.saveAll(checkpoints.values());
+        return checkpoints.size();
+    }
+
+    /**
+     * Writes every missing month-end checkpoint from the first month with movements up to the last completed month,
+     * oldest first so that each builds on the one before. Returns the number of checkpoints written.
+     */
+    public int writeMissingMonthEnds() {
+        stockBalanceService.lockAll();
+        return writeMissingMonthEndsLocked();
+    }
+
+    private int writeMissingMonthEndsLocked() {
+        LocalDate first = rollupRepository.findEarliestDay();
+        if (first == null) {
+            return 0;
+        }
+        LocalDate lastMonthEnd = LocalDate.now().withDayOfMonth(1).minusDays(1);
+        Set<LocalDate> existing = new HashSet<>(checkpointRepository.findDaysOnOrAfter(first));
+        int written = 0;
+        for (LocalDate day = monthEnd(first); !day.isAfter(lastMonthEnd); day = monthEnd(day.plusDays(1))) {
+            if (!existing.contains(day)) {
+                writeCheckpointLocked(day);
+                written++;
+            }
+        }
+        return written;
+    }
+
+    @Scheduled(cron = "${app.inventory.checkpoints.cron:0 15 0 1 * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeMonthEndCheckpoints() {
+        if (!enabled) {
+            return;
+        }
+        boolean ran = jobLocks.runExclusive(LOCK_NAME, lockLease, () -> {
+            Integer written = transactionTemplate.execute(status -> writeMissingMonthEnds());
+            log.info("Wrote {} month-end stock checkpoints", written);
+        });
+        if (!ran) {
+            log.info("Skipped month-end stock checkpoints: another instance is writing them");
+        }
+    }
+
+    /**
+     * Catches up on month-ends missed while the application was down. The rollups are backfilled first because every
+     * checkpoint is derived from them. An instance that finds another one already catching up leaves it to that one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeMissingOnStartup() {
+        if (enabled) {
+            jobLocks.runExclusive(LOCK_NAME, lockLease, () -> {
+                dailyRollupService.backfillIfEmpty();
+                transactionTemplate.execute(status -> writeMissingMonthEnds());
+            });
+        }
+    }
+
+    /**
+     * Discards every checkpoint and writes the month-ends again from the rollups, for instance after the rollups have
+     * been rebuilt. Returns the number of checkpoint rows written.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long rebuildFromRollups() {
+        long[] rows = new long[1];
+        boolean ran = jobLocks.runExclusive(LOCK_NAME, lockLease, () -> rows[0] = transactionTemplate.execute(status -> {
+            stockBalanceService.lockAll();
+            checkpointRepository.deleteAllInBatch();
+            writeMissingMonthEndsLocked();
+            return checkpointRepository.count();
+        }));
+        if (!ran) {
+            throw new ServiceUnavailableException("Stock checkpoints are being written by another job, try again shortly");
+        }
+        return rows[0];
+    }
+
+    @Transactional(readOnly = true)
+    public StockAsOfDto getStockAsOf(StockAsOfQuery query) {
+        if (query.projectId() == null || query.materialId() == null) {
+            throw new BadRequestException("Project and material are required");
+        }
+        long scopeId = query.projectId();
+        if (scopeId != StockBalance.GENERAL_SCOPE && !projectRepository.existsById(scopeId)) {
+            throw new ResourceNotFoundException("Project not found: " + scopeId);
+        }
+        if (!materialRepository.existsById(query.materialId())) {
+            throw new ResourceNotFoundException("Material not found: " + query.materialId());
+        }
+        LocalDate asOf = query.date() != null ? query.date() : LocalDate.now();
+
+        LocalDate checkpointDay = checkpointRepository.findLatestDayOnOrBefore(asOf);
+        Totals totals = new Totals();
+        if (checkpointDay != null) {
+            checkpointRepository
+                    .findByScopeIdAndMaterialAndDay(
+                            scopeId, materialRepository.getReferenceById(query.materialId()), checkpointDay)
+                    .ifPresent(totals::add);
+        }
+        LocalDate from = checkpointDay != null ? checkpointDay.plusDays(1) : rollupRepository.findEarliestDay();
+        int daysReplayed = 0;
+        if (from != null && !from.isAfter(asOf)) {
+            for (DailyRollupTotals day : rollupRepository.sumByDay(from, asOf, scopeId, query.materialId())) {
+                totals.add(day);
+                daysReplayed++;
+            }
+        }
+        return new StockAsOfDto(
+                query.projectId(),
+                query.materialId(),
+                asOf,
+                checkpointDay,
+                daysReplayed,
+                totals.quantityIn.toDouble(),
+                totals.quantityOut.toDouble(),
+                totals.quantityIn.minus(totals.quantityOut).toDouble(),
+                totals.weightIn.toDouble(),
+                totals.weightOut.toDouble(),
+                totals.weightIn.minus(totals.weightOut).toDouble(),
+                totals.unitsIn,
+                totals.unitsOut);
+    }
+
+    private StockCheckpoint checkpointFor(
+            Map<CheckpointKey, StockCheckpoint> checkpoints,
+            LocalDate day,
+            long scopeId,
+            Long materialId,
+            OffsetDateTime now) {
+        return checkpoints.computeIfAbsent(
+                new CheckpointKey(scopeId, materialId), key -> newCheckpoint(day, scopeId, materialId, now));
+    }
+
+    private StockCheckpoint newCheckpoint(LocalDate day, long scopeId, Long materialId, OffsetDateTime now) {
+        StockCheckpoint checkpoint = new StockCheckpoint();
+        checkpoint.setDay(day);
+        checkpoint.setScopeId(scopeId);
+        checkpoint.setMaterial(materialRepository.getReferenceById(materialId));
+        checkpoint.setUpdatedAt(now);
+        return checkpoint;
+    }
+
+    private static LocalDate monthEnd(LocalDate day) {
+        return day.withDayOfMonth(day.lengthOfMonth());
+    }
+
+    private static LocalDate toDay(OffsetDateTime time) {
+        return time.atZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private record CheckpointKey(long scopeId, Long materialId) {}
+
+    private record DayKey(long scopeId, Long materialId, LocalDate day) {}
+
+    private static final class Totals {
+
+        private Quantity quantityIn = Quantity.ZERO;
+        private Quantity quantityOut = Quantity.ZERO;
+        private Quantity weightIn = Quantity.ZERO;
+        private Quantity weightOut = Quantity.ZERO;
+        private long unitsIn;
+        private long unitsOut;
+
+        private void add(StockCheckpoint checkpoint) {
+            quantityIn = quantityIn.plus(Quantity.of(checkpoint.getInQuantity()));
+            quantityOut = quantityOut.plus(Quantity.of(checkpoint.getOutQuantity()));
+            weightIn = weightIn.plus(Quantity.of(checkpoint.getInWeight()));
+            weightOut = weightOut.plus(Quantity.of(checkpoint.getOutWeight()));
+            unitsIn += checkpoint.getInUnits();
+            unitsOut += checkpoint.getOutUnits();
+        }
+
+        private void add(MovementRecordedEvent movement) {
+            if (movement.isInward()) {
+                quantityIn = quantityIn.plus(Quantity.of(movement.quantity()));
+                weightIn = weightIn.plus(Quantity.of(movement.weight()));
+                unitsIn += movement.units();
+            } else {
+                quantityOut = quantityOut.plus(Quantity.of(movement.quantity()));
+                weightOut = weightOut.plus(Quantity.of(movement.weight()));
+                unitsOut += movement.units();
+            }
+        }
+
+        private void add(DailyRollupTotals day) {
+            quantityIn = quantityIn.plus(Quantity.of(day.getInQuantity()));
+            quantityOut = quantityOut.plus(Quantity.of(day.getOutQuantity()));
+            weightIn = weightIn.plus(Quantity.of(day.getInWeight()));
+            weightOut = weightOut.plus(Quantity.of(day.getOutWeight()));
+            unitsIn += orZero(day.getInUnits());
+            unitsOut += orZero(day.getOutUnits());
+        }
+    }
+}
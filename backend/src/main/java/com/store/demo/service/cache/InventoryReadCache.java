@@ -0,0 +1,153 @@
+package com.store.demo.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.store.demo.service.dto.CacheStatsDto;
+import com.store.demo.service.dto.MaterialDetailDto;
+import com.store.demo.service.dto.MaterialStatsDto;
+import com.store.demo.service.dto.ProjectDashboardDto;
+import com.store.demo.service.event.CatalogChangedEvent;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.StockBalancesRebuiltEvent;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** Read-through caches for the dashboard and stats views, dropped after commit of any write that can change them. */
+@Component
+public class InventoryReadCache {
+
+    private final boolean enabled;
+    private final NamedCache<Long, ProjectDashboardDto> dashboards;
+    private final NamedCache<Long, List<MaterialStatsDto>> materialStats;
+    private final NamedCache<MaterialKey, MaterialDetailDto> materialDetails;
+
+    public InventoryReadCache(
+            @Value("${app.inventory.cache.enabled:false}") boolean enabled,
+            @Value("${app.inventory.cache.ttl:5m}") Duration ttl,
+            @Value("${app.inventory.cache.max-entries:1000}") long maxEntries) {
+        this.enabled = enabled;
+        this.dashboards = new NamedCache<>("dashboards", ttl, maxEntries);
+        this.materialStats = new NamedCache<>("materialStats", ttl, maxEntries);
+        this.materialDetails = new NamedCache<>("materialDetails", ttl, maxEntries);
+    }
+
+    public ProjectDashboardDto dashboard(long scopeId, Supplier<ProjectDashboardDto> loader) {
+        return enabled ? dashboards.get(scopeId, loader) : loader.get();
+    }
+
+    public List<MaterialStatsDto> materialStats(long scopeId, Supplier<List<MaterialStatsDto>> loader) {
+        return enabled ? materialStats.get(scopeId, loader) : loader.get();
+    }
+
+    public MaterialDetailDto materialDetail(long scopeId, long materialId, Supplier<MaterialDetailDto> loader) {
+        return enabled ? materialDetails.get(new MaterialKey(scopeId, materialId), loader) : loader.get();
+    }
+
+    public List<CacheStatsDto> stats() {
+        return List.of(dashboards.stats(), materialStats.stats(), materialDetails.stats());
+    }
+
+    // Invalidation runs before ScopeVersions bumps its versions, so a new tag is never answered from an old entry.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovementRecorded(MovementRecordedEvent event) {
+        invalidateScope(event.scopeId(), event.materialId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.kind()) {
+            // Every dashboard lists all projects.
+            case PROJECT -> dashboards.invalidateAll();
+            case PROJECT_MATERIAL -> invalidateScope(event.projectId(), event.materialId());
+            // Material names and codes appear in every scope.
+            case MATERIAL -> invalidateAll();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalancesRebuilt(StockBalancesRebuiltEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        dashboards.invalidateAll();
+        materialStats.invalidateAll();
+        materialDetails.invalidateAll();
+    }
+
+    private void invalidateScope(long scopeId, Long materialId) {
+        dashboards.invalidate(scopeId);
+        materialStats.invalidate(scopeId);
+        if (materialId != null) {
+            materialDetails.invalidate(new MaterialKey(scopeId, materialId));
+        }
+    }
+
+    private record MaterialKey(long scopeId, long materialId) {}
+
+    /** A Caffeine cache that does not store a value computed while an invalidation happened. */
+    private static final class NamedCache<K, V> {
+
+        private final String name;
+        private final Cache<K, V> cache;
+        private final AtomicLong invalidations = new AtomicLong();
+
+        private NamedCache(String name, Duration ttl, long maxEntries) {
+            this.name = name;
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+        }
+
+        private V get(K key, Supplier<V> loader) {
+            V cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            long epoch = invalidations.get();
+            V value = loader.get();
+            if (value != null && invalidations.get() == epoch) {
+                cache.put(key, value);
+                if (invalidations.get() != epoch) {
+                    cache.invalidate(key);
+                }
+            }
+            return value;
+        }
+
+        private void invalidate(K key) {
+            invalidations.incrementAndGet();
+            cache.invalidate(key);
+        }
+
+        private void invalidateAll() {
+            invalidations.incrementAndGet();
+            cache.invalidateAll();
+        }
+
+        private CacheStatsDto stats() {
+            CacheStats stats = cache.stats();
+            return new CacheStatsDto(
+                    name,
+                    cache.estimatedSize(),
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.hitRate(),
+                    stats.evictionCount(),
+                    invalidations.get());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.store.demo.service.cache;
+
+import com.store.demo.domain.StockBalance;
+import com.store.demo.service.event.CatalogChangedEvent;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.StockBalancesRebuiltEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** Monotonic write versions used as strong ETags for polled read endpoints, or {@code null} tags when ETags are off. */
+@Component
+public class ScopeVersions {
+
+    // Listeners that publish versions to clients run after this order, so they see the bump of the write they report.
+    public static final int LISTENER_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private final boolean etagsEnabled;
+    // Counters restart at zero with the application, so tags also carry the start time to never repeat an older tag.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36)
+            + Long.toString(System.nanoTime() & 0xffffL, 36);
+    private final AtomicLong global = new AtomicLong();
+    private final AtomicLong catalog = new AtomicLong();
+    private final Map<Long, AtomicLong> scopes = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> materials = new ConcurrentHashMap<>();
+
+    public ScopeVersions(@Value("${app.inventory.etags.enabled:false}") boolean etagsEnabled) {
+        this.etagsEnabled = etagsEnabled;
+    }
+
+    /** Tag for views that depend on every scope, such as the material list with on-hand totals. */
+    public String globalTag() {
+        return etagsEnabled ? epoch + "-g" + global.get() : null;
+    }
+
+    /** Tag for views that only show projects and materials, not stock. */
+    public String catalogTag() {
+        return etagsEnabled ? epoch + "-c" + catalog.get() : null;
+    }
+
+    /** Tag for the dashboard and stats of one scope, which also list catalog data. */
+    public String scopeTag(Long projectId) {
+        if (!etagsEnabled) {
+            return null;
+        }
+        long scopeId = projectId != null ? projectId : StockBalance.GENERAL_SCOPE;
+        return catalogTag() + "-s" + scopeId + "." + version(scopes, scopeId);
+    }
+
+    /** The numeric part of {@link #scopeTag(Long)} that moves with stock writes to the scope. */
+    public long scopeVersion(Long projectId) {
+        return version(scopes, projectId != null ? projectId : StockBalance.GENERAL_SCOPE);
+    }
+
+    /** Tag for the movement history of one material within a scope, unaffected by writes to other materials. */
+    public String materialTag(Long projectId, Long materialId) {
+        if (!etagsEnabled) {
+            return null;
+        }
+        long scopeId = projectId != null ? projectId : StockBalance.GENERAL_SCOPE;
+        return catalogTag() + "-s" + scopeId + "-m" + materialId + "." + version(materials, materialId);
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovementRecorded(MovementRecordedEvent event) {
+        bump(scopes, event.scopeId());
+        if (event.materialId() != null) {
+            bump(materials, event.materialId());
+        }
+        global.incrementAndGet();
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.projectId() != null) {
+            bump(scopes, event.projectId());
+        }
+        if (event.materialId() != null) {
+            bump(materials, event.materialId());
+        }
+        catalog.incrementAndGet();
+        global.incrementAndGet();
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalancesRebuilt(StockBalancesRebuiltEvent event) {
+        // Every balance may have changed; the catalog version covers every scope and material tag.
+        catalog.incrementAndGet();
+        global.incrementAndGet();
+    }
+
+    private static long version(Map<Long, AtomicLong> counters, long key) {
+        AtomicLong counter = counters.get(key);
+        return counter != null ? counter.get() : 0L;
+    }
+
+    private static void bump(Map<Long, AtomicLong> counters, long key) {
+        counters.computeIfAbsent(key, ignored -> new AtomicLong()).incrementAndGet();
+    }
+}
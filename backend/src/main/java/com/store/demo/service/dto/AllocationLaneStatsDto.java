@@ -0,0 +1,8 @@
+package com.store.demo.service.dto;
+
+public record AllocationLaneStatsDto(
+        int lane,
+        int queueDepth,
+        long acquisitions,
+        double averageWaitMillis,
+        double maxWaitMillis) {}
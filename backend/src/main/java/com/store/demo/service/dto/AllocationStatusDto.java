@@ -0,0 +1,15 @@
+package com.store.demo.service.dto;
+
+import java.util.List;
+
+public record AllocationStatusDto(
+        int laneCount,
+        boolean pessimisticLocking,
+        int maxAttempts,
+        long commands,
+        long retries,
+        long retriesExhausted,
+        long lockAcquisitions,
+        double averageLockWaitMillis,
+        double maxLockWaitMillis,
+        List<AllocationLaneStatsDto> activeLanes) {}
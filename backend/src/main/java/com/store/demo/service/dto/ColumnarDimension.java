@@ -0,0 +1,11 @@
+package com.store.demo.service.dto;
+
+public enum ColumnarDimension {
+    TYPE,
+    PROJECT,
+    MATERIAL,
+    SUPPLIER,
+    VEHICLE,
+    DAY,
+    MONTH
+}
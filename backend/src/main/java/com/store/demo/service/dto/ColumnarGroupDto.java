@@ -0,0 +1,14 @@
+package com.store.demo.service.dto;
+
+import java.util.Map;
+
+public record ColumnarGroupDto(
+        Map<String, String> key,
+        long inwardCount,
+        long outwardCount,
+        double quantityIn,
+        double quantityOut,
+        double weightIn,
+        double weightOut,
+        long unitsIn,
+        long unitsOut) {}
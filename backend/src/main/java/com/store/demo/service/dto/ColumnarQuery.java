@@ -0,0 +1,14 @@
+package com.store.demo.service.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ColumnarQuery(
+        List<ColumnarDimension> groupBy,
+        LocalDate fromDate,
+        LocalDate toDate,
+        String type,
+        Long projectId,
+        Long materialId,
+        String supplier,
+        String vehicleNumber) {}
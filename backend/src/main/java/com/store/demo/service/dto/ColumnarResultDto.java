@@ -0,0 +1,6 @@
+package com.store.demo.service.dto;
+
+import java.util.List;
+
+public record ColumnarResultDto(
+        List<ColumnarGroupDto> groups, long rowsScanned, long rowsMatched, long elapsedMicros) {}
@@ -0,0 +1,16 @@
+package com.store.demo.service.dto;
+
+/**
+ * Byte figures count the column arrays only, at {@code bytesPerRow} each; dictionaries and object overhead are left
+ * out, so they are estimates rather than measured heap use.
+ */
+public record ColumnarStatsDto(
+        boolean enabled,
+        boolean loaded,
+        long rows,
+        long capacity,
+        long dictionaryEntries,
+        long bytesPerRow,
+        long usedColumnBytes,
+        long allocatedColumnBytes,
+        long estimatedColumnBytesPerMillionMovements) {}
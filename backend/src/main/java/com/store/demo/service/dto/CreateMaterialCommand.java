@@ -5,4 +5,5 @@ public record CreateMaterialCommand(
         String code,
         String unit,
         String category,
-        Double initialQuantity) {}
+        Double initialQuantity,
+        Integer minimumStock) {}
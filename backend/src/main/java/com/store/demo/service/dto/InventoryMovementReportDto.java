@@ -6,5 +6,9 @@ public record InventoryMovementReportDto(
         List<ProjectDto> projects,
         ProjectDto selectedProject,
         List<MovementDto> movements,
+        long totalInCount,
         double totalInQuantity,
-        double totalOutQuantity) {}
+        long totalOutCount,
+        double totalOutQuantity,
+        String nextCursor,
+        boolean hasMore) {}
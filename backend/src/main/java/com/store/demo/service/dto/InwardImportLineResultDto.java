@@ -0,0 +1,3 @@
+package com.store.demo.service.dto;
+
+public record InwardImportLineResultDto(long lineNumber, String status, Long movementId, String message) {}
@@ -0,0 +1,11 @@
+package com.store.demo.service.dto;
+
+import java.util.List;
+
+public record InwardImportReportDto(
+        long totalLines,
+        long importedLines,
+        long rejectedLines,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<InwardImportLineResultDto> lines) {}
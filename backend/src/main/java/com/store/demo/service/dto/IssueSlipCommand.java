@@ -0,0 +1,14 @@
+package com.store.demo.service.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record IssueSlipCommand(
+        Long projectId,
+        IssueSlipMode mode,
+        LocalDate handoverDate,
+        String handoverName,
+        String handoverDesignation,
+        String storeInchargeName,
+        String remarks,
+        List<IssueSlipLineCommand> lines) {}
@@ -0,0 +1,3 @@
+package com.store.demo.service.dto;
+
+public record IssueSlipLineCommand(Long materialId, double quantity, String remarks) {}
@@ -0,0 +1,10 @@
+package com.store.demo.service.dto;
+
+public record IssueSlipLineResultDto(
+        int lineNumber,
+        Long materialId,
+        String materialName,
+        double requestedQuantity,
+        double issuedQuantity,
+        double shortfallQuantity,
+        MovementDto movement) {}
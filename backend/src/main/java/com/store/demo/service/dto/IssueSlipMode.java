@@ -0,0 +1,6 @@
+package com.store.demo.service.dto;
+
+public enum IssueSlipMode {
+    STRICT,
+    PARTIAL
+}
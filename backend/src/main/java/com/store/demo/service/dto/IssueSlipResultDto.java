@@ -0,0 +1,9 @@
+package com.store.demo.service.dto;
+
+import java.util.List;
+
+public record IssueSlipResultDto(
+        Long projectId,
+        IssueSlipMode mode,
+        boolean fullyIssued,
+        List<IssueSlipLineResultDto> lines) {}
@@ -0,0 +1,14 @@
+package com.store.demo.service.dto;
+
+import java.time.OffsetDateTime;
+
+public record LowStockAlertDto(
+        Long materialId,
+        String code,
+        String name,
+        String unit,
+        String category,
+        int minimumStock,
+        double onHandQuantity,
+        double shortage,
+        OffsetDateTime lowSince) {}
@@ -0,0 +1,9 @@
+package com.store.demo.service.dto;
+
+public record MaterialCatalogQuery(
+        String category,
+        String codePrefix,
+        boolean lowStock,
+        Integer page,
+        Integer size,
+        String sort) {}
@@ -0,0 +1,3 @@
+package com.store.demo.service.dto;
+
+public record MaterialSearchHitDto(Long id, String code, String name, String unit, String category, int score) {}
@@ -0,0 +1,3 @@
+package com.store.demo.service.dto;
+
+public record MaterialSearchQuery(String text, Integer page, Integer size) {}
@@ -0,0 +1,13 @@
+package com.store.demo.service.dto;
+
+import java.time.LocalDate;
+
+public record MovementReportQuery(
+        Long projectId,
+        LocalDate fromDate,
+        LocalDate toDate,
+        Long materialId,
+        String type,
+        String supplier,
+        String cursor,
+        Integer size) {}
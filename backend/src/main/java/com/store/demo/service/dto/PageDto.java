@@ -0,0 +1,5 @@
+package com.store.demo.service.dto;
+
+import java.util.List;
+
+public record PageDto<T>(List<T> content, int page, int size, long totalElements, int totalPages) {}
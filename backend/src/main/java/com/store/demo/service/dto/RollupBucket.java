@@ -0,0 +1,7 @@
+package com.store.demo.service.dto;
+
+public enum RollupBucket {
+    DAY,
+    WEEK,
+    MONTH
+}
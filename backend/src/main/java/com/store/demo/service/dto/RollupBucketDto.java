@@ -0,0 +1,15 @@
+package com.store.demo.service.dto;
+
+import java.time.LocalDate;
+
+public record RollupBucketDto(
+        LocalDate startDate,
+        LocalDate endDate,
+        double quantityIn,
+        double quantityOut,
+        double weightIn,
+        double weightOut,
+        long unitsIn,
+        long unitsOut,
+        long inwardCount,
+        long outwardCount) {}
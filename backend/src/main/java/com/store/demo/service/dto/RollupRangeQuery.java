@@ -0,0 +1,10 @@
+package com.store.demo.service.dto;
+
+import java.time.LocalDate;
+
+public record RollupRangeQuery(
+        LocalDate fromDate,
+        LocalDate toDate,
+        RollupBucket bucket,
+        Long projectId,
+        Long materialId) {}
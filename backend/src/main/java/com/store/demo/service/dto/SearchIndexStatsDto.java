@@ -0,0 +1,10 @@
+package com.store.demo.service.dto;
+
+public record SearchIndexStatsDto(
+        boolean loaded,
+        long materials,
+        long slots,
+        long tombstones,
+        long grams,
+        long postings,
+        long estimatedBytes) {}
@@ -0,0 +1,22 @@
+package com.store.demo.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Stock of one material in one scope at the end of {@code asOf}. {@code checkpointDay} is the checkpoint the answer
+ * started from, or {@code null} when none precedes the date; {@code daysReplayed} counts the daily rollups added on.
+ */
+public record StockAsOfDto(
+        Long projectId,
+        Long materialId,
+        LocalDate asOf,
+        LocalDate checkpointDay,
+        int daysReplayed,
+        double quantityIn,
+        double quantityOut,
+        double onHandQuantity,
+        double weightIn,
+        double weightOut,
+        double onHandWeight,
+        long unitsIn,
+        long unitsOut) {}
@@ -0,0 +1,8 @@
+package com.store.demo.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A project id of {@code 0} is the general store; a missing date means today.
+ */
+public record StockAsOfQuery(Long projectId, Long materialId, LocalDate date) {}
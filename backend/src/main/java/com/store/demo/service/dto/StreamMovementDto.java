@@ -0,0 +1,19 @@
+package com.store.demo.service.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A movement pushed to stream subscribers of its scope. {@code onHandDelta} is the signed change to the material's
+ * on-hand quantity in that scope; {@code scopeVersion} is the scope version including this movement.
+ */
+public record StreamMovementDto(
+        Long movementId,
+        String type,
+        Long projectId,
+        Long materialId,
+        double quantity,
+        double onHandDelta,
+        double weight,
+        long units,
+        OffsetDateTime movementTime,
+        long scopeVersion) {}
@@ -0,0 +1,7 @@
+package com.store.demo.service.dto;
+
+/**
+ * Tells a stream subscriber to reload its snapshot. Movements with a scope version not above {@code scopeVersion} are
+ * already part of any snapshot loaded after this event.
+ */
+public record StreamResyncDto(String reason, long scopeVersion) {}
@@ -0,0 +1,11 @@
+package com.store.demo.service.dto;
+
+public record StreamStatsDto(
+        int subscribers,
+        int maxSubscribers,
+        int bufferSize,
+        long delivered,
+        long dropped,
+        long resyncs,
+        long rejected,
+        long stalledWrites) {}
@@ -1,3 +1,6 @@
 package com.store.demo.service.dto;
 
-public record UpdateMaterialCommand(String name, String code, String unit, String category) {}
+/**
+ * A {@code null} minimum stock keeps the current threshold.
+ */
+public record UpdateMaterialCommand(String name, String code, String unit, String category, Integer minimumStock) {}
@@ -0,0 +1,19 @@
+package com.store.demo.service.event;
+
+/**
+ * Published when projects, materials or the links between them are created, changed or removed.
+ */
+public record CatalogChangedEvent(Kind kind, Change change, Long projectId, Long materialId) {
+
+    public enum Kind {
+        PROJECT,
+        MATERIAL,
+        PROJECT_MATERIAL
+    }
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
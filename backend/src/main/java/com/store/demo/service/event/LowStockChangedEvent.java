@@ -0,0 +1,9 @@
+package com.store.demo.service.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when a material's total on-hand quantity crosses its minimum stock, in either direction. {@code low} is
+ * true when the material has just fallen below the threshold and false when it has recovered.
+ */
+public record LowStockChangedEvent(Long materialId, boolean low, BigDecimal onHandQuantity, int minimumStock) {}
@@ -0,0 +1,29 @@
+package com.store.demo.service.event;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Published whenever a movement is applied to the stock balances. Listeners that keep derived state should react
+ * after commit so that rolled back movements are never counted. Supplier and vehicle are only known for inward
+ * movements.
+ */
+public record MovementRecordedEvent(
+        String type,
+        Long movementId,
+        long scopeId,
+        Long materialId,
+        BigDecimal quantity,
+        BigDecimal weight,
+        long units,
+        OffsetDateTime movementTime,
+        String supplier,
+        String vehicleNumber) {
+
+    public static final String IN = "IN";
+    public static final String OUT = "OUT";
+
+    public boolean isInward() {
+        return IN.equals(type);
+    }
+}
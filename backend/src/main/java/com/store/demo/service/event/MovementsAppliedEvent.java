@@ -0,0 +1,6 @@
+package com.store.demo.service.event;
+
+import java.util.List;
+
+/** Published inside the writing transaction with every movement one call applied to the stock balances. */
+public record MovementsAppliedEvent(List<MovementRecordedEvent> movements) {}
@@ -0,0 +1,7 @@
+package com.store.demo.service.event;
+
+/**
+ * Published after every stock balance has been recomputed from the movement history. State derived from individual
+ * movement events may have drifted and should be reloaded.
+ */
+public record StockBalancesRebuiltEvent(long balanceCount) {}
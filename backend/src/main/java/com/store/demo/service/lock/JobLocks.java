@@ -0,0 +1,76 @@
+package com.store.demo.service.lock;
+
+import com.store.demo.domain.JobLock;
+import com.store.demo.repository.JobLockRepository;
+import com.store.demo.service.mapper.DtoMapper;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Named lease locks shared by every instance through the {@code job_locks} table, for jobs that must not overlap. */
+@Component
+public class JobLocks {
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DtoMapper mapper;
+    private final String owner;
+
+    public JobLocks(JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager, DtoMapper mapper) {
+        this.jobLockRepository = jobLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mapper = mapper;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    /** Runs the action while holding the named lock, or returns {@code false} when another holder has it. */
+    public boolean runExclusive(String name, Duration lease, Runnable action) {
+        if (!tryAcquire(name, lease)) {
+            return false;
+        }
+        try {
+            action.run();
+            return true;
+        } finally {
+            release(name);
+        }
+    }
+
+    private boolean tryAcquire(String name, Duration lease) {
+        try {
+            Boolean acquired = transactionTemplate.execute(status -> {
+                OffsetDateTime now = now();
+                if (!jobLockRepository.existsById(name)) {
+                    JobLock lock = new JobLock();
+                    lock.setName(name);
+                    lock.setLockedUntil(now);
+                    lock.setLockedAt(now);
+                    lock.setLockedBy(owner);
+                    jobLockRepository.saveAndFlush(lock);
+                }
+                return jobLockRepository.acquire(name, now, now.plus(lease), owner) == 1;
+            });
+            return Boolean.TRUE.equals(acquired);
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance created the row at the same moment, and is taking the lock.
+            return false;
+        }
+    }
+
+    private void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.release(name, now(), owner));
+    }
+
+    /** Truncated so that a stored time, rounded to the column's precision, never lands after the one compared to it. */
+    private OffsetDateTime now() {
+        return mapper.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,376 @@
+package com.store.demo.service.search;
+
+import com.store.demo.domain.Material;
+import com.store.demo.repository.MaterialRepository;
+import com.store.demo.service.dto.MaterialSearchHitDto;
+import com.store.demo.service.dto.MaterialSearchQuery;
+import com.store.demo.service.dto.PageDto;
+import com.store.demo.service.dto.SearchIndexStatsDto;
+import com.store.demo.service.event.CatalogChangedEvent;
+import com.store.demo.web.error.BadRequestException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** In-memory trigram and prefix search over material code, name and category, kept in sync from catalog events. */
+@Component
+public class MaterialSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 100;
+    // Deep pages keep every hit before them in the heap, so paging stops here; refine the query instead.
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(hit -> hit.document().code(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(hit -> hit.document().id());
+
+    private final MaterialRepository materialRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private Document[] documents = new Document[1024];
+    private int slotCount;
+    private int tombstones;
+    private long postingCount;
+    private volatile boolean loaded;
+
+    public MaterialSearchIndex(MaterialRepository materialRepository) {
+        this.materialRepository = materialRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            rebuild(materialRepository.findAll().stream().map(Document::of).toList());
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.kind() != CatalogChangedEvent.Kind.MATERIAL || event.materialId() == null) {
+            return;
+        }
+        Document document = event.change() == CatalogChangedEvent.Change.DELETED
+                ? null
+                : materialRepository.findById(event.materialId()).map(Document::of).orElse(null);
+        lock.writeLock().lock();
+        try {
+            remove(event.materialId());
+            if (document != null) {
+                add(document);
+            }
+            if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones * 4 >= slotCount) {
+                rebuild(liveDocuments());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns materials matching every word of the query, best first. A word matches the start of any word of the
+     * code, name or category, or anywhere inside one once it has three or more characters. Exact and leading code
+     * matches rank above name matches, which rank above category matches.
+     */
+    public PageDto<MaterialSearchHitDto> search(MaterialSearchQuery query) {
+        String text = query.text() != null ? query.text().trim() : "";
+        if (text.isEmpty()) {
+            throw new BadRequestException("Search text is required");
+        }
+        if (text.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search text must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int page = query.page() != null ? query.page() : 0;
+        int size = query.size() != null ? query.size() : DEFAULT_PAGE_SIZE;
+        if (page < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (((long) page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Only the first " + MAX_RESULT_WINDOW + " hits can be paged through");
+        }
+        String[] terms = tokens(text);
+        if (terms.length == 0) {
+            return new PageDto<>(List.of(), page, size, 0, 0);
+        }
+        String compactQuery = String.join("", terms);
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (String term : terms) {
+                int[] matches = candidates(term);
+                candidates = candidates == null ? matches : IntList.intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    break;
+                }
+            }
+            // Only the hits up to the requested page are kept, worst on top so it can be evicted.
+            int limit = (page + 1) * size;
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, 1024) + 1, RANKING.reversed());
+            long total = 0;
+            for (int slot : candidates) {
+                Document document = documents[slot];
+                if (document == null) {
+                    continue;
+                }
+                int score = score(document, terms, compactQuery);
+                if (score < 0) {
+                    continue;
+                }
+                total++;
+                top.add(new Hit(document, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            List<MaterialSearchHitDto> content = ranked.stream()
+                    .skip((long) page * size)
+                    .map(hit -> hit.document().toDto(hit.score()))
+                    .toList();
+            int totalPages = (int) ((total + size - 1) / size);
+            return new PageDto<>(content, page, size, total, totalPages);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchIndexStatsDto stats() {
+        lock.readLock().lock();
+        try {
+            long materials = slotsById.size();
+            // Rough heap estimate: 4 bytes per posting, ~100 bytes per gram entry, ~200 bytes per indexed material.
+            long estimatedBytes = postingCount * Integer.BYTES + postings.size() * 100L + materials * 200L;
+            return new SearchIndexStatsDto(
+                    loaded, materials, slotCount, tombstones, postings.size(), postingCount, estimatedBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidates(String term) {
+        if (term.length() < GRAM) {
+            IntList list = postings.get(prefixKey(term));
+            return list != null ? list.toArray() : new int[0];
+        }
+        int[] result = null;
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            IntList list = postings.get(term.substring(i, i + GRAM));
+            if (list == null) {
+                return new int[0];
+            }
+            result = result == null ? list.toArray() : IntList.intersect(result, list.toArray());
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /** Scores a candidate, or returns -1 when a term only shared trigrams with it without actually occurring. */
+    private static int score(Document document, String[] terms, String compactQuery) {
+        int score = 0;
+        if (document.compactCode().equals(compactQuery)) {
+            score += 1000;
+        } else if (document.compactCode().startsWith(compactQuery)) {
+            score += 500;
+        }
+        for (String term : terms) {
+            int best = Math.max(
+                    Math.max(match(document.codeWords(), term, 60, 25),
+                            document.compactCode().contains(term) ? (document.compactCode().startsWith(term) ? 60 : 25) : -1),
+                    Math.max(match(document.nameWords(), term, 40, 15), match(document.categoryWords(), term, 10, 5)));
+            if (best < 0) {
+                return -1;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private static int match(String[] words, String term, int prefixScore, int infixScore) {
+        int best = -1;
+        for (String word : words) {
+            if (word.startsWith(term)) {
+                return prefixScore;
+            }
+            if (term.length() >= GRAM && word.contains(term)) {
+                best = infixScore;
+            }
+        }
+        return best;
+    }
+
+    private void add(Document document) {
+        int slot = slotCount++;
+        if (slot == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        documents[slot] = document;
+        slotsById.put(document.id(), slot);
+        for (String key : document.keys()) {
+            postings.computeIfAbsent(key, k -> new IntList()).add(slot);
+            postingCount++;
+        }
+    }
+
+    private void remove(Long materialId) {
+        Integer slot = slotsById.remove(materialId);
+        if (slot != null) {
+            // Postings keep pointing at the slot; readers skip it until the next rebuild.
+            documents[slot] = null;
+            tombstones++;
+        }
+    }
+
+    private void rebuild(List<Document> source) {
+        postings.clear();
+        slotsById.clear();
+        documents = new Document[Math.max(1024, source.size() * 2)];
+        slotCount = 0;
+        tombstones = 0;
+        postingCount = 0;
+        source.forEach(this::add);
+    }
+
+    private List<Document> liveDocuments() {
+        List<Document> live = new ArrayList<>(slotsById.size());
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (documents[slot] != null) {
+                live.add(documents[slot]);
+            }
+        }
+        return live;
+    }
+
+    private static String prefixKey(String prefix) {
+        return "^" + prefix;
+    }
+
+    private static String[] tokens(String value) {
+        if (value == null || value.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private record Hit(Document document, int score) {}
+
+    private record Document(
+            Long id,
+            String code,
+            String name,
+            String unit,
+            String category,
+            String compactCode,
+            String[] codeWords,
+            String[] nameWords,
+            String[] categoryWords) {
+
+        private static Document of(Material material) {
+            String[] codeWords = tokens(material.getCode());
+            return new Document(
+                    material.getId(),
+                    material.getCode(),
+                    material.getName(),
+                    material.getUnit(),
+                    material.getCategory(),
+                    String.join("", codeWords),
+                    codeWords,
+                    tokens(material.getName()),
+                    tokens(material.getCategory()));
+        }
+
+        /** Distinct trigram and prefix keys of every indexed word, so each slot appears once per posting list. */
+        private List<String> keys() {
+            Set<String> keys = new LinkedHashSet<>();
+            addKeys(keys, compactCode);
+            for (String[] words : List.of(codeWords, nameWords, categoryWords)) {
+                for (String word : words) {
+                    addKeys(keys, word);
+                }
+            }
+            return new ArrayList<>(keys);
+        }
+
+        private static void addKeys(Set<String> keys, String word) {
+            for (int length = 1; length < GRAM && length <= word.length(); length++) {
+                keys.add(prefixKey(word.substring(0, length)));
+            }
+            for (int i = 0; i + GRAM <= word.length(); i++) {
+                keys.add(word.substring(i, i + GRAM));
+            }
+        }
+
+        private MaterialSearchHitDto toDto(int score) {
+            return new MaterialSearchHitDto(id, code, name, unit, category, score);
+        }
+    }
+
+    /**
+     * A growable int array. Slots are always appended in increasing order, so every list stays sorted.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        private static int[] intersect(int[] left, int[] right) {
+            int[] result = new int[Math.min(left.length, right.length)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < left.length && j < right.length) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result[count++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.store.demo.service.stream;
+
+import com.store.demo.domain.Quantity;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.service.cache.ScopeVersions;
+import com.store.demo.service.dto.StreamMovementDto;
+import com.store.demo.service.dto.StreamResyncDto;
+import com.store.demo.service.dto.StreamStatsDto;
+import com.store.demo.service.event.CatalogChangedEvent;
+import com.store.demo.service.event.LowStockChangedEvent;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.service.event.StockBalancesRebuiltEvent;
+import com.store.demo.web.error.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Fans committed writes out to the Server-Sent Event subscribers of one scope. */
+@Component
+public class DashboardStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamHub.class);
+
+    private static final Message HEARTBEAT = new Message(null, null);
+
+    private final ScopeVersions scopeVersions;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final int deliveryThreads;
+    private final int maxStalledWrites;
+    private final ThreadPoolExecutor delivery;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Map<Long, Set<Subscriber>> subscribersByScope = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder stalledWrites = new LongAdder();
+    private int lentThreads;
+
+    public DashboardStreamHub(
+            ScopeVersions scopeVersions,
+            @Value("${app.inventory.stream.max-subscribers:5000}") int maxSubscribers,
+            @Value("${app.inventory.stream.buffer-size:256}") int bufferSize,
+            @Value("${app.inventory.stream.timeout:30m}") Duration timeout,
+            @Value("${app.inventory.stream.heartbeat:25s}") Duration heartbeatInterval,
+            @Value("${app.inventory.stream.delivery-threads:4}") int deliveryThreads,
+            @Value("${app.inventory.stream.write-timeout:10s}") Duration writeTimeout,
+            @Value("${app.inventory.stream.max-stalled-writes:32}") int maxStalledWrites) {
+        if (bufferSize < 1 || deliveryThreads < 1) {
+            throw new IllegalArgumentException("Stream buffer size and delivery threads must be positive");
+        }
+        this.scopeVersions = scopeVersions;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.deliveryThreads = deliveryThreads;
+        this.maxStalledWrites = Math.max(0, maxStalledWrites);
+        this.delivery = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("dashboard-stream-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("dashboard-stream-heartbeat"));
+        long period = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, period, period, TimeUnit.MILLISECONDS);
+        long watchdogPeriod = Math.max(50, writeTimeout.toMillis() / 4);
+        heartbeat.scheduleAtFixedRate(this::dropStalledSubscribers, watchdogPeriod, watchdogPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long projectId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many live dashboard connections, please poll instead");
+        }
+        long scopeId = projectId != null ? projectId : StockBalance.GENERAL_SCOPE;
+        Subscriber subscriber = new Subscriber(scopeId, newEmitter(timeoutMillis));
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        subscribersByScope.computeIfAbsent(scopeId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.requestResync("connected");
+        return subscriber.emitter;
+    }
+
+    public StreamStatsDto stats() {
+        return new StreamStatsDto(
+                subscriberCount.get(),
+                maxSubscribers,
+                bufferSize,
+                delivered.sum(),
+                dropped.sum(),
+                resyncs.sum(),
+                rejected.sum(),
+                stalledWrites.sum());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovementRecorded(MovementRecordedEvent event) {
+        Set<Subscriber> subscribers = subscribersByScope.get(event.scopeId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Long projectId = event.scopeId() == StockBalance.GENERAL_SCOPE ? null : event.scopeId();
+        double quantity = Quantity.of(event.quantity()).toDouble();
+        Message message = new Message("movement", new StreamMovementDto(
+                event.movementId(),
+                event.type(),
+                projectId,
+                event.materialId(),
+                quantity,
+                event.isInward() ? quantity : -quantity,
+                Quantity.of(event.weight()).toDouble(),
+                event.units(),
+                event.movementTime(),
+                scopeVersions.scopeVersion(projectId)));
+        subscribers.forEach(subscriber -> subscriber.offer(message));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        Message message = new Message("catalog", event);
+        if (event.projectId() != null) {
+            Set<Subscriber> subscribers = subscribersByScope.get(event.projectId());
+            if (subscribers != null) {
+                subscribers.forEach(subscriber -> subscriber.offer(message));
+            }
+        } else {
+            forEachSubscriber(subscriber -> subscriber.offer(message));
+        }
+    }
+
+    /** Low-stock crossings are already published after commit, so they are forwarded as they arrive. */
+    @EventListener
+    public void onLowStockChanged(LowStockChangedEvent event) {
+        Message message = new Message("low-stock", event);
+        forEachSubscriber(subscriber -> subscriber.offer(message));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalancesRebuilt(StockBalancesRebuiltEvent event) {
+        forEachSubscriber(subscriber -> subscriber.requestResync("rebuilt"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        delivery.shutdownNow();
+        forEachSubscriber(subscriber -> subscriber.emitter.complete());
+    }
+
+    /** Package-private so tests can stand in for the servlet response. */
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void sendHeartbeats() {
+        forEachSubscriber(Subscriber::heartbeat);
+    }
+
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        forEachSubscriber(subscriber -> subscriber.dropIfStalled(now));
+    }
+
+    /** Grows the pool by one thread while a stalled write holds one, and returns whether a thread was lent. */
+    private synchronized boolean lendThread() {
+        if (lentThreads >= maxStalledWrites) {
+            return false;
+        }
+        lentThreads++;
+        delivery.setMaximumPoolSize(deliveryThreads + lentThreads);
+        delivery.setCorePoolSize(deliveryThreads + lentThreads);
+        return true;
+    }
+
+    private synchronized void returnThread() {
+        lentThreads--;
+        delivery.setCorePoolSize(deliveryThreads + lentThreads);
+        delivery.setMaximumPoolSize(deliveryThreads + lentThreads);
+    }
+
+    private void forEachSubscriber(Consumer<Subscriber> action) {
+        for (Set<Subscriber> subscribers : subscribersByScope.values()) {
+            subscribers.forEach(action);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Message(String name, Object data) {}
+
+    private final class Subscriber {
+
+        private final long scopeId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Message> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile String pendingResync;
+        private volatile long writingSince;
+        private boolean stalled;
+        private boolean lent;
+        private long sequence;
+
+        private Subscriber(long scopeId, SseEmitter emitter) {
+            this.scopeId = scopeId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Message message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                // Too far behind: the queued deltas are useless without the dropped one, so replace them all.
+                dropped.add(queue.size() + 1L);
+                requestResync("overflow");
+                queue.clear();
+                return;
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            // A full queue already keeps the connection busy; no need to push past it.
+            if (!closed.get() && queue.offer(HEARTBEAT)) {
+                schedule();
+            }
+        }
+
+        private void requestResync(String reason) {
+            pendingResync = reason;
+            schedule();
+        }
+
+        private void schedule() {
+            if (closed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                delivery.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    String resync = pendingResync;
+                    if (resync != null) {
+                        pendingResync = null;
+                        send("resync", new StreamResyncDto(resync, scopeVersions.scopeVersion(
+                                scopeId == StockBalance.GENERAL_SCOPE ? null : scopeId)));
+                        resyncs.increment();
+                        continue;
+                    }
+                    Message message = queue.poll();
+                    if (message == null) {
+                        break;
+                    }
+                    if (message == HEARTBEAT) {
+                        write(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        send(message.name(), message.data());
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping dashboard stream subscriber for scope {}: {}", scopeId, e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // Something may have been queued after the last poll but before the flag was cleared.
+            if (!queue.isEmpty() || pendingResync != null) {
+                schedule();
+            }
+        }
+
+        private void send(String name, Object data) throws IOException {
+            write(SseEmitter.event()
+                    .id(Long.toString(++sequence))
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON));
+            delivered.increment();
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            writingSince = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                writingSince = 0;
+                releaseStall();
+            }
+        }
+
+        /** Runs on the watchdog: stops feeding a subscriber whose write has been blocked too long. */
+        private void dropIfStalled(long now) {
+            synchronized (this) {
+                long since = writingSince;
+                if (stalled || since == 0 || now - since < writeTimeoutNanos) {
+                    return;
+                }
+                stalled = true;
+                lent = lendThread();
+            }
+            stalledWrites.increment();
+            log.warn("Dropping dashboard stream subscriber for scope {}: write blocked for over {} ms",
+                    scopeId, TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+            close();
+        }
+
+        /** Called once the write has returned; {@code writingSince} is already cleared, so the watchdog skips it. */
+        private synchronized void releaseStall() {
+            if (stalled) {
+                stalled = false;
+                if (lent) {
+                    lent = false;
+                    returnThread();
+                }
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            queue.clear();
+            Set<Subscriber> subscribers = subscribersByScope.get(scopeId);
+            if (subscribers != null) {
+                subscribers.remove(this);
+            }
+            subscriberCount.decrementAndGet();
+        }
+    }
+}
@@ -1,17 +1,52 @@
 package com.store.demo.web;
 
 import com.store.demo.domain.UserAccount;
+import com.store.demo.repository.MovementFilter;
 import com.store.demo.service.InventoryService;
+import com.store.demo.service.MovementExportService;
+import com.store.demo.service.StockBalanceService;
 import com.store.demo.service.UserAccountService;
+import com.store.demo.service.allocation.AllocationEngine;
+import com.store.demo.service.analytics.ColumnarMovementStore;
+import com.store.demo.service.analytics.DailyRollupService;
+import com.store.demo.service.analytics.StockCheckpointService;
+import com.store.demo.service.cache.InventoryReadCache;
 import com.store.demo.service.notification.NotificationService;
+import com.store.demo.service.search.MaterialSearchIndex;
+import com.store.demo.service.stream.DashboardStreamHub;
+import com.store.demo.service.dto.AllocationStatusDto;
+import com.store.demo.service.dto.CacheStatsDto;
+import com.store.demo.service.dto.ColumnarDimension;
+import com.store.demo.service.dto.ColumnarQuery;
+import com.store.demo.service.dto.ColumnarResultDto;
+import com.store.demo.service.dto.ColumnarStatsDto;
 import com.store.demo.service.dto.InventoryMovementReportDto;
+import com.store.demo.service.dto.MovementExportFormat;
+import com.store.demo.service.dto.MovementReportQuery;
+import com.store.demo.service.dto.RollupBucket;
+import com.store.demo.service.dto.RollupBucketDto;
+import com.store.demo.service.dto.RollupRangeQuery;
+import com.store.demo.service.dto.SearchIndexStatsDto;
+import com.store.demo.service.dto.StreamStatsDto;
+import com.store.demo.web.dto.CheckpointRebuildResponse;
 import com.store.demo.web.dto.CreateBackofficeUserRequest;
 import com.store.demo.web.dto.CreateBackofficeUserResponse;
 import com.store.demo.web.dto.InventoryAnalyticsResponse;
+import com.store.demo.web.dto.RollupRebuildResponse;
+import com.store.demo.web.dto.StockBalanceRebuildResponse;
 import com.store.demo.web.dto.UserResponse;
+import com.store.demo.web.error.BadRequestException;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -20,6 +55,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -29,14 +65,41 @@ public class AdminController {
     private final UserAccountService userAccountService;
     private final NotificationService notificationService;
     private final InventoryService inventoryService;
+    private final StockBalanceService stockBalanceService;
+    private final AllocationEngine allocationEngine;
+    private final MovementExportService movementExportService;
+    private final InventoryReadCache readCache;
+    private final DailyRollupService dailyRollupService;
+    private final ColumnarMovementStore columnarMovementStore;
+    private final MaterialSearchIndex materialSearchIndex;
+    private final DashboardStreamHub streamHub;
+    private final StockCheckpointService stockCheckpointService;
 
     public AdminController(
             UserAccountService userAccountService,
             NotificationService notificationService,
-            InventoryService inventoryService) {
+            InventoryService inventoryService,
+            StockBalanceService stockBalanceService,
+            AllocationEngine allocationEngine,
+            MovementExportService movementExportService,
+            InventoryReadCache readCache,
+            DailyRollupService dailyRollupService,
+            ColumnarMovementStore columnarMovementStore,
+            MaterialSearchIndex materialSearchIndex,
+            DashboardStreamHub streamHub,
+            StockCheckpointService stockCheckpointService) {
         this.userAccountService = userAccountService;
         this.notificationService = notificationService;
         this.inventoryService = inventoryService;
+        this.stockBalanceService = stockBalanceService;
+        this.allocationEngine = allocationEngine;
+        this.movementExportService = movementExportService;
+        this.readCache = readCache;
+        this.dailyRollupService = dailyRollupService;
+        this.columnarMovementStore = columnarMovementStore;
+        this.materialSearchIndex = materialSearchIndex;
+        this.streamHub = streamHub;
+        this.stockCheckpointService = stockCheckpointService;
     }
 
     @GetMapping("/users")
@@ -56,13 +119,146 @@ public class AdminController {
     }
 
     @GetMapping("/analytics/inventory")
-    public InventoryAnalyticsResponse getInventoryAnalytics() {
-        return inventoryService.getInventoryAnalytics();
+    public InventoryAnalyticsResponse getInventoryAnalytics(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return inventoryService.getInventoryAnalytics(from, to);
     }
 
     @GetMapping("/analytics/movements")
     public InventoryMovementReportDto getInventoryMovementReport(
-            @RequestParam(value = "projectId", required = false) Long projectId) {
-        return inventoryService.getInventoryMovementReport(projectId);
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "materialId", required = false) Long materialId,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "supplier", required = false) String supplier,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return inventoryService.getInventoryMovementReport(
+                new MovementReportQuery(projectId, from, to, materialId, type, supplier, cursor, size));
+    }
+
+    @GetMapping("/analytics/rollups")
+    public List<RollupBucketDto> getRollupSeries(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "bucket", defaultValue = "day") String bucket,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "materialId", required = false) Long materialId) {
+        return dailyRollupService.getSeries(
+                new RollupRangeQuery(from, to, parseRollupBucket(bucket), projectId, materialId));
+    }
+
+    @GetMapping("/analytics/columnar")
+    public ColumnarResultDto queryColumnarStore(
+            @RequestParam(value = "groupBy", required = false) String groupBy,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "materialId", required = false) Long materialId,
+            @RequestParam(value = "supplier", required = false) String supplier,
+            @RequestParam(value = "vehicleNumber", required = false) String vehicleNumber) {
+        return columnarMovementStore.query(new ColumnarQuery(
+                parseColumnarDimensions(groupBy), from, to, type, projectId, materialId, supplier, vehicleNumber));
+    }
+
+    @GetMapping("/analytics/columnar/stats")
+    public ColumnarStatsDto getColumnarStats() {
+        return columnarMovementStore.stats();
+    }
+
+    @GetMapping("/analytics/movements/export")
+    public ResponseEntity<StreamingResponseBody> exportMovements(
+            @RequestParam(value = "format", defaultValue = "csv") String formatName,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "materialId", required = false) Long materialId,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "supplier", required = false) String supplier) {
+        MovementExportFormat format = parseExportFormat(formatName);
+        MovementFilter filter = movementExportService.prepare(
+                new MovementReportQuery(projectId, from, to, materialId, type, supplier, null, null));
+        String fileName = "movements." + (format == MovementExportFormat.CSV ? "csv" : "ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : format == MovementExportFormat.CSV
+                        ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.parseMediaType("application/x-ndjson");
+        StreamingResponseBody body = output -> movementExportService.export(filter, format, gzip, output);
+        ContentDisposition disposition = ContentDisposition.attachment().filename(fileName).build();
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    @PostMapping("/stock-balances/rebuild")
+    public StockBalanceRebuildResponse rebuildStockBalances() {
+        return new StockBalanceRebuildResponse(stockBalanceService.rebuildFromHistory());
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public RollupRebuildResponse rebuildRollups() {
+        return new RollupRebuildResponse(dailyRollupService.rebuildFromHistory());
+    }
+
+    @PostMapping("/checkpoints/rebuild")
+    public CheckpointRebuildResponse rebuildCheckpoints() {
+        return new CheckpointRebuildResponse(stockCheckpointService.rebuildFromRollups());
+    }
+
+    @GetMapping("/caches")
+    public List<CacheStatsDto> getCacheStats() {
+        return readCache.stats();
+    }
+
+    @GetMapping("/search-index")
+    public SearchIndexStatsDto getSearchIndexStats() {
+        return materialSearchIndex.stats();
+    }
+
+    @GetMapping("/streams")
+    public StreamStatsDto getStreamStats() {
+        return streamHub.stats();
+    }
+
+    @GetMapping("/allocation")
+    public AllocationStatusDto getAllocationStatus() {
+        return allocationEngine.getStatus();
+    }
+
+    private MovementExportFormat parseExportFormat(String formatName) {
+        try {
+            return MovementExportFormat.valueOf(formatName.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Export format must be csv or ndjson");
+        }
+    }
+
+    private List<ColumnarDimension> parseColumnarDimensions(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return List.of();
+        }
+        try {
+            return Arrays.stream(groupBy.split(","))
+                    .map(name -> ColumnarDimension.valueOf(name.trim().toUpperCase(Locale.ROOT)))
+                    .distinct()
+                    .toList();
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(
+                    "Group-by dimensions must be type, project, material, supplier, vehicle, day or month");
+        }
+    }
+
+    private RollupBucket parseRollupBucket(String bucketName) {
+        try {
+            return RollupBucket.valueOf(bucketName.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Bucket must be day, week or month");
+        }
     }
 }
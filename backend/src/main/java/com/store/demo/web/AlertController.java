@@ -0,0 +1,26 @@
+package com.store.demo.web;
+
+import com.store.demo.service.alert.LowStockMonitor;
+import com.store.demo.service.dto.LowStockAlertDto;
+import java.util.List;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/alerts")
+public class AlertController {
+
+    private final LowStockMonitor lowStockMonitor;
+
+    public AlertController(LowStockMonitor lowStockMonitor) {
+        this.lowStockMonitor = lowStockMonitor;
+    }
+
+    @GetMapping("/low-stock")
+    @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
+    public List<LowStockAlertDto> getLowStockAlerts() {
+        return lowStockMonitor.getAlerts();
+    }
+}
@@ -0,0 +1,30 @@
+package com.store.demo.web;
+
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET support for polled endpoints. The body supplier only runs when the client's {@code If-None-Match}
+ * does not match, so an unchanged poll is answered with 304 without touching the database. A {@code null} tag means
+ * conditional responses are off, and the body is always sent.
+ */
+final class ConditionalResponses {
+
+    // Lets the browser keep the body privately but forces it to revalidate on every poll.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {}
+
+    static <T> ResponseEntity<T> withETag(WebRequest request, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+}
@@ -1,26 +1,49 @@
 package com.store.demo.web;
 
 import com.store.demo.service.DashboardService;
+import com.store.demo.service.cache.ScopeVersions;
 import com.store.demo.service.dto.ProjectDashboardDto;
+import com.store.demo.service.stream.DashboardStreamHub;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ScopeVersions scopeVersions;
+    private final DashboardStreamHub streamHub;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(
+            DashboardService dashboardService, ScopeVersions scopeVersions, DashboardStreamHub streamHub) {
         this.dashboardService = dashboardService;
+        this.scopeVersions = scopeVersions;
+        this.streamHub = streamHub;
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
-    public ProjectDashboardDto getDashboard(@RequestParam(value = "projectId", required = false) Long projectId) {
-        return dashboardService.getDashboard(projectId);
+    public ResponseEntity<ProjectDashboardDto> getDashboard(
+            @RequestParam(value = "projectId", required = false) Long projectId, WebRequest request) {
+        return ConditionalResponses.withETag(
+                request, scopeVersions.scopeTag(projectId), () -> dashboardService.getDashboard(projectId));
+    }
+
+    /**
+     * Pushes movements of the scope as Server-Sent Events. Clients reload the dashboard on every {@code resync} event,
+     * the first of which is sent on connect, and apply {@code movement} deltas in between.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
+    public SseEmitter streamDashboard(@RequestParam(value = "projectId", required = false) Long projectId) {
+        return streamHub.subscribe(projectId);
     }
 }
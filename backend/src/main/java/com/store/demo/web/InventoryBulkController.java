@@ -0,0 +1,68 @@
+package com.store.demo.web;
+
+import com.store.demo.service.InwardImportService;
+import com.store.demo.service.allocation.AllocationEngine;
+import com.store.demo.service.dto.InwardImportReportDto;
+import com.store.demo.service.dto.IssueSlipCommand;
+import com.store.demo.service.dto.IssueSlipLineCommand;
+import com.store.demo.service.dto.IssueSlipMode;
+import com.store.demo.service.dto.IssueSlipResultDto;
+import com.store.demo.web.dto.IssueSlipRequest;
+import com.store.demo.web.error.BadRequestException;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/inventory")
+@PreAuthorize("hasRole('BACKOFFICE')")
+public class InventoryBulkController {
+
+    private final InwardImportService inwardImportService;
+    private final AllocationEngine allocationEngine;
+
+    public InventoryBulkController(InwardImportService inwardImportService, AllocationEngine allocationEngine) {
+        this.inwardImportService = inwardImportService;
+        this.allocationEngine = allocationEngine;
+    }
+
+    @PostMapping(value = "/inwards/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public InwardImportReportDto importInwards(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        try (InputStream input = file.getInputStream()) {
+            return inwardImportService.importCsv(input);
+        } catch (IOException ex) {
+            throw new BadRequestException("Unable to read import file: " + ex.getMessage());
+        }
+    }
+
+    @PostMapping("/issue-slips")
+    @ResponseStatus(HttpStatus.CREATED)
+    public IssueSlipResultDto recordIssueSlip(@Valid @RequestBody IssueSlipRequest request) {
+        List<IssueSlipLineCommand> lines = request.lines().stream()
+                .map(line -> new IssueSlipLineCommand(line.materialId(), line.quantity(), line.remarks()))
+                .toList();
+        return allocationEngine.recordIssueSlip(new IssueSlipCommand(
+                request.projectId(),
+                request.mode() != null ? request.mode() : IssueSlipMode.STRICT,
+                request.handoverDate(),
+                request.handoverName(),
+                request.handoverDesignation(),
+                request.storeInchargeName(),
+                request.remarks(),
+                lines));
+    }
+}
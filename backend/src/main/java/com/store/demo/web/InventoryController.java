@@ -1,6 +1,6 @@
 package com.store.demo.web;
 
-import com.store.demo.service.InventoryService;
+import com.store.demo.service.allocation.AllocationEngine;
 import com.store.demo.service.dto.MovementDto;
 import com.store.demo.service.dto.RecordInwardCommand;
 import com.store.demo.service.dto.RecordOutwardCommand;
@@ -20,10 +20,10 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/projects/{projectId}/materials/{materialId}")
 public class InventoryController {
 
-    private final InventoryService inventoryService;
+    private final AllocationEngine allocationEngine;
 
-    public InventoryController(InventoryService inventoryService) {
-        this.inventoryService = inventoryService;
+    public InventoryController(AllocationEngine allocationEngine) {
+        this.allocationEngine = allocationEngine;
     }
 
     @PostMapping("/inwards")
@@ -33,7 +33,7 @@ public class InventoryController {
             @PathVariable Long projectId,
             @PathVariable Long materialId,
             @Valid @RequestBody RecordInwardRequest request) {
-        return inventoryService.recordInward(new RecordInwardCommand(
+        return allocationEngine.recordInward(new RecordInwardCommand(
                 projectId,
                 materialId,
                 request.deliveredQuantity(),
@@ -53,7 +53,7 @@ public class InventoryController {
             @PathVariable Long projectId,
             @PathVariable Long materialId,
             @Valid @RequestBody RecordOutwardRequest request) {
-        return inventoryService.recordOutward(new RecordOutwardCommand(
+        return allocationEngine.recordOutward(new RecordOutwardCommand(
                 projectId,
                 materialId,
                 request.quantity(),
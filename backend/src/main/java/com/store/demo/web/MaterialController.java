@@ -1,13 +1,20 @@
 package com.store.demo.web;
 
 import com.store.demo.service.MaterialService;
+import com.store.demo.service.cache.ScopeVersions;
 import com.store.demo.service.dto.CreateMaterialCommand;
+import com.store.demo.service.dto.MaterialCatalogQuery;
+import com.store.demo.service.dto.MaterialSearchHitDto;
+import com.store.demo.service.dto.MaterialSearchQuery;
 import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.PageDto;
+import com.store.demo.service.search.MaterialSearchIndex;
 import com.store.demo.web.dto.CreateMaterialRequest;
 import com.store.demo.web.dto.UpdateMaterialRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,23 +23,51 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/materials")
 public class MaterialController {
 
     private final MaterialService materialService;
+    private final ScopeVersions scopeVersions;
+    private final MaterialSearchIndex materialSearchIndex;
 
-    public MaterialController(MaterialService materialService) {
+    public MaterialController(
+            MaterialService materialService, ScopeVersions scopeVersions, MaterialSearchIndex materialSearchIndex) {
         this.materialService = materialService;
+        this.scopeVersions = scopeVersions;
+        this.materialSearchIndex = materialSearchIndex;
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
-    public List<MaterialSummaryDto> listMaterials() {
-        return materialService.findAllWithStock();
+    public ResponseEntity<List<MaterialSummaryDto>> listMaterials(WebRequest request) {
+        return ConditionalResponses.withETag(request, scopeVersions.globalTag(), materialService::findAllWithStock);
+    }
+
+    @GetMapping("/catalog")
+    @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
+    public PageDto<MaterialSummaryDto> getCatalog(
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "codePrefix", required = false) String codePrefix,
+            @RequestParam(value = "lowStock", defaultValue = "false") boolean lowStock,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", required = false) String sort) {
+        return materialService.findCatalog(new MaterialCatalogQuery(category, codePrefix, lowStock, page, size, sort));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
+    public PageDto<MaterialSearchHitDto> searchMaterials(
+            @RequestParam("q") String text,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return materialSearchIndex.search(new MaterialSearchQuery(text, page, size));
     }
 
     @PostMapping
@@ -40,7 +75,12 @@ public class MaterialController {
     @PreAuthorize("hasRole('BACKOFFICE')")
     public MaterialSummaryDto createMaterial(@Valid @RequestBody CreateMaterialRequest request) {
         return materialService.create(new CreateMaterialCommand(
-                request.name(), request.code(), request.unit(), request.category(), request.initialQuantity()));
+                request.name(),
+                request.code(),
+                request.unit(),
+                request.category(),
+                request.initialQuantity(),
+                request.minimumStock()));
     }
 
     @PutMapping("/{materialId}")
@@ -50,7 +90,7 @@ public class MaterialController {
         return materialService.update(
                 materialId,
                 new com.store.demo.service.dto.UpdateMaterialCommand(
-                        request.name(), request.code(), request.unit(), request.category()));
+                        request.name(), request.code(), request.unit(), request.category(), request.minimumStock()));
     }
 
     @DeleteMapping("/{materialId}")
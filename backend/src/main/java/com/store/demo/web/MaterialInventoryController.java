@@ -1,6 +1,6 @@
 package com.store.demo.web;
 
-import com.store.demo.service.InventoryService;
+import com.store.demo.service.allocation.AllocationEngine;
 import com.store.demo.service.dto.MovementDto;
 import com.store.demo.service.dto.RecordInwardCommand;
 import com.store.demo.service.dto.RecordOutwardCommand;
@@ -21,17 +21,17 @@ import org.springframework.web.bind.annotation.RestController;
 @PreAuthorize("hasRole('BACKOFFICE')")
 public class MaterialInventoryController {
 
-    private final InventoryService inventoryService;
+    private final AllocationEngine allocationEngine;
 
-    public MaterialInventoryController(InventoryService inventoryService) {
-        this.inventoryService = inventoryService;
+    public MaterialInventoryController(AllocationEngine allocationEngine) {
+        this.allocationEngine = allocationEngine;
     }
 
     @PostMapping("/inwards")
     @ResponseStatus(HttpStatus.CREATED)
     public MovementDto recordStandaloneInward(
             @PathVariable Long materialId, @Valid @RequestBody RecordInwardRequest request) {
-        return inventoryService.recordInward(new RecordInwardCommand(
+        return allocationEngine.recordInward(new RecordInwardCommand(
                 null,
                 materialId,
                 request.deliveredQuantity(),
@@ -48,7 +48,7 @@ public class MaterialInventoryController {
     @ResponseStatus(HttpStatus.CREATED)
     public MovementDto recordStandaloneOutward(
             @PathVariable Long materialId, @Valid @RequestBody RecordOutwardRequest request) {
-        return inventoryService.recordOutward(new RecordOutwardCommand(
+        return allocationEngine.recordOutward(new RecordOutwardCommand(
                 null,
                 materialId,
                 request.quantity(),
@@ -3,16 +3,23 @@ package com.store.demo.web;
 import com.store.demo.service.InventoryService;
 import com.store.demo.service.ProjectMaterialService;
 import com.store.demo.service.ProjectService;
+import com.store.demo.service.analytics.StockCheckpointService;
+import com.store.demo.service.cache.ScopeVersions;
 import com.store.demo.service.dto.CreateProjectCommand;
 import com.store.demo.service.dto.MaterialDetailDto;
 import com.store.demo.service.dto.MaterialStatsDto;
 import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.StockAsOfDto;
+import com.store.demo.service.dto.StockAsOfQuery;
 import com.store.demo.web.dto.CreateProjectRequest;
 import com.store.demo.web.dto.LinkMaterialRequest;
 import com.store.demo.web.dto.ProjectDetailResponse;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,8 +27,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -30,20 +39,26 @@ public class ProjectController {
     private final ProjectService projectService;
     private final ProjectMaterialService projectMaterialService;
     private final InventoryService inventoryService;
+    private final ScopeVersions scopeVersions;
+    private final StockCheckpointService stockCheckpointService;
 
     public ProjectController(
             ProjectService projectService,
             ProjectMaterialService projectMaterialService,
-            InventoryService inventoryService) {
+            InventoryService inventoryService,
+            ScopeVersions scopeVersions,
+            StockCheckpointService stockCheckpointService) {
         this.projectService = projectService;
         this.projectMaterialService = projectMaterialService;
         this.inventoryService = inventoryService;
+        this.scopeVersions = scopeVersions;
+        this.stockCheckpointService = stockCheckpointService;
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
-    public List<ProjectDto> listProjects() {
-        return projectService.findAll();
+    public ResponseEntity<List<ProjectDto>> listProjects(WebRequest request) {
+        return ConditionalResponses.withETag(request, scopeVersions.catalogTag(), projectService::findAll);
     }
 
     @PostMapping
@@ -55,10 +70,12 @@ public class ProjectController {
 
     @GetMapping("/{projectId}")
     @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
-    public ProjectDetailResponse getProject(@PathVariable Long projectId) {
-        ProjectDto project = projectService.findById(projectId);
-        List<MaterialStatsDto> materials = inventoryService.getProjectMaterialStats(projectId);
-        return new ProjectDetailResponse(project, materials);
+    public ResponseEntity<ProjectDetailResponse> getProject(@PathVariable Long projectId, WebRequest request) {
+        return ConditionalResponses.withETag(request, scopeVersions.scopeTag(projectId), () -> {
+            ProjectDto project = projectService.findById(projectId);
+            List<MaterialStatsDto> materials = inventoryService.getProjectMaterialStats(projectId);
+            return new ProjectDetailResponse(project, materials);
+        });
     }
 
     @PostMapping("/{projectId}/materials")
@@ -79,7 +96,23 @@ public class ProjectController {
 
     @GetMapping("/{projectId}/materials/{materialId}")
     @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
-    public MaterialDetailDto getMaterialDetail(@PathVariable Long projectId, @PathVariable Long materialId) {
-        return inventoryService.getMaterialDetail(projectId, materialId);
+    public ResponseEntity<MaterialDetailDto> getMaterialDetail(
+            @PathVariable Long projectId, @PathVariable Long materialId, WebRequest request) {
+        return ConditionalResponses.withETag(
+                request,
+                scopeVersions.materialTag(projectId, materialId),
+                () -> inventoryService.getMaterialDetail(projectId, materialId));
+    }
+
+    /**
+     * Stock at the end of the given day, or today. Project {@code 0} is the general store.
+     */
+    @GetMapping("/{projectId}/materials/{materialId}/stock")
+    @PreAuthorize("hasAnyRole('ADMIN','BACKOFFICE')")
+    public StockAsOfDto getStockAsOf(
+            @PathVariable Long projectId,
+            @PathVariable Long materialId,
+            @RequestParam(value = "asOf", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return stockCheckpointService.getStockAsOf(new StockAsOfQuery(projectId, materialId, asOf));
     }
 }
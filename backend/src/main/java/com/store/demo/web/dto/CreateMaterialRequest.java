@@ -8,4 +8,5 @@ public record CreateMaterialRequest(
         @NotBlank(message = "Drawing part number is required") String code,
         String unit,
         String category,
-        @PositiveOrZero(message = "In-hand quantity cannot be negative") Double initialQuantity) {}
+        @PositiveOrZero(message = "In-hand quantity cannot be negative") Double initialQuantity,
+        @PositiveOrZero(message = "Minimum stock cannot be negative") Integer minimumStock) {}
@@ -0,0 +1,9 @@
+package com.store.demo.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record IssueSlipLineRequest(
+        @NotNull(message = "Material is required") Long materialId,
+        @NotNull @Positive(message = "Quantity must be positive") Double quantity,
+        String remarks) {}
@@ -0,0 +1,19 @@
+package com.store.demo.web.dto;
+
+import com.store.demo.service.dto.IssueSlipMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+
+public record IssueSlipRequest(
+        Long projectId,
+        IssueSlipMode mode,
+        @NotNull(message = "Handover date is required") LocalDate handoverDate,
+        @NotBlank(message = "Handover name is required") String handoverName,
+        String handoverDesignation,
+        @NotBlank(message = "Store incharge name is required") String storeInchargeName,
+        String remarks,
+        @NotEmpty(message = "Issue slip must have at least one line") List<@Valid IssueSlipLineRequest> lines) {}
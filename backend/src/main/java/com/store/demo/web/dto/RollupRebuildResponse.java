@@ -0,0 +1,3 @@
+package com.store.demo.web.dto;
+
+public record RollupRebuildResponse(long rollupCount) {}
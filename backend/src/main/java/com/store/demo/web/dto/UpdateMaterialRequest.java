@@ -1,9 +1,11 @@
 package com.store.demo.web.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 
 public record UpdateMaterialRequest(
         @NotBlank(message = "Material name is required") String name,
         @NotBlank(message = "Drawing part number is required") String code,
         String unit,
-        String category) {}
+        String category,
+        @PositiveOrZero(message = "Minimum stock cannot be negative") Integer minimumStock) {}
@@ -0,0 +1,64 @@
+package com.store.demo.domain;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares summing scale-3 quantities as {@link BigDecimal}, the way aggregation paths used to, with {@link Quantity}
+ * arithmetic, both starting from the BigDecimal values JPA hands out and from values already held as thousandths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuantityReductionBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    BigDecimal[] decimals;
+    long[] milli;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        milli = new long[size];
+        decimals = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            milli[i] = random.nextLong(1, 10_000_000);
+            decimals[i] = BigDecimal.valueOf(milli[i], Quantity.SCALE);
+        }
+    }
+
+    @Benchmark
+    public double bigDecimalReduce() {
+        return Arrays.stream(decimals).reduce(BigDecimal.ZERO, BigDecimal::add).doubleValue();
+    }
+
+    @Benchmark
+    public double quantityFromBigDecimal() {
+        Quantity total = Quantity.ZERO;
+        for (BigDecimal value : decimals) {
+            total = total.plus(Quantity.of(value));
+        }
+        return total.toDouble();
+    }
+
+    @Benchmark
+    public double quantityFromMilli() {
+        Quantity total = Quantity.ZERO;
+        for (long value : milli) {
+            total = total.plus(Quantity.ofMilli(value));
+        }
+        return total.toDouble();
+    }
+}
@@ -0,0 +1,59 @@
+package com.store.demo.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class QuantityReductionBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(QuantityReductionBenchmarkTest.class);
+
+    @Test
+    void quantitySumsMatchBigDecimalSums() {
+        QuantityReductionBenchmark benchmark = new QuantityReductionBenchmark();
+        benchmark.size = 100_000;
+        benchmark.setUp();
+
+        BigDecimal expected = BigDecimal.ZERO;
+        Quantity total = Quantity.ZERO;
+        for (BigDecimal value : benchmark.decimals) {
+            expected = expected.add(value);
+            total = total.plus(Quantity.of(value));
+        }
+        assertThat(total.toBigDecimal()).isEqualByComparingTo(expected);
+        assertThat(total.toDouble()).isEqualTo(expected.doubleValue());
+        assertThat(benchmark.quantityFromMilli()).isEqualTo(benchmark.bigDecimalReduce());
+    }
+
+    /**
+     * Runs the JMH comparison. Enable with {@code mvn test -Dtest=QuantityReductionBenchmarkTest -Dbenchmarks=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void compareReductions() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(QuantityReductionBenchmark.class.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        for (RunResult result : new Runner(options).run()) {
+            log.info("{} size={}: {} {}",
+                    result.getParams().getBenchmark(),
+                    result.getParams().getParam("size"),
+                    String.format("%.3f", result.getPrimaryResult().getScore()),
+                    result.getPrimaryResult().getScoreUnit());
+        }
+    }
+}
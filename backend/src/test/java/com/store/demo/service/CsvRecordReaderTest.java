@@ -0,0 +1,46 @@
+package com.store.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.store.demo.web.error.BadRequestException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "code,remarks\r\nCEM-1,\"cracked, \"\"two\"\" bags\r\nreturned\"\nCEM-2,plain\n"));
+
+        assertThat(reader.next()).containsExactly("code", "remarks");
+        assertThat(reader.recordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("CEM-1", "cracked, \"two\" bags\nreturned");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("CEM-2", "plain");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void blankLineIsOneEmptyFieldAndLastRecordNeedsNoLineBreak() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\n\n\"\",c"));
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).isEqualTo(List.of(""));
+        assertThat(reader.next()).containsExactly("", "c");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\nCEM-1,\"never closed\n"));
+        reader.next();
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("line 2");
+    }
+}
@@ -0,0 +1,55 @@
+package com.store.demo.service;
+
+import com.store.demo.service.dto.CreateMaterialCommand;
+import com.store.demo.service.dto.CreateProjectCommand;
+import com.store.demo.service.dto.LinkMaterialCommand;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.ProjectDto;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates projects and materials with unique names and codes, so tests sharing one application context never collide.
+ */
+@Component
+public class InventoryFixtures {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.nanoTime());
+
+    private final ProjectService projectService;
+    private final MaterialService materialService;
+    private final ProjectMaterialService projectMaterialService;
+
+    public InventoryFixtures(
+            ProjectService projectService,
+            MaterialService materialService,
+            ProjectMaterialService projectMaterialService) {
+        this.projectService = projectService;
+        this.materialService = materialService;
+        this.projectMaterialService = projectMaterialService;
+    }
+
+    public String uniqueSuffix() {
+        return Long.toString(SEQUENCE.incrementAndGet());
+    }
+
+    public MaterialSummaryDto material(String name) {
+        return material(name, null, null);
+    }
+
+    public MaterialSummaryDto material(String name, Double openingStock, Integer minimumStock) {
+        String suffix = uniqueSuffix();
+        return materialService.create(new CreateMaterialCommand(
+                name + " " + suffix, "M-" + suffix, "nos", "General", openingStock, minimumStock));
+    }
+
+    /** Creates a project and a material linked to it. */
+    public ProjectMaterial linkedMaterial(String name) {
+        ProjectDto project = projectService.create(new CreateProjectCommand(name + " " + uniqueSuffix(), "Chennai"));
+        MaterialSummaryDto material = material(name);
+        projectMaterialService.linkMaterial(new LinkMaterialCommand(project.id(), material.id()));
+        return new ProjectMaterial(project, material);
+    }
+
+    public record ProjectMaterial(ProjectDto project, MaterialSummaryDto material) {}
+}
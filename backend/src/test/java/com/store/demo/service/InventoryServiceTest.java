@@ -1,16 +1,30 @@
 package com.store.demo.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.store.demo.domain.Material;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.repository.StockBalanceRepository;
 import com.store.demo.service.dto.CreateMaterialCommand;
 import com.store.demo.service.dto.CreateProjectCommand;
+import com.store.demo.service.dto.InventoryMovementReportDto;
+import com.store.demo.service.dto.IssueSlipCommand;
+import com.store.demo.service.dto.IssueSlipLineCommand;
+import com.store.demo.service.dto.IssueSlipMode;
+import com.store.demo.service.dto.IssueSlipResultDto;
 import com.store.demo.service.dto.LinkMaterialCommand;
 import com.store.demo.service.dto.MaterialDetailDto;
 import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.MovementDto;
+import com.store.demo.service.dto.MovementReportQuery;
 import com.store.demo.service.dto.ProjectDto;
 import com.store.demo.service.dto.RecordInwardCommand;
 import com.store.demo.service.dto.RecordOutwardCommand;
+import com.store.demo.web.error.BadRequestException;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -32,11 +46,17 @@ class InventoryServiceTest {
     @Autowired
     private InventoryService inventoryService;
 
+    @Autowired
+    private StockBalanceRepository stockBalanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void fifoOutwardConsumesOldestBatchesFirst() {
         ProjectDto project = projectService.create(new CreateProjectCommand("Project A", "Chennai"));
         MaterialSummaryDto material =
-                materialService.create(new CreateMaterialCommand("Steel Rod", "ST-001", "kg", "Metals"));
+                materialService.create(new CreateMaterialCommand("Steel Rod", "ST-001", "kg", "Metals", null, null));
         projectMaterialService.linkMaterial(new LinkMaterialCommand(project.id(), material.id()));
 
         LocalDate today = LocalDate.now();
@@ -80,4 +100,96 @@ class InventoryServiceTest {
         assertThat(detail.history()).hasSize(3);
         assertThat(detail.history().get(0).type()).isEqualTo("OUT");
     }
+
+    @Test
+    void recentActivityListsOutwardsBeforeInwardsOfTheSameDay() {
+        ProjectDto project = projectService.create(new CreateProjectCommand("Activity Project", "Trichy"));
+        MaterialSummaryDto material = materialService.create(
+                new CreateMaterialCommand("Paver", "PV-1", "nos", "Civil", null, null));
+        projectMaterialService.linkMaterial(new LinkMaterialCommand(project.id(), material.id()));
+        LocalDate today = LocalDate.now();
+        inventoryService.recordInward(new RecordInwardCommand(
+                project.id(), material.id(), 5, 5, "INV-A1", today, today, null, "Supplier", null));
+        inventoryService.recordOutward(new RecordOutwardCommand(
+                project.id(), material.id(), 2, today, "Crew", null, "Incharge", null));
+
+        List<MovementDto> recent = inventoryService.getRecentActivity(project.id(), 10);
+
+        assertThat(recent).extracting(MovementDto::type).containsExactly("OUT", "IN");
+    }
+
+    @Test
+    void reportPagesOfDifferentSizesAreEachFilled() {
+        ProjectDto project = projectService.create(new CreateProjectCommand("Report Project", "Erode"));
+        MaterialSummaryDto material = materialService.create(
+                new CreateMaterialCommand("Tiles", "TL-1", "box", "Finishing", null, null));
+        projectMaterialService.linkMaterial(new LinkMaterialCommand(project.id(), material.id()));
+        LocalDate day = LocalDate.now().minusDays(20);
+        for (int i = 0; i < 15; i++) {
+            LocalDate date = day.plusDays(i);
+            inventoryService.recordInward(new RecordInwardCommand(
+                    project.id(), material.id(), 2, 2, "INV-R" + i, date, date, null, "Supplier", null));
+            inventoryService.recordOutward(new RecordOutwardCommand(
+                    project.id(), material.id(), 1, date, "Crew", null, "Incharge", null));
+        }
+        // The report reads over JDBC, so pending inserts of this test's transaction have to reach the database first.
+        entityManager.flush();
+
+        InventoryMovementReportDto small = inventoryService.getInventoryMovementReport(
+                new MovementReportQuery(project.id(), null, null, material.id(), null, null, null, 2));
+        InventoryMovementReportDto large = inventoryService.getInventoryMovementReport(
+                new MovementReportQuery(project.id(), null, null, material.id(), null, null, null, 25));
+
+        assertThat(small.movements()).hasSize(2);
+        assertThat(small.hasMore()).isTrue();
+        assertThat(large.movements()).hasSize(25);
+        assertThat(large.hasMore()).isTrue();
+        assertThat(small.totalInCount()).isEqualTo(15);
+        assertThat(small.totalOutCount()).isEqualTo(15);
+        assertThat(small.totalInQuantity()).isEqualTo(30.0);
+        assertThat(small.totalOutQuantity()).isEqualTo(15.0);
+    }
+
+    @Test
+    void partialIssueSlipIssuesWhatIsInStockWithoutCreatingEmptyBalances() {
+        MaterialSummaryDto stocked = materialService.create(
+                new CreateMaterialCommand("Binding Wire", "BW-1", "kg", "Metals", null, null));
+        MaterialSummaryDto empty = materialService.create(
+                new CreateMaterialCommand("Cover Blocks", "CB-1", "nos", "Civil", null, null));
+        LocalDate today = LocalDate.now();
+        inventoryService.recordInward(new RecordInwardCommand(
+                null, stocked.id(), 5, 5, "INV-S1", today, today, null, "Supplier", null));
+
+        IssueSlipResultDto result = inventoryService.recordIssueSlip(new IssueSlipCommand(
+                null, IssueSlipMode.PARTIAL, today, "Crew", null, "Incharge", null,
+                List.of(new IssueSlipLineCommand(stocked.id(), 3, null),
+                        new IssueSlipLineCommand(empty.id(), 2, null))));
+
+        assertThat(result.fullyIssued()).isFalse();
+        assertThat(result.lines().get(0).issuedQuantity()).isEqualTo(3.0);
+        assertThat(result.lines().get(0).movement()).isNotNull();
+        assertThat(result.lines().get(1).issuedQuantity()).isZero();
+        assertThat(result.lines().get(1).shortfallQuantity()).isEqualTo(2.0);
+        assertThat(result.lines().get(1).movement()).isNull();
+        Material emptyEntity = materialService.getMaterialEntity(empty.id());
+        assertThat(stockBalanceRepository.findByScopeIdAndMaterial(StockBalance.GENERAL_SCOPE, emptyEntity)).isEmpty();
+
+        materialService.delete(empty.id());
+        entityManager.flush();
+    }
+
+    @Test
+    void strictIssueSlipWithAShortageIssuesNothing() {
+        MaterialSummaryDto material = materialService.create(
+                new CreateMaterialCommand("Shuttering Oil", "SO-1", "ltr", "Consumables", null, null));
+        LocalDate today = LocalDate.now();
+        inventoryService.recordInward(new RecordInwardCommand(
+                null, material.id(), 2, 2, "INV-S2", today, today, null, "Supplier", null));
+
+        assertThatThrownBy(() -> inventoryService.recordIssueSlip(new IssueSlipCommand(
+                        null, IssueSlipMode.STRICT, today, "Crew", null, "Incharge", null,
+                        List.of(new IssueSlipLineCommand(material.id(), 5, null)))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Insufficient stock");
+    }
 }
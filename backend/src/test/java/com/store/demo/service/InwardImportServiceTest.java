@@ -0,0 +1,147 @@
+package com.store.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.store.demo.domain.Material;
+import com.store.demo.domain.StockBalance;
+import com.store.demo.repository.InwardEntryRepository;
+import com.store.demo.repository.StockBalanceRepository;
+import com.store.demo.service.allocation.AllocationMetrics;
+import com.store.demo.service.dto.InwardImportLineResultDto;
+import com.store.demo.service.dto.InwardImportReportDto;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "app.inventory.import.chunk-size=2")
+class InwardImportServiceTest {
+
+    private static final String HEADER =
+            "material_code,delivered_quantity,invoice_quantity,invoice_number,invoice_date,receive_date,remarks\n";
+
+    @Autowired
+    private InwardImportService inwardImportService;
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private MaterialService materialService;
+
+    @Autowired
+    private InwardEntryRepository inwardEntryRepository;
+
+    @Autowired
+    private StockBalanceRepository stockBalanceRepository;
+
+    @Autowired
+    private AllocationMetrics allocationMetrics;
+
+    @Test
+    void quotedRemarksWithCommasAndLineBreaksAreImported() {
+        MaterialSummaryDto material = fixtures.material("Cement");
+        String code = material.code();
+
+        InwardImportReportDto report = importCsv(HEADER
+                + code + ",5,5,INV-1,2024-03-01,2024-03-02,\"wet bags, \"\"returned\"\"\nreplaced on site\"\n"
+                + code + ",3,3,INV-2,2024-03-01,2024-03-02,\n");
+
+        assertThat(report.totalLines()).isEqualTo(2);
+        assertThat(report.importedLines()).isEqualTo(2);
+        assertThat(report.lines()).extracting(InwardImportLineResultDto::lineNumber).containsExactly(2L, 4L);
+        Long movementId = report.lines().get(0).movementId();
+        assertThat(inwardEntryRepository.findById(movementId).orElseThrow().getRemarks())
+                .isEqualTo("wet bags, \"returned\"\nreplaced on site");
+        assertThat(generalBalance(material).getTotalInQuantity()).isEqualByComparingTo("8");
+    }
+
+    @Test
+    void chunkLocksEachBalanceRowOnce() {
+        MaterialSummaryDto material = fixtures.material("Sand");
+        String code = material.code();
+
+        long before = allocationMetrics.lockAcquisitions();
+        InwardImportReportDto report = importCsv(HEADER
+                + code + ",1,1,INV-1,2024-03-01,2024-03-02,\n"
+                + code + ",2,2,INV-2,2024-03-01,2024-03-03,\n");
+
+        assertThat(report.importedLines()).isEqualTo(2);
+        assertThat(allocationMetrics.lockAcquisitions() - before).isEqualTo(1);
+        assertThat(generalBalance(material).getTotalInQuantity()).isEqualByComparingTo("3");
+    }
+
+    @Test
+    void badRowIsRejectedWithoutFailingItsNeighbours() {
+        MaterialSummaryDto material = fixtures.material("Steel");
+        String code = material.code();
+
+        InwardImportReportDto report = importCsv(HEADER
+                + code + ",4,4,INV-1,2024-03-01,2024-03-02,\n"
+                + "NO-SUCH-" + code + ",1,1,INV-2,2024-03-01,2024-03-02,\n"
+                + code + ",6,6,INV-3,2024-03-01,2024-03-02,\n");
+
+        assertThat(report.importedLines()).isEqualTo(2);
+        assertThat(report.rejectedLines()).isEqualTo(1);
+        InwardImportLineResultDto rejected = report.lines().get(1);
+        assertThat(rejected.status()).isEqualTo(InwardImportService.STATUS_REJECTED);
+        assertThat(rejected.message()).startsWith("Unknown material code");
+        assertThat(generalBalance(material).getTotalInQuantity()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void failingChunkRollsBackOnlyItsOwnLines() {
+        MaterialSummaryDto material = fixtures.material("Bricks");
+        String code = material.code();
+        String tooLong = "x".repeat(600);
+
+        // Chunks of two: lines 2-3 commit, lines 4-5 fail on the oversized remark, line 6 commits.
+        InwardImportReportDto report = importCsv(HEADER
+                + code + ",1,1,INV-1,2024-03-01,2024-03-02,\n"
+                + code + ",2,2,INV-2,2024-03-01,2024-03-02,\n"
+                + code + ",4,4,INV-3,2024-03-01,2024-03-02,\n"
+                + code + ",8,8,INV-4,2024-03-01,2024-03-02," + tooLong + "\n"
+                + code + ",16,16,INV-5,2024-03-01,2024-03-02,\n");
+
+        assertThat(report.importedLines()).isEqualTo(3);
+        List<InwardImportLineResultDto> failed = report.lines().stream()
+                .filter(line -> InwardImportService.STATUS_REJECTED.equals(line.status()))
+                .toList();
+        assertThat(failed).extracting(InwardImportLineResultDto::lineNumber).containsExactly(4L, 5L);
+        assertThat(failed).allSatisfy(line -> assertThat(line.message()).startsWith("Chunk failed"));
+        assertThat(generalBalance(material).getTotalInQuantity()).isEqualByComparingTo("19");
+    }
+
+    @Test
+    void unreadableRecordRejectsTheRestOfTheFileAndKeepsCommittedChunks() {
+        MaterialSummaryDto material = fixtures.material("Gravel");
+        String code = material.code();
+
+        InwardImportReportDto report = importCsv(HEADER
+                + code + ",1,1,INV-1,2024-03-01,2024-03-02,\n"
+                + code + ",2,2,INV-2,2024-03-01,2024-03-02,\n"
+                + code + ",4,4,INV-3,2024-03-01,2024-03-02,\n"
+                + code + ",8,8,INV-4,2024-03-01,2024-03-02,\"never closed\n"
+                + code + ",16,16,INV-5,2024-03-01,2024-03-02,\n");
+
+        assertThat(report.totalLines()).isEqualTo(4);
+        assertThat(report.importedLines()).isEqualTo(3);
+        InwardImportLineResultDto rejected = report.lines().get(3);
+        assertThat(rejected.lineNumber()).isEqualTo(5L);
+        assertThat(rejected.status()).isEqualTo(InwardImportService.STATUS_REJECTED);
+        assertThat(rejected.message()).startsWith("Rest of file not imported").contains("line 5");
+        assertThat(generalBalance(material).getTotalInQuantity()).isEqualByComparingTo("7");
+    }
+
+    private StockBalance generalBalance(MaterialSummaryDto material) {
+        Material entity = materialService.getMaterialEntity(material.id());
+        return stockBalanceRepository.findByScopeIdAndMaterial(StockBalance.GENERAL_SCOPE, entity).orElseThrow();
+    }
+
+    private InwardImportReportDto importCsv(String csv) {
+        return inwardImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
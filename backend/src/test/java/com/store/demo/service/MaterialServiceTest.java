@@ -0,0 +1,102 @@
+package com.store.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.store.demo.service.dto.CreateMaterialCommand;
+import com.store.demo.service.dto.MaterialCatalogQuery;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.PageDto;
+import com.store.demo.web.error.BadRequestException;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class MaterialServiceTest {
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private MaterialService materialService;
+
+    @Test
+    void catalogFiltersByCategoryAndTakesLikeCharactersInCodePrefixLiterally() {
+        String category = "Fittings " + fixtures.uniqueSuffix();
+        String prefix = "CAT" + fixtures.uniqueSuffix();
+        create(prefix + "-P%1", category, null, null);
+        create(prefix + "-PX1", category, null, null);
+        create(prefix + "-P_A", category, null, null);
+        create(prefix + "-PQA", category, null, null);
+        create(prefix + "-P!1", category, null, null);
+        create(prefix + "-P2", "Other " + category, null, null);
+
+        assertThat(codes(catalog(category, prefix.toLowerCase(Locale.ROOT) + "-p", false, "code"))).containsExactly(
+                prefix + "-P!1", prefix + "-P%1", prefix + "-PQA", prefix + "-PX1", prefix + "-P_A");
+        assertThat(codes(catalog(category, prefix + "-P%", false, "code"))).containsExactly(prefix + "-P%1");
+        assertThat(codes(catalog(category, prefix + "-P_", false, "code"))).containsExactly(prefix + "-P_A");
+        assertThat(codes(catalog(category, prefix + "-P!", false, "code"))).containsExactly(prefix + "-P!1");
+        assertThat(codes(catalog(category.toUpperCase(Locale.ROOT), prefix + "-PX", false, "code")))
+                .containsExactly(prefix + "-PX1");
+        assertThat(codes(catalog(category, prefix + "-P2", false, "code"))).isEmpty();
+    }
+
+    @Test
+    void lowStockPagesAgreeWithTheirTotalsAndSortByOnHand() {
+        String category = "Consumables " + fixtures.uniqueSuffix();
+        String prefix = "LOW" + fixtures.uniqueSuffix();
+        create(prefix + "-A", category, 5.0, 10);
+        create(prefix + "-B", category, 20.0, 10);
+        create(prefix + "-C", category, null, 10);
+        create(prefix + "-D", category, null, null);
+        create(prefix + "-E", category, 1.0, 5);
+
+        PageDto<MaterialSummaryDto> first = catalog(category, null, true, 0, 2, "onHandQuantity");
+        PageDto<MaterialSummaryDto> second = catalog(category, null, true, 1, 2, "onHandQuantity");
+
+        assertThat(first.totalElements()).isEqualTo(3);
+        assertThat(first.totalPages()).isEqualTo(2);
+        assertThat(codes(first)).containsExactly(prefix + "-C", prefix + "-E");
+        assertThat(codes(second)).containsExactly(prefix + "-A");
+        assertThat(second.totalElements()).isEqualTo(3);
+
+        PageDto<MaterialSummaryDto> all = catalog(category, null, false, "onHandQuantity,desc");
+        assertThat(all.totalElements()).isEqualTo(5);
+        assertThat(all.content()).extracting(MaterialSummaryDto::onHandQuantity)
+                .containsExactly(20.0, 5.0, 1.0, 0.0, 0.0);
+    }
+
+    @Test
+    void catalogRejectsUnsupportedSortsAndPageSizes() {
+        assertThatThrownBy(() -> catalog(null, null, false, "minimumStock"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unsupported sort");
+        assertThatThrownBy(() -> catalog(null, null, false, 0, 0, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> catalog(null, null, false, -1, 10, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void create(String code, String category, Double initialQuantity, Integer minimumStock) {
+        materialService.create(
+                new CreateMaterialCommand("Material " + code, code, "nos", category, initialQuantity, minimumStock));
+    }
+
+    private PageDto<MaterialSummaryDto> catalog(String category, String codePrefix, boolean lowStock, String sort) {
+        return catalog(category, codePrefix, lowStock, 0, 50, sort);
+    }
+
+    private PageDto<MaterialSummaryDto> catalog(
+            String category, String codePrefix, boolean lowStock, int page, int size, String sort) {
+        return materialService.findCatalog(new MaterialCatalogQuery(category, codePrefix, lowStock, page, size, sort));
+    }
+
+    private static List<String> codes(PageDto<MaterialSummaryDto> page) {
+        return page.content().stream().map(MaterialSummaryDto::code).toList();
+    }
+}
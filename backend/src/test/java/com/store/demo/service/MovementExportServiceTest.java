@@ -0,0 +1,177 @@
+package com.store.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.demo.repository.MovementFilter;
+import com.store.demo.repository.MovementRow;
+import com.store.demo.service.InventoryFixtures.ProjectMaterial;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.MovementExportFormat;
+import com.store.demo.service.dto.MovementReportQuery;
+import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import com.store.demo.web.error.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class MovementExportServiceTest {
+
+    private static final LocalDate DAY_ONE = LocalDate.of(2024, 5, 6);
+    private static final LocalDate DAY_TWO = LocalDate.of(2024, 5, 9);
+    private static final String AWKWARD_REMARK = "bags \"A\", torn\nreturned to vendor";
+
+    @Autowired
+    private MovementExportService movementExportService;
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ProjectDto project;
+    private MaterialSummaryDto material;
+
+    @BeforeEach
+    void recordMovements() {
+        ProjectMaterial linked = fixtures.linkedMaterial("Cement");
+        project = linked.project();
+        material = linked.material();
+        inventoryService.recordInward(new RecordInwardCommand(project.id(), material.id(), 40, 40, "INV-1",
+                DAY_ONE, DAY_ONE, "TN-09", "Ramco, Ltd", AWKWARD_REMARK));
+        inventoryService.recordInward(new RecordInwardCommand(project.id(), material.id(), 25, 25, "INV-2",
+                DAY_TWO, DAY_TWO, null, "Dalmia", null));
+        inventoryService.recordOutward(new RecordOutwardCommand(
+                project.id(), material.id(), 10, DAY_TWO, "Crew", "Mason", "Incharge", null));
+    }
+
+    @Test
+    void csvRoundTripKeepsQuotedValuesAndAppliesFilters() throws Exception {
+        MovementFilter filter = movementExportService.prepare(
+                new MovementReportQuery(project.id(), null, null, material.id(), "in", null, null, null));
+
+        List<List<String>> records = readCsv(export(filter, MovementExportFormat.CSV, false));
+
+        assertThat(records).hasSize(3);
+        List<String> header = records.get(0);
+        assertThat(records.subList(1, 3)).allSatisfy(record -> {
+            assertThat(record).hasSameSizeAs(header);
+            assertThat(record.get(header.indexOf("type"))).isEqualTo("IN");
+            assertThat(record.get(header.indexOf("project_id"))).isEqualTo(project.id().toString());
+        });
+        List<String> first = records.stream().skip(1)
+                .filter(record -> "INV-1".equals(record.get(header.indexOf("invoice_number"))))
+                .findFirst().orElseThrow();
+        assertThat(first.get(header.indexOf("supplier"))).isEqualTo("Ramco, Ltd");
+        assertThat(first.get(header.indexOf("remarks"))).isEqualTo(AWKWARD_REMARK);
+        assertThat(first.get(header.indexOf("quantity"))).isEqualTo("40.000");
+        assertThat(first.get(header.indexOf("receive_date"))).isEqualTo(DAY_ONE.toString());
+    }
+
+    @Test
+    void gzippedNdjsonRoundTripsRowsWithinTheDateAndSupplierFilters() throws Exception {
+        MovementFilter byDate = movementExportService.prepare(
+                new MovementReportQuery(project.id(), DAY_TWO, DAY_TWO, null, null, null, null, null));
+
+        List<MovementRow> rows = readNdjson(gunzip(export(byDate, MovementExportFormat.NDJSON, true)));
+
+        assertThat(rows).extracting(MovementRow::type).containsExactlyInAnyOrder("IN", "OUT");
+        assertThat(rows).allSatisfy(row -> assertThat(row.movementTime().atZoneSameInstant(ZoneId.systemDefault()).toLocalDate())
+                .isEqualTo(DAY_TWO));
+        MovementRow outward = rows.stream().filter(row -> "OUT".equals(row.type())).findFirst().orElseThrow();
+        assertThat(outward.quantity()).isEqualByComparingTo("10");
+        assertThat(outward.handoverName()).isEqualTo("Crew");
+
+        MovementFilter bySupplier = movementExportService.prepare(
+                new MovementReportQuery(project.id(), null, null, null, null, " ramco, ltd ", null, null));
+        List<MovementRow> supplied = readNdjson(gunzip(export(bySupplier, MovementExportFormat.NDJSON, true)));
+
+        assertThat(supplied).singleElement().satisfies(row -> {
+            assertThat(row.invoiceNumber()).isEqualTo("INV-1");
+            assertThat(row.remarks()).isEqualTo(AWKWARD_REMARK);
+            assertThat(row.vehicleNumber()).isEqualTo("TN-09");
+        });
+    }
+
+    @Test
+    void supplierFilterMatchesUnderATurkishDefaultLocale() throws Exception {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            MovementFilter bySupplier = movementExportService.prepare(
+                    new MovementReportQuery(project.id(), null, null, null, null, "DALMIA", null, null));
+
+            List<MovementRow> rows = readNdjson(export(bySupplier, MovementExportFormat.NDJSON, false));
+
+            assertThat(rows).extracting(MovementRow::invoiceNumber).containsExactly("INV-2");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void invalidFiltersAreRejectedBeforeAnythingIsWritten() {
+        assertThatThrownBy(() -> movementExportService.prepare(
+                new MovementReportQuery(project.id(), null, null, null, "sideways", null, null, null)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("IN or OUT");
+        assertThatThrownBy(() -> movementExportService.prepare(
+                new MovementReportQuery(project.id(), DAY_TWO, DAY_ONE, null, null, null, null, null)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("From date");
+    }
+
+    private byte[] export(MovementFilter filter, MovementExportFormat format, boolean gzip) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        movementExportService.export(filter, format, gzip, output);
+        return output.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws Exception {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return input.readAllBytes();
+        }
+    }
+
+    private static List<List<String>> readCsv(byte[] bytes) throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(
+                new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private List<MovementRow> readNdjson(byte[] bytes) throws Exception {
+        List<MovementRow> rows = new ArrayList<>();
+        for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readValue(new StringReader(line), MovementRow.class));
+            }
+        }
+        return rows;
+    }
+}
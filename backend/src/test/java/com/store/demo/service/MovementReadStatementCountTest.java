@@ -0,0 +1,169 @@
+package com.store.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.store.demo.service.InventoryFixtures.ProjectMaterial;
+import com.store.demo.service.dto.InventoryMovementReportDto;
+import com.store.demo.service.dto.MaterialDetailDto;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.MovementDto;
+import com.store.demo.service.dto.MovementReportQuery;
+import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(MovementReadStatementCountTest.StatementCounting.class)
+class MovementReadStatementCountTest {
+
+    // The report reads through JdbcTemplate, which Hibernate statistics do not see, so it is counted at the DataSource.
+    private static final AtomicLong JDBC_STATEMENTS = new AtomicLong();
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private static final int PAIRS = 500;
+    private static final long MAX_STATEMENTS = 10;
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProjectDto project;
+    private MaterialSummaryDto material;
+
+    @BeforeEach
+    void recordThousandMovements() {
+        ProjectMaterial linked = fixtures.linkedMaterial("Washer");
+        project = linked.project();
+        material = linked.material();
+        LocalDate day = LocalDate.now().minusDays(PAIRS);
+        for (int i = 0; i < PAIRS; i++) {
+            LocalDate date = day.plusDays(i);
+            inventoryService.recordInward(new RecordInwardCommand(
+                    project.id(), material.id(), 2, 2, "INV-" + i, date, date, null, "Supplier", null));
+            inventoryService.recordOutward(new RecordOutwardCommand(
+                    project.id(), material.id(), 1, date, "Crew", null, "Incharge", null));
+        }
+    }
+
+    @Test
+    void materialDetailLoadsThousandMovementsInConstantStatements() {
+        Statistics statistics = statistics();
+        MaterialDetailDto detail = inventoryService.getMaterialDetail(project.id(), material.id());
+
+        assertThat(detail.history()).hasSize(2 * PAIRS);
+        assertThat(detail.outwards()).allSatisfy(movement -> assertThat(movement.batchSummary()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    @Test
+    void recentActivityLoadsThousandMovementsInConstantStatements() {
+        Statistics statistics = statistics();
+        List<MovementDto> recent = inventoryService.getRecentActivity(project.id(), 2 * PAIRS);
+
+        assertThat(recent).hasSize(2 * PAIRS);
+        assertThat(recent).filteredOn(movement -> "OUT".equals(movement.type()))
+                .allSatisfy(movement -> assertThat(movement.batchSummary()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    @Test
+    void movementReportPageLoadsInStatementsIndependentOfPageSize() {
+        MovementReportQuery smallPage = new MovementReportQuery(project.id(), null, null, material.id(), null, null,
+                null, 10);
+        MovementReportQuery fullPage = new MovementReportQuery(project.id(), null, null, material.id(), null, null,
+                null, 500);
+
+        JDBC_STATEMENTS.set(0);
+        InventoryMovementReportDto small = inventoryService.getInventoryMovementReport(smallPage);
+        long smallStatements = JDBC_STATEMENTS.get();
+        JDBC_STATEMENTS.set(0);
+        InventoryMovementReportDto full = inventoryService.getInventoryMovementReport(fullPage);
+        long fullStatements = JDBC_STATEMENTS.get();
+
+        assertThat(small.movements()).hasSize(10);
+        assertThat(full.movements()).hasSize(500);
+        assertThat(full.movements()).filteredOn(movement -> "OUT".equals(movement.type()))
+                .isNotEmpty()
+                .allSatisfy(movement -> assertThat(movement.batchSummary()).isNotNull());
+        assertThat(fullStatements).isEqualTo(smallStatements).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @TestConfiguration
+    static class StatementCounting {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if (STATEMENT_METHODS.contains(method.getName())) {
+                            JDBC_STATEMENTS.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.store.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.store.demo.service.InventoryFixtures.ProjectMaterial;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OutwardRoundTripBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OutwardRoundTripBenchmarkTest.class);
+
+    private static final int BATCHES = 30;
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void outwardConsumingManyBatchesUsesBatchedStatements() {
+        long rowByRow = measureOutward(1);
+        long batched = measureOutward(null);
+        log.info("Outward over {} batches: {} statements row-by-row, {} statements batched", BATCHES, rowByRow, batched);
+
+        assertThat(batched).isLessThan(rowByRow);
+        assertThat(rowByRow).isGreaterThan(2L * BATCHES);
+        assertThat(batched).isLessThan(BATCHES / 2);
+    }
+
+    private long measureOutward(Integer jdbcBatchSize) {
+        ProjectMaterial linked = fixtures.linkedMaterial("Bolt");
+        ProjectDto project = linked.project();
+        MaterialSummaryDto material = linked.material();
+        LocalDate day = LocalDate.now().minusDays(BATCHES);
+        for (int i = 0; i < BATCHES; i++) {
+            LocalDate receiveDate = day.plusDays(i);
+            inventoryService.recordInward(new RecordInwardCommand(
+                    project.id(), material.id(), 1, 1, "INV-" + i, receiveDate, receiveDate, null, "Supplier", null));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            inventoryService.recordOutward(new RecordOutwardCommand(
+                    project.id(), material.id(), BATCHES, LocalDate.now(), "Crew", null, "Incharge", null));
+        });
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(BATCHES + 1L);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,87 @@
+package com.store.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.store.demo.service.InventoryFixtures.ProjectMaterial;
+import com.store.demo.service.dto.MaterialDetailDto;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class StockBalanceServiceTest {
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rebuildWaitsForInFlightMovementAndKeepsItsDelta() throws Exception {
+        ProjectMaterial linked = fixtures.linkedMaterial("Sand");
+        ProjectDto project = linked.project();
+        MaterialSummaryDto material = linked.material();
+        LocalDate today = LocalDate.now();
+        inventoryService.recordInward(inward(project.id(), material.id(), 10, "INV-1", today.minusDays(1)));
+
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        CountDownLatch writerHoldsLock = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        try {
+            Future<?> writer = threads.submit(() -> new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> {
+                        inventoryService.recordInward(inward(project.id(), material.id(), 5, "INV-2", today));
+                        writerHoldsLock.countDown();
+                        await(releaseWriter);
+                    }));
+            assertThat(writerHoldsLock.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<Long> rebuild = threads.submit(() -> new TransactionTemplate(transactionManager)
+                    .execute(status -> stockBalanceService.rebuildFromHistory()));
+            Thread.sleep(200);
+            assertThat(rebuild.isDone()).isFalse();
+
+            releaseWriter.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+            assertThat(rebuild.get(10, TimeUnit.SECONDS)).isPositive();
+        } finally {
+            releaseWriter.countDown();
+            threads.shutdownNow();
+        }
+
+        MaterialDetailDto detail = inventoryService.getMaterialDetail(project.id(), material.id());
+        assertThat(detail.stats().totalIn()).isEqualTo(15.0);
+        assertThat(detail.stats().currentStock()).isEqualTo(15.0);
+    }
+
+    private static RecordInwardCommand inward(Long projectId, Long materialId, int quantity, String invoice, LocalDate day) {
+        return new RecordInwardCommand(
+                projectId, materialId, quantity, quantity, invoice, day, day, null, "Supplier", null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.store.demo.service.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.store.demo.service.InventoryFixtures;
+import com.store.demo.service.InventoryService;
+import com.store.demo.service.MaterialService;
+import com.store.demo.service.dto.LowStockAlertDto;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import com.store.demo.service.dto.UpdateMaterialCommand;
+import com.store.demo.service.event.LowStockChangedEvent;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+@SpringBootTest
+@RecordApplicationEvents
+class LowStockMonitorTest {
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private MaterialService materialService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private LowStockMonitor lowStockMonitor;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void movementsCrossTheThresholdInBothDirections() {
+        MaterialSummaryDto material = fixtures.material("Rebar", 10.0, 5);
+        assertThat(alert(material)).isEmpty();
+
+        outward(material, 4);
+        assertThat(alert(material)).isEmpty();
+        assertThat(crossings(material)).isEmpty();
+
+        outward(material, 3);
+        LowStockAlertDto low = alert(material).orElseThrow();
+        assertThat(low.onHandQuantity()).isEqualTo(3.0);
+        assertThat(low.shortage()).isEqualTo(2.0);
+        assertThat(crossings(material)).extracting(LowStockChangedEvent::low).containsExactly(true);
+
+        inward(material, 1);
+        assertThat(alert(material)).isPresent();
+        assertThat(crossings(material)).hasSize(1);
+
+        inward(material, 3);
+        assertThat(alert(material)).isEmpty();
+        assertThat(crossings(material)).extracting(LowStockChangedEvent::low).containsExactly(true, false);
+    }
+
+    @Test
+    void openingStockIsCountedOnce() {
+        MaterialSummaryDto material = fixtures.material("Rebar", 6.0, 5);
+
+        outward(material, 1);
+
+        assertThat(alert(material)).isEmpty();
+        outward(material, 1);
+        assertThat(alert(material).orElseThrow().onHandQuantity()).isEqualTo(4.0);
+    }
+
+    @Test
+    void updateWithoutMinimumKeepsThresholdAndLowSince() {
+        MaterialSummaryDto material = fixtures.material("Rebar", 3.0, 5);
+        LowStockAlertDto low = alert(material).orElseThrow();
+
+        materialService.update(material.id(), new UpdateMaterialCommand(
+                material.name() + " renamed", material.code(), material.unit(), material.category(), null));
+
+        LowStockAlertDto renamed = alert(material).orElseThrow();
+        assertThat(renamed.name()).endsWith("renamed");
+        assertThat(renamed.minimumStock()).isEqualTo(5);
+        assertThat(renamed.onHandQuantity()).isEqualTo(3.0);
+        assertThat(renamed.lowSince()).isEqualTo(low.lowSince());
+        assertThat(crossings(material)).extracting(LowStockChangedEvent::low).containsExactly(true);
+
+        materialService.update(material.id(), new UpdateMaterialCommand(
+                material.name(), material.code(), material.unit(), material.category(), 2));
+
+        assertThat(alert(material)).isEmpty();
+        assertThat(crossings(material)).extracting(LowStockChangedEvent::low).containsExactly(true, false);
+    }
+
+    private void inward(MaterialSummaryDto material, int quantity) {
+        LocalDate today = LocalDate.now();
+        inventoryService.recordInward(new RecordInwardCommand(
+                null, material.id(), quantity, quantity, "INV-" + fixtures.uniqueSuffix(), today, today, null,
+                "Supplier", null));
+    }
+
+    private void outward(MaterialSummaryDto material, int quantity) {
+        inventoryService.recordOutward(new RecordOutwardCommand(
+                null, material.id(), quantity, LocalDate.now(), "Crew", null, "Incharge", null));
+    }
+
+    private Optional<LowStockAlertDto> alert(MaterialSummaryDto material) {
+        return lowStockMonitor.getAlerts().stream()
+                .filter(alert -> alert.materialId().equals(material.id()))
+                .findFirst();
+    }
+
+    private List<LowStockChangedEvent> crossings(MaterialSummaryDto material) {
+        return events.stream(LowStockChangedEvent.class)
+                .filter(event -> event.materialId().equals(material.id()))
+                .toList();
+    }
+}
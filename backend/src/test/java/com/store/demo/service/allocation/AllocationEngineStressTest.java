@@ -0,0 +1,93 @@
+package com.store.demo.service.allocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.store.demo.service.InventoryFixtures;
+import com.store.demo.service.InventoryFixtures.ProjectMaterial;
+import com.store.demo.service.InventoryService;
+import com.store.demo.service.dto.MaterialDetailDto;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.MovementDto;
+import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import com.store.demo.web.error.BadRequestException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class AllocationEngineStressTest {
+
+    private static final int CLIENTS = 64;
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private AllocationEngine allocationEngine;
+
+    @Test
+    void concurrentOutwardsNeverOversell() throws Exception {
+        ProjectMaterial linked = fixtures.linkedMaterial("Cement");
+        ProjectDto project = linked.project();
+        MaterialSummaryDto material = linked.material();
+
+        LocalDate today = LocalDate.now();
+        allocationEngine.recordInward(inward(project.id(), material.id(), 60, "INV-A", today.minusDays(2)));
+        allocationEngine.recordInward(inward(project.id(), material.id(), 40, "INV-B", today.minusDays(1)));
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger issued = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    start.await();
+                    try {
+                        allocationEngine.recordOutward(new RecordOutwardCommand(
+                                project.id(), material.id(), 2, today, "Crew", null, "Incharge", null));
+                        issued.incrementAndGet();
+                    } catch (BadRequestException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertThat(issued.get()).isEqualTo(50);
+        assertThat(rejected.get()).isEqualTo(CLIENTS - 50);
+
+        MaterialDetailDto detail = inventoryService.getMaterialDetail(project.id(), material.id());
+        assertThat(detail.stats().totalOut()).isEqualTo(100.0);
+        assertThat(detail.stats().currentStock()).isEqualTo(0.0);
+        assertThat(detail.inwards()).extracting(MovementDto::remainingQuantity).containsOnly(0.0);
+        assertThat(allocationEngine.getStatus().activeLanes()).isNotEmpty();
+    }
+
+    private RecordInwardCommand inward(Long projectId, Long materialId, double quantity, String invoice, LocalDate date) {
+        return new RecordInwardCommand(
+                projectId, materialId, quantity, quantity, invoice, date, date, "TN01", "Supplier A", null);
+    }
+}
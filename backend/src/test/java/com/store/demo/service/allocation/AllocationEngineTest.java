@@ -0,0 +1,67 @@
+package com.store.demo.service.allocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.store.demo.service.InventoryFixtures;
+import com.store.demo.service.InventoryFixtures.ProjectMaterial;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@SpringBootTest
+class AllocationEngineTest {
+
+    @Autowired
+    private InventoryFixtures fixtures;
+
+    @Autowired
+    private AllocationEngine allocationEngine;
+
+    @Autowired
+    private AllocationMetrics metrics;
+
+    @Test
+    void onlyCollisionsOnRowsCreatedOnDemandAreRetried() {
+        assertThat(AllocationEngine.isCreateCollision(
+                violation(ConstraintKind.UNIQUE, "PUBLIC.UK_STOCK_BALANCE_SCOPE_MATERIAL_INDEX_8"))).isTrue();
+        assertThat(AllocationEngine.isCreateCollision(
+                violation(ConstraintKind.UNIQUE, "uk_daily_rollup_scope_material_day"))).isTrue();
+        assertThat(AllocationEngine.isCreateCollision(
+                violation(ConstraintKind.UNIQUE, "PUBLIC.UK_MATERIALS_CODE"))).isFalse();
+        assertThat(AllocationEngine.isCreateCollision(
+                violation(ConstraintKind.OTHER, "PUBLIC.FK_INWARD_MATERIAL"))).isFalse();
+        assertThat(AllocationEngine.isCreateCollision(
+                new DataIntegrityViolationException("value too long"))).isFalse();
+    }
+
+    @Test
+    void outwardLocksItsBalanceRowOnce() {
+        ProjectMaterial linked = fixtures.linkedMaterial("Gravel");
+        ProjectDto project = linked.project();
+        MaterialSummaryDto material = linked.material();
+        LocalDate today = LocalDate.now();
+        allocationEngine.recordInward(new RecordInwardCommand(
+                project.id(), material.id(), 10, 10, "INV-L1", today, today, null, "Supplier", null));
+
+        long before = metrics.lockAcquisitions();
+        allocationEngine.recordOutward(new RecordOutwardCommand(
+                project.id(), material.id(), 4, today, "Crew", null, "Incharge", null));
+
+        assertThat(metrics.lockAcquisitions() - before).isEqualTo(1);
+    }
+
+    private static DataIntegrityViolationException violation(ConstraintKind kind, String constraintName) {
+        SQLException sqlException = new SQLException("constraint violated", "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, kind, constraintName));
+    }
+}
@@ -0,0 +1,196 @@
+package com.store.demo.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.store.demo.domain.StockBalance;
+import com.store.demo.repository.MovementFact;
+import com.store.demo.repository.MovementReadRepository;
+import com.store.demo.repository.MovementRow;
+import com.store.demo.service.dto.ColumnarDimension;
+import com.store.demo.service.dto.ColumnarGroupDto;
+import com.store.demo.service.dto.ColumnarQuery;
+import com.store.demo.service.dto.ColumnarResultDto;
+import com.store.demo.service.event.MovementRecordedEvent;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class ColumnarMovementStoreTest {
+
+    private static final LocalDate MARCH_2 = LocalDate.of(2024, 3, 2);
+
+    private final MovementReadRepository repository = mock(MovementReadRepository.class);
+    private final ColumnarMovementStore store = new ColumnarMovementStore(repository, true);
+
+    @Test
+    void suppliersAndVehiclesAreDictionaryEncodedIgnoringCase() {
+        load(List.of(
+                inward(1, 7L, 100, MARCH_2, "5", "Acme Metals", "TN-01"),
+                inward(2, 7L, 100, MARCH_2, "2", " ACME metals ", "tn-01"),
+                inward(3, null, 101, MARCH_2, "1", "Zenith", null),
+                outward(1, 7L, 100, MARCH_2, "3")));
+
+        // Projects 7 and 0, materials 100 and 101, one supplier spelled two ways plus Zenith, one vehicle.
+        assertThat(store.stats().dictionaryEntries()).isEqualTo(2 + 2 + 2 + 1);
+        assertThat(store.stats().rows()).isEqualTo(4);
+
+        ColumnarResultDto bySupplier = store.query(query(List.of(ColumnarDimension.SUPPLIER), "acme METALS", null));
+        assertThat(bySupplier.rowsMatched()).isEqualTo(2);
+        assertThat(bySupplier.groups()).singleElement().satisfies(group -> {
+            assertThat(group.key()).containsEntry("supplier", "Acme Metals");
+            assertThat(group.quantityIn()).isEqualTo(7.0);
+        });
+        assertThat(store.query(query(List.of(), "unknown supplier", null)).rowsMatched()).isZero();
+    }
+
+    @Test
+    void groupKeysPackSeveralDimensionsAndUnpackInQueryOrder() {
+        load(List.of(
+                inward(1, 7L, 100, MARCH_2, "5", null, null),
+                inward(2, 7L, 101, MARCH_2, "2", null, null),
+                inward(3, null, 100, MARCH_2, "1", null, null),
+                outward(1, 7L, 100, MARCH_2, "3"),
+                outward(2, 7L, 100, MARCH_2, "0.5")));
+
+        ColumnarResultDto result = store.query(query(
+                List.of(ColumnarDimension.MATERIAL, ColumnarDimension.PROJECT, ColumnarDimension.TYPE), null, null));
+
+        assertThat(result.groups()).hasSize(4);
+        assertThat(result.groups()).allSatisfy(group ->
+                assertThat(group.key().keySet()).containsExactly("material", "project", "type"));
+        ColumnarGroupDto outward = group(result, Map.of("material", "100", "project", "7", "type", "OUT"));
+        assertThat(outward.outwardCount()).isEqualTo(2);
+        assertThat(outward.quantityOut()).isEqualTo(3.5);
+        ColumnarGroupDto general = group(result,
+                Map.of("material", "100", "project", Long.toString(StockBalance.GENERAL_SCOPE), "type", "IN"));
+        assertThat(general.quantityIn()).isEqualTo(1.0);
+        assertThat(group(result, Map.of("material", "101", "project", "7", "type", "IN")).inwardCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void dayAndMonthGroupsAreLabelledAsDates() {
+        load(List.of(
+                inward(1, 7L, 100, LocalDate.of(2023, 12, 31), "1", null, null),
+                inward(2, 7L, 100, LocalDate.of(2024, 1, 1), "2", null, null),
+                inward(3, 7L, 100, LocalDate.of(2024, 1, 20), "4", null, null)));
+
+        ColumnarResultDto byDay = store.query(query(List.of(ColumnarDimension.DAY), null, null));
+        assertThat(byDay.groups()).extracting(group -> group.key().get("day"))
+                .containsExactly("2023-12-31", "2024-01-01", "2024-01-20");
+
+        ColumnarResultDto byMonth = store.query(query(List.of(ColumnarDimension.MONTH), null, null));
+        assertThat(byMonth.groups()).extracting(group -> group.key().get("month")).containsExactly("2023-12", "2024-01");
+        assertThat(byMonth.groups()).extracting(ColumnarGroupDto::quantityIn).containsExactly(1.0, 6.0);
+
+        ColumnarResultDto january = store.query(new ColumnarQuery(List.of(ColumnarDimension.MONTH),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), null, null, null, null, null));
+        assertThat(january.groups()).singleElement()
+                .satisfies(group -> assertThat(group.quantityIn()).isEqualTo(6.0));
+    }
+
+    @Test
+    void reloadReplaysMovementsCommittedWhileItStreamsWithoutCountingThemTwice() {
+        load(List.of(inward(1, 7L, 100, MARCH_2, "1", null, null)));
+
+        MovementFact seenByReload = inward(2, 7L, 100, MARCH_2, "2", null, null);
+        doAnswer(invocation -> {
+            Consumer<MovementFact> consumer = invocation.getArgument(0);
+            consumer.accept(inward(1, 7L, 100, MARCH_2, "1", null, null));
+            // One movement commits before the reload reads it, another after the reload has passed its table.
+            store.onMovementRecorded(event(seenByReload));
+            consumer.accept(seenByReload);
+            store.onMovementRecorded(event(inward(3, 7L, 100, MARCH_2, "4", null, null)));
+            return null;
+        }).when(repository).streamFacts(any());
+        store.load();
+
+        ColumnarResultDto result = store.query(query(List.of(), null, null));
+        assertThat(result.rowsScanned()).isEqualTo(3);
+        assertThat(result.groups()).singleElement()
+                .satisfies(group -> assertThat(group.quantityIn()).isEqualTo(7.0));
+    }
+
+    @Test
+    void chunksScannedInParallelMergeToTheSequentialTotals() {
+        int rows = 300_000;
+        List<MovementFact> facts = new ArrayList<>(rows);
+        long[] expectedMilli = new long[5];
+        long[] expectedCounts = new long[5];
+        for (int i = 0; i < rows; i++) {
+            int material = i % 5;
+            long milli = 1 + i % 997;
+            facts.add(inward(i + 1, 7L, 200 + material, MARCH_2.plusDays(i % 60),
+                    BigDecimal.valueOf(milli, 3).toPlainString(), null, null));
+            expectedMilli[material] += milli;
+            expectedCounts[material]++;
+        }
+        load(facts);
+
+        ColumnarResultDto result = store.query(query(List.of(ColumnarDimension.MATERIAL), null, null));
+
+        assertThat(result.rowsScanned()).isEqualTo(rows);
+        assertThat(result.rowsMatched()).isEqualTo(rows);
+        assertThat(result.groups()).hasSize(5);
+        for (int material = 0; material < 5; material++) {
+            ColumnarGroupDto group = group(result, Map.of("material", Integer.toString(200 + material)));
+            assertThat(group.inwardCount()).isEqualTo(expectedCounts[material]);
+            assertThat(group.quantityIn()).isEqualTo(expectedMilli[material] / 1000.0);
+        }
+    }
+
+    private void load(List<MovementFact> facts) {
+        doAnswer(invocation -> {
+            Consumer<MovementFact> consumer = invocation.getArgument(0);
+            facts.forEach(consumer);
+            return null;
+        }).when(repository).streamFacts(any());
+        store.load();
+    }
+
+    private static ColumnarQuery query(List<ColumnarDimension> groupBy, String supplier, String vehicleNumber) {
+        return new ColumnarQuery(groupBy, null, null, null, null, null, supplier, vehicleNumber);
+    }
+
+    private static ColumnarGroupDto group(ColumnarResultDto result, Map<String, String> key) {
+        return result.groups().stream().filter(group -> group.key().equals(key)).findFirst().orElseThrow();
+    }
+
+    private static MovementFact inward(
+            long id, Long projectId, long materialId, LocalDate day, String quantity, String supplier, String vehicle) {
+        return new MovementFact(MovementRow.TYPE_IN, id, projectId, materialId, noon(day), new BigDecimal(quantity),
+                BigDecimal.ZERO, 0L, supplier, vehicle);
+    }
+
+    private static MovementFact outward(long id, Long projectId, long materialId, LocalDate day, String quantity) {
+        return new MovementFact(MovementRow.TYPE_OUT, id, projectId, materialId, noon(day), new BigDecimal(quantity),
+                BigDecimal.ZERO, 0L, null, null);
+    }
+
+    private static MovementRecordedEvent event(MovementFact fact) {
+        return new MovementRecordedEvent(
+                MovementRow.TYPE_OUT.equals(fact.type()) ? MovementRecordedEvent.OUT : MovementRecordedEvent.IN,
+                fact.id(),
+                fact.projectId() != null ? fact.projectId() : StockBalance.GENERAL_SCOPE,
+                fact.materialId(),
+                fact.quantity(),
+                fact.weight(),
+                fact.units(),
+                fact.movementTime(),
+                fact.supplier(),
+                fact.vehicleNumber());
+    }
+
+    private static OffsetDateTime noon(LocalDate day) {
+        return day.atTime(12, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+}
@@ -0,0 +1,75 @@
+package com.store.demo.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.store.demo.service.InventoryService;
+import com.store.demo.service.MaterialService;
+import com.store.demo.service.ProjectMaterialService;
+import com.store.demo.service.ProjectService;
+import com.store.demo.service.dto.CreateMaterialCommand;
+import com.store.demo.service.dto.CreateProjectCommand;
+import com.store.demo.service.dto.LinkMaterialCommand;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import com.store.demo.service.dto.RollupBucket;
+import com.store.demo.service.dto.RollupBucketDto;
+import com.store.demo.service.dto.RollupRangeQuery;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class DailyRollupServiceTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private MaterialService materialService;
+
+    @Autowired
+    private ProjectMaterialService projectMaterialService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
+    @Test
+    void weeklySeriesMatchesBeforeAndAfterRebuild() {
+        ProjectDto project = projectService.create(new CreateProjectCommand("Rollups", "Trichy"));
+        MaterialSummaryDto material =
+                materialService.create(new CreateMaterialCommand("Cement", "CM-ROLL", "bags", "Civil", null, null));
+        projectMaterialService.linkMaterial(new LinkMaterialCommand(project.id(), material.id()));
+
+        LocalDate monday = LocalDate.now().minusWeeks(2).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        inventoryService.recordInward(new RecordInwardCommand(
+                project.id(), material.id(), 40, 40, "INV-R1", monday, monday, null, "Supplier", null));
+        inventoryService.recordInward(new RecordInwardCommand(
+                project.id(), material.id(), 10, 10, "INV-R2", monday.plusDays(2), monday.plusDays(2), null, "Supplier", null));
+        inventoryService.recordOutward(new RecordOutwardCommand(
+                project.id(), material.id(), 15, monday.plusWeeks(1), "Crew", null, "Incharge", null));
+
+        RollupRangeQuery query = new RollupRangeQuery(
+                monday, monday.plusWeeks(2).minusDays(1), RollupBucket.WEEK, project.id(), material.id());
+        List<RollupBucketDto> incremental = dailyRollupService.getSeries(query);
+
+        assertThat(incremental).hasSize(2);
+        assertThat(incremental.get(0).quantityIn()).isEqualTo(50.0);
+        assertThat(incremental.get(0).inwardCount()).isEqualTo(2);
+        assertThat(incremental.get(1).startDate()).isEqualTo(monday.plusWeeks(1));
+        assertThat(incremental.get(1).quantityOut()).isEqualTo(15.0);
+
+        dailyRollupService.rebuildFromHistory();
+        assertThat(dailyRollupService.getSeries(query)).isEqualTo(incremental);
+    }
+}
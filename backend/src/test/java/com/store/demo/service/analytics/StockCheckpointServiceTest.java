@@ -0,0 +1,96 @@
+package com.store.demo.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.store.demo.service.InventoryService;
+import com.store.demo.service.MaterialService;
+import com.store.demo.service.ProjectMaterialService;
+import com.store.demo.service.ProjectService;
+import com.store.demo.service.dto.CreateMaterialCommand;
+import com.store.demo.service.dto.CreateProjectCommand;
+import com.store.demo.service.dto.LinkMaterialCommand;
+import com.store.demo.service.dto.MaterialSummaryDto;
+import com.store.demo.service.dto.ProjectDto;
+import com.store.demo.service.dto.RecordInwardCommand;
+import com.store.demo.service.dto.RecordOutwardCommand;
+import com.store.demo.service.dto.StockAsOfDto;
+import com.store.demo.service.dto.StockAsOfQuery;
+import com.store.demo.service.lock.JobLocks;
+import com.store.demo.web.error.ServiceUnavailableException;
+import java.time.Duration;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class StockCheckpointServiceTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private MaterialService materialService;
+
+    @Autowired
+    private ProjectMaterialService projectMaterialService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockCheckpointService stockCheckpointService;
+
+    @Autowired
+    private JobLocks jobLocks;
+
+    @Test
+    void stockAsOfCombinesCheckpointWithLaterAndBackdatedMovements() {
+        ProjectDto project = projectService.create(new CreateProjectCommand("Checkpoints", "Madurai"));
+        MaterialSummaryDto material =
+                materialService.create(new CreateMaterialCommand("Sand", "SD-CHK", "tons", "Civil", null, null));
+        projectMaterialService.linkMaterial(new LinkMaterialCommand(project.id(), material.id()));
+
+        LocalDate first = LocalDate.now().minusMonths(2).withDayOfMonth(5);
+        LocalDate monthEnd = first.withDayOfMonth(first.lengthOfMonth());
+        inventoryService.recordInward(new RecordInwardCommand(
+                project.id(), material.id(), 40, 40, "INV-C1", first, first, null, "Supplier", null));
+        inventoryService.recordOutward(new RecordOutwardCommand(
+                project.id(), material.id(), 15, first.plusDays(3), "Crew", null, "Incharge", null));
+        stockCheckpointService.writeCheckpoint(monthEnd);
+
+        LocalDate nextMonth = first.plusMonths(1);
+        inventoryService.recordInward(new RecordInwardCommand(
+                project.id(), material.id(), 10, 10, "INV-C2", nextMonth, nextMonth, null, "Supplier", null));
+        // Entered late, dated before the checkpoint it must now be part of.
+        inventoryService.recordInward(new RecordInwardCommand(
+                project.id(), material.id(), 5, 5, "INV-C3", first.plusDays(1), first.plusDays(1), null, "Supplier", null));
+
+        StockAsOfDto atMonthEnd =
+                stockCheckpointService.getStockAsOf(new StockAsOfQuery(project.id(), material.id(), monthEnd));
+        assertThat(atMonthEnd.checkpointDay()).isEqualTo(monthEnd);
+        assertThat(atMonthEnd.daysReplayed()).isZero();
+        assertThat(atMonthEnd.onHandQuantity()).isEqualTo(30.0);
+
+        StockAsOfDto nextMonthStock =
+                stockCheckpointService.getStockAsOf(new StockAsOfQuery(project.id(), material.id(), nextMonth));
+        assertThat(nextMonthStock.checkpointDay()).isEqualTo(monthEnd);
+        assertThat(nextMonthStock.daysReplayed()).isEqualTo(1);
+        assertThat(nextMonthStock.onHandQuantity()).isEqualTo(40.0);
+
+        StockAsOfDto beforeOutward =
+                stockCheckpointService.getStockAsOf(new StockAsOfQuery(project.id(), material.id(), first.plusDays(1)));
+        assertThat(beforeOutward.onHandQuantity()).isEqualTo(45.0);
+    }
+
+    @Test
+    void rebuildIsRefusedWhileAnotherHolderWritesCheckpoints() {
+        boolean ran = jobLocks.runExclusive("stock-checkpoints", Duration.ofMinutes(1), () ->
+                assertThatThrownBy(stockCheckpointService::rebuildFromRollups)
+                        .isInstanceOf(ServiceUnavailableException.class));
+        assertThat(ran).isTrue();
+    }
+}
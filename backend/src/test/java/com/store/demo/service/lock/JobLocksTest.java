@@ -0,0 +1,61 @@
+package com.store.demo.service.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class JobLocksTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Autowired
+    private JobLocks jobLocks;
+
+    @Test
+    void heldLockIsNotTakenTwiceAndIsReleasedAfterwards() {
+        String name = "test-" + System.nanoTime();
+        AtomicBoolean nestedRan = new AtomicBoolean();
+
+        boolean ran = jobLocks.runExclusive(name, LEASE, () ->
+                assertThat(jobLocks.runExclusive(name, LEASE, () -> nestedRan.set(true))).isFalse());
+
+        assertThat(ran).isTrue();
+        assertThat(nestedRan).isFalse();
+        assertThat(jobLocks.runExclusive(name, LEASE, () -> {})).isTrue();
+    }
+
+    @Test
+    void lockIsReleasedWhenTheJobFails() {
+        String name = "test-" + System.nanoTime();
+
+        assertThatThrownBy(() -> jobLocks.runExclusive(name, LEASE, () -> {
+            throw new IllegalStateException("job failed");
+        })).hasMessage("job failed");
+
+        assertThat(jobLocks.runExclusive(name, LEASE, () -> {})).isTrue();
+    }
+
+    @Test
+    void expiredLeaseCanBeTakenOver() throws Exception {
+        String name = "test-" + System.nanoTime();
+
+        jobLocks.runExclusive(name, Duration.ofMillis(1), () -> {
+            sleep(20);
+            assertThat(jobLocks.runExclusive(name, LEASE, () -> {})).isTrue();
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
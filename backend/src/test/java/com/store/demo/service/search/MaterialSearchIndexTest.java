@@ -0,0 +1,178 @@
+package com.store.demo.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.store.demo.domain.Material;
+import com.store.demo.repository.MaterialRepository;
+import com.store.demo.service.dto.MaterialSearchHitDto;
+import com.store.demo.service.dto.MaterialSearchQuery;
+import com.store.demo.service.dto.PageDto;
+import com.store.demo.service.event.CatalogChangedEvent;
+import com.store.demo.web.error.BadRequestException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class MaterialSearchIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialSearchIndexTest.class);
+
+    private final MaterialRepository repository = mock(MaterialRepository.class);
+    private final MaterialSearchIndex index = new MaterialSearchIndex(repository);
+
+    @Test
+    void exactAndLeadingCodeMatchesRankAboveNameAndCategoryMatches() {
+        load(material(1L, "PIPE-100", "Steel pipe", "Plumbing"),
+                material(2L, "PIPE-1001", "Pipe clamp", "Plumbing"),
+                material(3L, "VLV-7", "Ball valve for pipe", "Plumbing"),
+                material(4L, "FIT-9", "Elbow", "Pipe fittings"));
+
+        assertThat(codes(search("pipe100"))).containsExactly("PIPE-100", "PIPE-1001");
+        assertThat(codes(search("pipe"))).containsExactly("PIPE-100", "PIPE-1001", "VLV-7", "FIT-9");
+        assertThat(codes(search("steel pipe"))).containsExactly("PIPE-100");
+    }
+
+    @Test
+    void shortTermsMatchWordStartsAndLongerTermsMatchInsideWords() {
+        load(material(1L, "CAB-1", "Copper cable", "Electrical"),
+                material(2L, "CAB-2", "Armoured cable", "Electrical"));
+
+        assertThat(codes(search("co"))).containsExactly("CAB-1");
+        assertThat(codes(search("pp"))).isEmpty();
+        assertThat(codes(search("ppe"))).containsExactly("CAB-1");
+        assertThat(codes(search("mour"))).containsExactly("CAB-2");
+        assertThat(codes(search("armur"))).isEmpty();
+    }
+
+    @Test
+    void updatedAndDeletedMaterialsLeaveTombstonesUntilCompaction() {
+        List<Material> materials = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            materials.add(material(id, "BOLT-" + id, "Hex bolt " + id, "Fasteners"));
+        }
+        load(materials.toArray(Material[]::new));
+
+        Material renamed = material(1L, "NUT-1", "Hex nut", "Fasteners");
+        when(repository.findById(1L)).thenReturn(Optional.of(renamed));
+        index.onCatalogChanged(materialEvent(1L, CatalogChangedEvent.Change.UPDATED));
+        index.onCatalogChanged(materialEvent(2L, CatalogChangedEvent.Change.DELETED));
+
+        assertThat(codes(search("bolt-1"))).doesNotContain("BOLT-1");
+        assertThat(codes(search("nut"))).containsExactly("NUT-1");
+        assertThat(search("bolt 2").content()).extracting(MaterialSearchHitDto::id).doesNotContain(2L);
+        assertThat(index.stats().tombstones()).isEqualTo(2);
+        assertThat(index.stats().slots()).isEqualTo(2001);
+
+        for (long id = 3; id <= 1024; id++) {
+            Material material = material(id, "BOLT-" + id, "Hex bolt " + id + " zinc", "Fasteners");
+            when(repository.findById(id)).thenReturn(Optional.of(material));
+            index.onCatalogChanged(materialEvent(id, CatalogChangedEvent.Change.UPDATED));
+        }
+
+        assertThat(index.stats().tombstones()).isZero();
+        assertThat(index.stats().slots()).isEqualTo(1999);
+        assertThat(index.stats().materials()).isEqualTo(1999);
+        assertThat(search("zinc").totalElements()).isEqualTo(1022);
+        assertThat(codes(search("nut"))).containsExactly("NUT-1");
+    }
+
+    @Test
+    void pagingIsBoundedAndValidated() {
+        load(material(1L, "ROD-1", "Rod", null));
+
+        assertThatThrownBy(() -> index.search(new MaterialSearchQuery("rod", Integer.MAX_VALUE, 100)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> index.search(new MaterialSearchQuery("rod", 100, 100)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> index.search(new MaterialSearchQuery("rod", -1, 10)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> index.search(new MaterialSearchQuery(" ", 0, 10)))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(index.search(new MaterialSearchQuery("rod", 99, 100)).content()).isEmpty();
+    }
+
+    @Test
+    void findsExactCodeAmongFiftyThousandMaterials() {
+        load(largeCatalog());
+
+        assertThat(codes(search("valve-00041"))).first().isEqualTo("VALVE-00041");
+        assertThat(codes(search("clamp-49999"))).first().isEqualTo("CLAMP-49999");
+    }
+
+    /**
+     * Times searches over a 50,000 material catalog. Enable with
+     * {@code mvn test -Dtest=MaterialSearchIndexTest -Dbenchmarks=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void searchesFiftyThousandMaterialsWithinFiveMilliseconds() {
+        Material[] materials = largeCatalog();
+        load(materials);
+        List<String> queries = List.of("steel pipe", "valve-00041", "cop", "gasket 25mm", "flange", "stainless be",
+                "zinc bolt", "plumb", "elbow 3", "clamp-49999");
+
+        for (int i = 0; i < 200; i++) {
+            index.search(new MaterialSearchQuery(queries.get(i % queries.size()), 0, 20));
+        }
+        long[] nanos = new long[500];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            index.search(new MaterialSearchQuery(queries.get(i % queries.size()), 0, 20));
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double medianMillis = nanos[nanos.length / 2] / 1_000_000.0;
+        double p99Millis = nanos[nanos.length * 99 / 100] / 1_000_000.0;
+        log.info("Search over {} materials: median {} ms, p99 {} ms",
+                materials.length, String.format("%.3f", medianMillis), String.format("%.3f", p99Millis));
+
+        assertThat(medianMillis).isLessThan(5.0);
+    }
+
+    private static Material[] largeCatalog() {
+        String[] nouns = {"pipe", "valve", "cable", "bolt", "flange", "gasket", "beam", "plate", "elbow", "clamp"};
+        String[] grades = {"steel", "copper", "brass", "zinc", "nylon", "carbon", "stainless", "galvanised"};
+        String[] lines = {"Plumbing", "Electrical", "Structural", "Fasteners", "Mechanical"};
+        Material[] materials = new Material[50_000];
+        for (int i = 0; i < materials.length; i++) {
+            materials[i] = material((long) i + 1, String.format("%s-%05d", nouns[i % nouns.length].toUpperCase(), i),
+                    grades[i % grades.length] + " " + nouns[i % nouns.length] + " " + (10 + i % 90) + "mm",
+                    lines[i % lines.length]);
+        }
+        return materials;
+    }
+
+    private void load(Material... materials) {
+        when(repository.findAll()).thenReturn(List.of(materials));
+        index.load();
+    }
+
+    private PageDto<MaterialSearchHitDto> search(String text) {
+        return index.search(new MaterialSearchQuery(text, 0, 20));
+    }
+
+    private static List<String> codes(PageDto<MaterialSearchHitDto> page) {
+        return page.content().stream().map(MaterialSearchHitDto::code).toList();
+    }
+
+    private static CatalogChangedEvent materialEvent(Long materialId, CatalogChangedEvent.Change change) {
+        return new CatalogChangedEvent(CatalogChangedEvent.Kind.MATERIAL, change, null, materialId);
+    }
+
+    private static Material material(Long id, String code, String name, String category) {
+        Material material = new Material();
+        material.setId(id);
+        material.setCode(code);
+        material.setName(name);
+        material.setCategory(category);
+        return material;
+    }
+}
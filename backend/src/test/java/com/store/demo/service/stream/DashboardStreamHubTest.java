@@ -0,0 +1,199 @@
+package com.store.demo.service.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.store.demo.domain.StockBalance;
+import com.store.demo.service.cache.ScopeVersions;
+import com.store.demo.service.event.MovementRecordedEvent;
+import com.store.demo.web.error.ServiceUnavailableException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class DashboardStreamHubTest {
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch nextGate;
+    private DashboardStreamHub hub;
+
+    @AfterEach
+    void shutdown() {
+        emitters.forEach(RecordingEmitter::open);
+        if (hub != null) {
+            hub.shutdown();
+        }
+    }
+
+    @Test
+    void fullQueueIsReplacedByResync() throws Exception {
+        hub = hub(10, 2, Duration.ofHours(1), 0);
+        nextGate = new CountDownLatch(1);
+        RecordingEmitter slow = subscribe();
+        assertThat(slow.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i <= 3; i++) {
+            hub.onMovementRecorded(movement(i));
+        }
+        slow.open();
+
+        awaitTrue(() -> slow.sent().size() == 2);
+        assertThat(slow.sent()).allSatisfy(event -> assertThat(event).contains("event:resync"));
+        assertThat(slow.sent().get(0)).contains("reason=connected");
+        assertThat(slow.sent().get(1)).contains("reason=overflow");
+        assertThat(hub.stats().dropped()).isEqualTo(3);
+        assertThat(hub.stats().resyncs()).isEqualTo(2);
+    }
+
+    @Test
+    void subscribersBeyondTheLimitAreRefusedUntilOneCompletes() {
+        hub = hub(1, 8, Duration.ofHours(1), 0);
+        RecordingEmitter first = subscribe();
+
+        assertThatThrownBy(this::subscribe).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(hub.stats().rejected()).isEqualTo(1);
+        assertThat(hub.stats().subscribers()).isEqualTo(1);
+
+        first.completion.run();
+
+        assertThat(hub.stats().subscribers()).isZero();
+        subscribe();
+        assertThat(hub.stats().subscribers()).isEqualTo(1);
+    }
+
+    @Test
+    void timedOutSubscriberIsRemovedAndSentNothingMore() {
+        hub = hub(10, 8, Duration.ofHours(1), 0);
+        RecordingEmitter subscriber = subscribe();
+        awaitTrue(() -> subscriber.sent().size() == 1);
+
+        subscriber.timeout.run();
+        hub.onMovementRecorded(movement(1));
+
+        assertThat(hub.stats().subscribers()).isZero();
+        assertThat(subscriber.sent()).hasSize(1);
+    }
+
+    @Test
+    void stalledWriteIsDroppedWithoutStarvingOtherSubscribers() throws Exception {
+        hub = hub(10, 8, Duration.ofMillis(200), 1);
+        nextGate = new CountDownLatch(1);
+        RecordingEmitter stalled = subscribe();
+        assertThat(stalled.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The only delivery thread is blocked on the stalled client.
+        RecordingEmitter healthy = subscribe();
+        awaitTrue(() -> healthy.sent().size() == 1);
+        hub.onMovementRecorded(movement(1));
+        awaitTrue(() -> healthy.sent().size() == 2);
+
+        assertThat(hub.stats().stalledWrites()).isEqualTo(1);
+        assertThat(hub.stats().subscribers()).isEqualTo(1);
+        stalled.open();
+        awaitTrue(() -> stalled.sent().size() == 1);
+    }
+
+    private DashboardStreamHub hub(int maxSubscribers, int bufferSize, Duration writeTimeout, int maxStalledWrites) {
+        return new DashboardStreamHub(new ScopeVersions(false), maxSubscribers, bufferSize, Duration.ofMinutes(30),
+                Duration.ofHours(1), 1, writeTimeout, maxStalledWrites) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(nextGate);
+                nextGate = null;
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe() {
+        hub.subscribe(null);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private static MovementRecordedEvent movement(long id) {
+        return new MovementRecordedEvent(MovementRecordedEvent.IN, id, StockBalance.GENERAL_SCOPE, 1L, BigDecimal.ONE,
+                BigDecimal.ZERO, 0L, OffsetDateTime.now(), null, null);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /** Records what the hub writes, optionally blocking every write until {@link #open()}, like a client not reading. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch gate;
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final List<String> sent = new ArrayList<>();
+        private Runnable completion = () -> {};
+        private Runnable timeout = () -> {};
+
+        private RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            if (gate != null) {
+                try {
+                    gate.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ex);
+                }
+            }
+            String event = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            synchronized (sent) {
+                sent.add(event);
+            }
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completion = callback;
+            super.onCompletion(callback);
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            timeout = callback;
+            super.onTimeout(callback);
+        }
+
+        private List<String> sent() {
+            synchronized (sent) {
+                return List.copyOf(sent);
+            }
+        }
+
+        private void open() {
+            if (gate != null) {
+                gate.countDown();
+            }
+        }
+    }
+}
@@ -15,8 +15,23 @@ export function fetchInventoryAnalytics() {
   return apiFetch("/admin/analytics/inventory", { method: "GET" });
 }
 
-export function fetchInventoryMovementReport(projectId) {
-  const hasProject = projectId !== undefined && projectId !== null;
-  const query = hasProject ? `?projectId=${projectId}` : "";
+export function fetchInventoryMovementReport(projectId, { type, supplier, cursor, size } = {}) {
+  const params = new URLSearchParams();
+  if (projectId !== undefined && projectId !== null) {
+    params.set("projectId", projectId);
+  }
+  if (type) {
+    params.set("type", type);
+  }
+  if (supplier) {
+    params.set("supplier", supplier);
+  }
+  if (cursor) {
+    params.set("cursor", cursor);
+  }
+  if (size) {
+    params.set("size", size);
+  }
+  const query = params.toString() ? `?${params.toString()}` : "";
   return apiFetch(`/admin/analytics/movements${query}`, { method: "GET" });
 }
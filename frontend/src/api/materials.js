@@ -4,6 +4,11 @@ export function listMaterials() {
   return apiFetch("/materials");
 }
 
+export function searchMaterials(text, { page = 0, size = 20 } = {}) {
+  const params = new URLSearchParams({ q: text, page: String(page), size: String(size) });
+  return apiFetch(`/materials/search?${params.toString()}`);
+}
+
 export function createMaterial(payload) {
   return apiFetch("/materials", {
     method: "POST",
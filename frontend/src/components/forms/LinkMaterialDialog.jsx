@@ -1,16 +1,21 @@
 import {
+  Autocomplete,
   Box,
   Button,
+  CircularProgress,
   Dialog,
   DialogActions,
   DialogContent,
   DialogTitle,
-  MenuItem,
   Tab,
   Tabs,
   TextField,
 } from "@mui/material";
-import { useEffect, useState } from "react";
+import { useEffect, useMemo, useState } from "react";
+import { searchMaterials } from "../../api/materials";
+
+const SEARCH_DELAY_MS = 250;
+const SEARCH_PAGE_SIZE = 20;
 
 const newMaterialInitial = {
   name: "",
@@ -22,27 +27,74 @@ const newMaterialInitial = {
 export function LinkMaterialDialog({
   open,
   onClose,
-  materials,
+  excludeIds = [],
   onLinkExisting,
   onCreateMaterial,
 }) {
   const [mode, setMode] = useState("existing");
-  const [selectedMaterial, setSelectedMaterial] = useState("");
+  const [selectedMaterial, setSelectedMaterial] = useState(null);
   const [newMaterial, setNewMaterial] = useState(newMaterialInitial);
+  const [query, setQuery] = useState("");
+  const [results, setResults] = useState([]);
+  const [searching, setSearching] = useState(false);
 
   useEffect(() => {
     if (!open) {
       setMode("existing");
-      setSelectedMaterial("");
+      setSelectedMaterial(null);
       setNewMaterial(newMaterialInitial);
+      setQuery("");
+      setResults([]);
     }
   }, [open]);
 
+  // The catalog can be large, so matches come from the server's search index instead of a full list download.
+  useEffect(() => {
+    const text = query.trim();
+    if (!open || !text) {
+      setResults([]);
+      setSearching(false);
+      return undefined;
+    }
+    let cancelled = false;
+    setSearching(true);
+    const timer = setTimeout(() => {
+      searchMaterials(text, { size: SEARCH_PAGE_SIZE })
+        .then((page) => {
+          if (!cancelled) {
+            setResults(page.content || []);
+          }
+        })
+        .catch(() => {
+          if (!cancelled) {
+            setResults([]);
+          }
+        })
+        .finally(() => {
+          if (!cancelled) {
+            setSearching(false);
+          }
+        });
+    }, SEARCH_DELAY_MS);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [open, query]);
+
+  const options = useMemo(() => {
+    const excluded = new Set(excludeIds);
+    return results.filter((material) => !excluded.has(material.id));
+  }, [results, excludeIds]);
+
   const handleSubmit = async (e) => {
     e.preventDefault();
     if (mode === "existing") {
+      if (!selectedMaterial) {
+        return;
+      }
       await onLinkExisting({
-        materialId: Number(selectedMaterial),
+        materialId: selectedMaterial.id,
       });
     } else {
       const created = await onCreateMaterial(newMaterial);
@@ -67,20 +119,36 @@ export function LinkMaterialDialog({
         <DialogContent dividers>
           {mode === "existing" ? (
             <Box sx={{ display: "flex", flexDirection: "column", gap: 2 }}>
-              <TextField
-                select
-                label="Select Material"
+              <Autocomplete
                 value={selectedMaterial}
-                onChange={(e) => setSelectedMaterial(e.target.value)}
-                required
-                fullWidth
-              >
-                {materials.map((material) => (
-                  <MenuItem key={material.id} value={material.id}>
-                    {material.name} ({material.code})
-                  </MenuItem>
-                ))}
-              </TextField>
+                onChange={(_, value) => setSelectedMaterial(value)}
+                inputValue={query}
+                onInputChange={(_, value) => setQuery(value)}
+                options={options}
+                filterOptions={(items) => items}
+                getOptionLabel={(option) => (option ? `${option.name} (${option.code})` : "")}
+                isOptionEqualToValue={(option, value) => option.id === value.id}
+                loading={searching}
+                noOptionsText={query.trim() ? "No matching materials" : "Type a name or drawing number"}
+                renderInput={(params) => (
+                  <TextField
+                    {...params}
+                    label="Search Material"
+                    placeholder="Name, drawing number or line type"
+                    required
+                    fullWidth
+                    InputProps={{
+                      ...params.InputProps,
+                      endAdornment: (
+                        <>
+                          {searching ? <CircularProgress color="inherit" size={18} /> : null}
+                          {params.InputProps.endAdornment}
+                        </>
+                      ),
+                    }}
+                  />
+                )}
+              />
             </Box>
           ) : (
             <Box sx={{ display: "flex", flexDirection: "column", gap: 2 }}>
@@ -1,5 +1,6 @@
 import {
   Box,
+  Button,
   Chip,
   CircularProgress,
   FormControl,
@@ -27,13 +28,18 @@ import { fetchInventoryMovementReport } from "../api/admin";
 import { listMaterials } from "../api/materials";
 import { useNotification } from "../providers/NotificationProvider";
 
+const SUPPLIER_FILTER_DELAY_MS = 300;
+
 export function AdminDashboardPage() {
   const { notify } = useNotification();
   const [report, setReport] = useState(null);
   const [reportLoading, setReportLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [projectFilter, setProjectFilter] = useState("");
   const [typeFilter, setTypeFilter] = useState("ALL");
   const [search, setSearch] = useState("");
+  const [supplierInput, setSupplierInput] = useState("");
+  const [supplierFilter, setSupplierFilter] = useState("");
   const [materialsMap, setMaterialsMap] = useState({});
   const [movementPage, setMovementPage] = useState(1);
   const [rowsPerPage, setRowsPerPage] = useState(25);
@@ -50,12 +56,18 @@ export function AdminDashboardPage() {
       .catch(() => {});
   }, []);
 
+  useEffect(() => {
+    const timer = setTimeout(() => setSupplierFilter(supplierInput.trim()), SUPPLIER_FILTER_DELAY_MS);
+    return () => clearTimeout(timer);
+  }, [supplierInput]);
+
   useEffect(() => {
     const loadReport = async () => {
       setReportLoading(true);
       try {
         const projectId = projectFilter ? Number(projectFilter) : undefined;
-        const data = await fetchInventoryMovementReport(projectId);
+        const type = typeFilter !== "ALL" ? typeFilter : undefined;
+        const data = await fetchInventoryMovementReport(projectId, { type, supplier: supplierFilter });
         setReport(data);
       } catch (error) {
         notify(error.message || "Failed to load movement report", "error");
@@ -64,11 +76,35 @@ export function AdminDashboardPage() {
       }
     };
     loadReport();
-  }, [projectFilter, notify]);
+  }, [projectFilter, typeFilter, supplierFilter, notify]);
+
+  const loadMoreMovements = async () => {
+    if (!report?.nextCursor) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const projectId = projectFilter ? Number(projectFilter) : undefined;
+      const type = typeFilter !== "ALL" ? typeFilter : undefined;
+      const data = await fetchInventoryMovementReport(projectId, {
+        type,
+        supplier: supplierFilter,
+        cursor: report.nextCursor,
+      });
+      setReport((current) => ({
+        ...data,
+        movements: [...(current?.movements ?? []), ...data.movements],
+      }));
+    } catch (error) {
+      notify(error.message || "Failed to load more movements", "error");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   useEffect(() => {
     setMovementPage(1);
-  }, [projectFilter, typeFilter, search, rowsPerPage]);
+  }, [projectFilter, typeFilter, supplierFilter, search, rowsPerPage]);
 
   const formatNumber = (value, fractionDigits = 2) =>
     value !== null && value !== undefined
@@ -118,21 +154,9 @@ export function AdminDashboardPage() {
     }
   }, [movementPage, totalPages]);
 
-  const movementCounts = useMemo(() => {
-    return filteredMovements.reduce(
-      (acc, movement) => {
-        if (movement.type === "IN") {
-          acc.inCount += 1;
-          acc.inQuantity += movement.quantity;
-        } else if (movement.type === "OUT") {
-          acc.outCount += 1;
-          acc.outQuantity += movement.quantity;
-        }
-        return acc;
-      },
-      { inCount: 0, outCount: 0, inQuantity: 0, outQuantity: 0 }
-    );
-  }, [filteredMovements]);
+  // The cards use the server's totals for the whole filtered report, not just the pages loaded so far.
+  const totalInCount = report?.totalInCount ?? 0;
+  const totalOutCount = report?.totalOutCount ?? 0;
 
   const handleProjectFilterChange = (event) => {
     setProjectFilter(event.target.value);
@@ -202,7 +226,7 @@ export function AdminDashboardPage() {
             value={search}
             onChange={(event) => setSearch(event.target.value)}
             size="small"
-            placeholder="Search project, material, invoice..."
+            placeholder="Filter loaded rows..."
             InputProps={{
               startAdornment: (
                 <InputAdornment position="start">
@@ -210,7 +234,15 @@ export function AdminDashboardPage() {
                 </InputAdornment>
               ),
             }}
-            sx={{ width: { xs: "100%", md: 320 } }}
+            sx={{ width: { xs: "100%", md: 240 } }}
+          />
+          <TextField
+            value={supplierInput}
+            onChange={(event) => setSupplierInput(event.target.value)}
+            size="small"
+            label="Supplier"
+            placeholder="Exact supplier name"
+            sx={{ width: { xs: "100%", md: 200 } }}
           />
           <FormControl size="small" sx={{ minWidth: 140 }}>
             <InputLabel id="rows-per-page-label">Rows</InputLabel>
@@ -235,7 +267,7 @@ export function AdminDashboardPage() {
               Total entries
             </Typography>
             <Typography variant="h6" fontWeight={700}>
-              {filteredMovements.length.toLocaleString()}
+              {(totalInCount + totalOutCount).toLocaleString()}
             </Typography>
             <Typography variant="caption" color="text.secondary">
               {report?.selectedProject
@@ -248,7 +280,7 @@ export function AdminDashboardPage() {
               Inwards
             </Typography>
             <Typography variant="h6" fontWeight={700}>
-              {movementCounts.inCount.toLocaleString()} • {formatNumber(movementCounts.inQuantity, 1)}
+              {totalInCount.toLocaleString()} • {formatNumber(report?.totalInQuantity ?? 0, 1)}
             </Typography>
           </Box>
           <Box sx={{ p: 2, borderRadius: 2, border: "1px solid", borderColor: "divider", flex: 1 }}>
@@ -256,7 +288,7 @@ export function AdminDashboardPage() {
               Outwards
             </Typography>
             <Typography variant="h6" fontWeight={700}>
-              {movementCounts.outCount.toLocaleString()} • {formatNumber(movementCounts.outQuantity, 1)}
+              {totalOutCount.toLocaleString()} • {formatNumber(report?.totalOutQuantity ?? 0, 1)}
             </Typography>
           </Box>
         </Stack>
@@ -344,7 +376,7 @@ export function AdminDashboardPage() {
             spacing={2}
           >
             <Typography variant="body2" color="text.secondary">
-              Showing {paginatedMovements.length} of {filteredMovements.length} records
+              Showing {paginatedMovements.length} of {filteredMovements.length} loaded records
             </Typography>
             <Pagination
               count={totalPages}
@@ -357,6 +389,14 @@ export function AdminDashboardPage() {
             />
           </Stack>
         )}
+
+        {report?.hasMore && (
+          <Box sx={{ display: "flex", justifyContent: "center", mt: 2 }}>
+            <Button variant="outlined" onClick={loadMoreMovements} disabled={loadingMore}>
+              {loadingMore ? "Loading..." : "Load older movements"}
+            </Button>
+          </Box>
+        )}
       </Paper>
     </Box>
   );
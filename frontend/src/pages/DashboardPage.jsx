@@ -21,7 +21,7 @@ import { useCallback, useEffect, useMemo, useState } from "react";
 import { useTheme } from "@mui/material/styles";
 import { fetchDashboard } from "../api/dashboard";
 import { createProject, getMaterialDetail, linkMaterial, unlinkMaterial } from "../api/projects";
-import { listMaterials, createMaterial } from "../api/materials";
+import { createMaterial } from "../api/materials";
 import { recordInward, recordOutward } from "../api/inventory";
 import { CreateProjectDialog } from "../components/forms/CreateProjectDialog";
 import { InwardForm } from "../components/forms/InwardForm";
@@ -312,7 +312,6 @@ export function DashboardPage() {
   const [savingOutward, setSavingOutward] = useState(false);
   const [projectDialogOpen, setProjectDialogOpen] = useState(false);
   const [materialDialogOpen, setMaterialDialogOpen] = useState(false);
-  const [allMaterials, setAllMaterials] = useState([]);
   const [search, setSearch] = useState("");
   const [movementFilter, setMovementFilter] = useState("all");
   const [stockFilter, setStockFilter] = useState("all");
@@ -351,12 +350,6 @@ export function DashboardPage() {
     loadDashboard(selectedProjectId);
   }, [selectedProjectId, loadDashboard]);
 
-  useEffect(() => {
-    listMaterials()
-      .then((data) => setAllMaterials(data))
-      .catch(() => {});
-  }, []);
-
   const loadMaterialDetail = useCallback(
     async (projectId, materialId) => {
       if (!projectId || !materialId) {
@@ -466,10 +459,10 @@ export function DashboardPage() {
     }
   }, [page, pageCount]);
 
-  const availableMaterials = useMemo(() => {
-    const linkedIds = new Set(materialOptions.map((item) => item.materialId));
-    return allMaterials.filter((material) => !linkedIds.has(material.id));
-  }, [allMaterials, materialOptions]);
+  const linkedMaterialIds = useMemo(
+    () => materialOptions.map((item) => item.materialId),
+    [materialOptions]
+  );
 
   const handleProjectCreated = async (values) => {
     try {
@@ -914,7 +907,7 @@ export function DashboardPage() {
       <LinkMaterialDialog
         open={materialDialogOpen}
         onClose={() => setMaterialDialogOpen(false)}
-        materials={availableMaterials}
+        excludeIds={linkedMaterialIds}
         onLinkExisting={handleLinkMaterial}
         onCreateMaterial={handleCreateMaterial}
       />
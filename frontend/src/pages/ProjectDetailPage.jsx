@@ -16,7 +16,7 @@ import DeleteIcon from "@mui/icons-material/DeleteOutline";
 import LaunchIcon from "@mui/icons-material/Launch";
 import { useEffect, useMemo, useState } from "react";
 import { Link as RouterLink, useParams } from "react-router-dom";
-import { listMaterials, createMaterial } from "../api/materials";
+import { createMaterial } from "../api/materials";
 import { getProject, linkMaterial, unlinkMaterial } from "../api/projects";
 import { LinkMaterialDialog } from "../components/forms/LinkMaterialDialog";
 import { useNotification } from "../providers/NotificationProvider";
@@ -28,7 +28,6 @@ export function ProjectDetailPage() {
   const [materials, setMaterials] = useState([]);
   const [loading, setLoading] = useState(false);
   const [linkDialogOpen, setLinkDialogOpen] = useState(false);
-  const [allMaterials, setAllMaterials] = useState([]);
   const { notify } = useNotification();
 
   const loadProject = async () => {
@@ -46,12 +45,11 @@ export function ProjectDetailPage() {
 
   useEffect(() => {
     loadProject();
-    listMaterials()
-      .then((data) => setAllMaterials(data))
-      .catch(() => {});
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [projectId]);
 
+  const linkedMaterialIds = useMemo(() => materials.map((item) => item.materialId), [materials]);
+
   const totals = useMemo(() => {
     return materials.reduce(
       (acc, item) => ({
@@ -244,7 +242,7 @@ export function ProjectDetailPage() {
       <LinkMaterialDialog
         open={linkDialogOpen}
         onClose={() => setLinkDialogOpen(false)}
-        materials={allMaterials}
+        excludeIds={linkedMaterialIds}
         onLinkExisting={handleLinkMaterial}
         onCreateMaterial={handleCreateMaterial}
       />